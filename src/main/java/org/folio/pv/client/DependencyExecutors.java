@@ -0,0 +1,88 @@
+package org.folio.pv.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import javax.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.concurrent.DependencyExecutor;
+import org.folio.pv.concurrent.ValidationExecutors;
+import org.folio.pv.config.DependencyPoolProperties;
+import org.folio.pv.config.DependencyPoolProperties.Pool;
+
+/**
+ * Bounded executors of the outbound dependencies, one each for mod-users and the Pwned Passwords API and one per
+ * module implementing Programmatic rules. Running calls, queued calls, rejections and timeouts are exported per
+ * dependency.
+ */
+@Component
+public class DependencyExecutors {
+
+  private static final String METRIC_PREFIX = "pv.dependency.pool.";
+
+  private final DependencyPoolProperties properties;
+  private final ValidationExecutors validationExecutors;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, DependencyExecutor> executors = new ConcurrentHashMap<>();
+
+
+  public DependencyExecutors(DependencyPoolProperties properties, ValidationExecutors validationExecutors,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.validationExecutors = validationExecutors;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public DependencyExecutor users() {
+    return executors.computeIfAbsent(DependencyLimiters.USERS, name -> newExecutor(name, properties.getUsers()));
+  }
+
+  public DependencyExecutor pwned() {
+    return executors.computeIfAbsent(DependencyLimiters.PWNED, name -> newExecutor(name, properties.getPwned()));
+  }
+
+  /**
+   * Returns the executor of the module implementing a Programmatic rule, see
+   * {@link DependencyLimiters#programmatic(String)}.
+   */
+  public DependencyExecutor programmatic(String implementationReference) {
+    var dependency = DependencyLimiters.PROGRAMMATIC_PREFIX + DependencyLimiters.module(implementationReference);
+    return executors.computeIfAbsent(dependency, name -> newExecutor(name, properties.getProgrammatic()));
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executors.values().forEach(DependencyExecutor::shutdownNow);
+  }
+
+  private DependencyExecutor newExecutor(String dependency, Pool pool) {
+    var threadName = "dependency-" + dependency.replace(':', '-');
+    var executor = new DependencyExecutor(dependency,
+        validationExecutors.newExecutor(threadName, pool.getPoolSize(), new LinkedBlockingQueue<>()),
+        pool.getPoolSize(), pool.getQueueSize(), pool.getTimeout());
+
+    Gauge.builder(METRIC_PREFIX + "active", executor, DependencyExecutor::getActiveCount)
+        .description("Calls to the dependency running on its executor")
+        .tag("dependency", dependency)
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "queue.depth", executor, DependencyExecutor::getQueueDepth)
+        .description("Calls to the dependency waiting for a thread of its executor")
+        .tag("dependency", dependency)
+        .register(meterRegistry);
+    FunctionCounter.builder(METRIC_PREFIX + "rejected", executor, DependencyExecutor::getRejectedCount)
+        .description("Calls to the dependency rejected because its executor was saturated")
+        .tag("dependency", dependency)
+        .register(meterRegistry);
+    FunctionCounter.builder(METRIC_PREFIX + "timeouts", executor, DependencyExecutor::getTimeoutCount)
+        .description("Calls to the dependency that exceeded the executor's timeout")
+        .tag("dependency", dependency)
+        .register(meterRegistry);
+    return executor;
+  }
+
+}
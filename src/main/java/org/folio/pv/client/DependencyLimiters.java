@@ -0,0 +1,97 @@
+package org.folio.pv.client;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.config.DependencyLimitProperties;
+import org.folio.pv.resilience.AdaptiveLimiter;
+import org.folio.pv.resilience.AdaptiveLimiter.Outcome;
+
+/**
+ * Adaptive concurrency limiters of the outbound dependencies: mod-users, the Pwned Passwords API and, one per
+ * module, the implementations of Programmatic rules. The limit, the calls in flight and the calls by outcome are
+ * exported per dependency.
+ */
+@Component
+public class DependencyLimiters {
+
+  public static final String USERS = "users";
+  public static final String PWNED = "pwned";
+
+  private static final String METRIC_PREFIX = "pv.dependency.";
+  static final String PROGRAMMATIC_PREFIX = "programmatic:";
+
+  private final DependencyLimitProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+
+
+  public DependencyLimiters(DependencyLimitProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public AdaptiveLimiter users() {
+    return limiter(USERS);
+  }
+
+  public AdaptiveLimiter pwned() {
+    return limiter(PWNED);
+  }
+
+  /**
+   * Returns the limiter of the module implementing a Programmatic rule, identified by the first segment of the
+   * rule's implementation reference, e.g. {@code mod-foo} for {@code /mod-foo/validate}.
+   */
+  public AdaptiveLimiter programmatic(String implementationReference) {
+    return limiter(PROGRAMMATIC_PREFIX + module(implementationReference));
+  }
+
+  static String module(String implementationReference) {
+    if (implementationReference == null) {
+      return "";
+    }
+    var path = implementationReference.startsWith("/") ? implementationReference.substring(1)
+        : implementationReference;
+    var end = path.indexOf('/');
+    return end < 0 ? path : path.substring(0, end);
+  }
+
+  private AdaptiveLimiter limiter(String dependency) {
+    return limiters.computeIfAbsent(dependency, this::newLimiter);
+  }
+
+  private AdaptiveLimiter newLimiter(String dependency) {
+    // a disabled limiter still counts the calls, its limit is just out of reach
+    var limiter = properties.isEnabled()
+        ? new AdaptiveLimiter(dependency, properties.getInitialLimit(), properties.getMinLimit(),
+            properties.getMaxLimit(), properties.getBackoffRatio(), properties.getRttTolerance(),
+            properties.getMaxWait())
+        : new AdaptiveLimiter(dependency, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE,
+            properties.getBackoffRatio(), properties.getRttTolerance(), properties.getMaxWait());
+
+    Gauge.builder(METRIC_PREFIX + "limit", limiter, AdaptiveLimiter::getLimit)
+        .description("Calls in flight allowed to the dependency")
+        .tag("dependency", dependency)
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "inflight", limiter, AdaptiveLimiter::getInFlight)
+        .description("Calls in flight to the dependency")
+        .tag("dependency", dependency)
+        .register(meterRegistry);
+    for (var outcome : Outcome.values()) {
+      FunctionCounter.builder(METRIC_PREFIX + "calls", limiter, l -> l.getCount(outcome))
+          .description("Calls to the dependency by outcome; rejected calls were shed by the limiter")
+          .tag("dependency", dependency)
+          .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+          .register(meterRegistry);
+    }
+    return limiter;
+  }
+
+}
@@ -0,0 +1,94 @@
+package org.folio.pv.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Phase timings of the outbound HTTP calls: DNS lookup, connect, TLS handshake, request write, time to first byte
+ * and body read, exported as histograms tagged by client and host. Connections acquired by the calls are counted as
+ * new or reused, and their reuse ratio is exported too.
+ */
+@Component
+public class HttpClientMetrics {
+
+  public static final String DNS = "dns";
+  public static final String CONNECT = "connect";
+  public static final String TLS = "tls";
+  public static final String REQUEST = "request";
+  public static final String TTFB = "ttfb";
+  public static final String BODY = "body";
+
+  private static final String METRIC_PREFIX = "pv.http.client.";
+
+  private final MeterRegistry meterRegistry;
+  private final Map<List<String>, Connections> connections = new ConcurrentHashMap<>();
+
+
+  public HttpClientMetrics(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Returns the factory of the listeners reporting the phases of the calls of an OkHttp client.
+   */
+  public EventListener.Factory okHttpListenerFactory(String client) {
+    return call -> new OkHttpPhaseListener(this, client);
+  }
+
+  public void recordPhase(String client, String host, String phase, long nanos) {
+    Timer.builder(METRIC_PREFIX + "phase")
+        .description("Time an outbound HTTP call spent in a phase")
+        .tags("client", client, "host", host, "phase", phase)
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordConnection(String client, String host, boolean reused) {
+    var counts = connections.computeIfAbsent(List.of(client, host), key -> newConnections(client, host));
+    (reused ? counts.reused : counts.opened).incrementAndGet();
+  }
+
+  private Connections newConnections(String client, String host) {
+    var counts = new Connections();
+    var tags = Tags.of("client", client, "host", host);
+
+    FunctionCounter.builder(METRIC_PREFIX + "connections", counts, c -> c.reused.get())
+        .description("Connections acquired by outbound HTTP calls")
+        .tags(tags.and("reused", "true"))
+        .register(meterRegistry);
+    FunctionCounter.builder(METRIC_PREFIX + "connections", counts, c -> c.opened.get())
+        .description("Connections acquired by outbound HTTP calls")
+        .tags(tags.and("reused", "false"))
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "connection.reuse.ratio", counts, Connections::reuseRatio)
+        .description("Share of the connections acquired by outbound HTTP calls that were reused from the pool")
+        .tags(tags)
+        .register(meterRegistry);
+    return counts;
+  }
+
+  private static class Connections {
+
+    private final AtomicLong reused = new AtomicLong();
+    private final AtomicLong opened = new AtomicLong();
+
+    double reuseRatio() {
+      long reusedCount = reused.get();
+      long total = reusedCount + opened.get();
+      return total == 0 ? Double.NaN : (double) reusedCount / total;
+    }
+  }
+
+}
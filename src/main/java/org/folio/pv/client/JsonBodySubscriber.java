@@ -0,0 +1,104 @@
+package org.folio.pv.client;
+
+import java.io.IOException;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Parses a JSON response body while it arrives. Each chunk is fed to Jackson's non-blocking parser and
+ * the tokens are collected into a {@link TokenBuffer}, which is bound to the target type once the body
+ * is complete. The body is never buffered as a whole byte array or string.
+ */
+public class JsonBodySubscriber<T> implements BodySubscriber<T> {
+
+  private final ObjectMapper objectMapper;
+  private final Class<T> type;
+  private final CompletableFuture<T> result = new CompletableFuture<>();
+  private final JsonParser parser;
+  private final ByteArrayFeeder feeder;
+  private final TokenBuffer tokens;
+  private Flow.Subscription subscription;
+
+
+  public JsonBodySubscriber(ObjectMapper objectMapper, Class<T> type) {
+    this.objectMapper = objectMapper;
+    this.type = type;
+    try {
+      this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+    } catch (IOException e) {
+      throw new IllegalStateException("Cannot create non-blocking JSON parser", e);
+    }
+    this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    this.tokens = new TokenBuffer(parser);
+  }
+
+  @Override
+  public CompletionStage<T> getBody() {
+    return result;
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    this.subscription = subscription;
+    subscription.request(Long.MAX_VALUE);
+  }
+
+  @Override
+  public void onNext(List<ByteBuffer> items) {
+    if (result.isDone()) {
+      return;
+    }
+
+    try {
+      for (ByteBuffer item : items) {
+        var chunk = new byte[item.remaining()];
+        item.get(chunk);
+
+        feeder.feedInput(chunk, 0, chunk.length);
+        drainTokens();
+      }
+    } catch (IOException e) {
+      subscription.cancel();
+      result.completeExceptionally(e);
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    result.completeExceptionally(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    if (result.isDone()) {
+      return;
+    }
+
+    try {
+      feeder.endOfInput();
+      drainTokens();
+
+      result.complete(objectMapper.readValue(tokens.asParser(objectMapper), type));
+    } catch (IOException e) {
+      result.completeExceptionally(e);
+    }
+  }
+
+  private void drainTokens() throws IOException {
+    JsonToken token;
+    while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+      tokens.copyCurrentEvent(parser);
+    }
+  }
+
+}
@@ -0,0 +1,130 @@
+package org.folio.pv.client;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import javax.annotation.PostConstruct;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.domain.dto.PasswordHash;
+
+/**
+ * The most common breached passwords, checked before the Pwned Passwords range API. The set is loaded at startup
+ * from a local file of SHA-1 hashes ordered by prevalence, one {@code HASH[:count]} per line like the HIBP
+ * downloads, of which the first {@code max-entries} are kept as a sorted array of 64-bit hash prefixes.
+ * With a few million entries the chance of a false hit is below 1e-12.
+ */
+@Log4j2
+@Component
+public class LocalPwnedSet {
+
+  private static final String METRIC_PREFIX = "pwned.local.set.";
+  private static final int FINGERPRINT_HEX_LENGTH = 16;
+
+  private final PwnedClientProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Counter hits;
+  private final Counter misses;
+
+  private volatile long[] fingerprints = new long[0];
+
+
+  public LocalPwnedSet(PwnedClientProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+
+    this.hits = Counter.builder(METRIC_PREFIX + "lookups")
+        .description("Password hashes looked up in the local set of common breached passwords")
+        .tag("outcome", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder(METRIC_PREFIX + "lookups")
+        .description("Password hashes looked up in the local set of common breached passwords")
+        .tag("outcome", "miss")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void load() {
+    var settings = properties.getLocalSet();
+    if (StringUtils.isBlank(settings.getFile())) {
+      log.info("Local set of breached passwords is not configured");
+      return;
+    }
+
+    var file = Paths.get(settings.getFile());
+    var loaded = new long[Math.min(settings.getMaxEntries(), 1 << 20)];
+    var size = 0;
+    try (var reader = Files.newBufferedReader(file, US_ASCII)) {
+      String line;
+      while (size < settings.getMaxEntries() && (line = reader.readLine()) != null) {
+        if (line.length() < FINGERPRINT_HEX_LENGTH) {
+          continue;
+        }
+        if (size == loaded.length) {
+          loaded = Arrays.copyOf(loaded, (int) Math.min((long) size * 2, settings.getMaxEntries()));
+        }
+        loaded[size++] = fingerprint(line);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load local set of breached passwords from " + file, e);
+    }
+
+    Arrays.sort(loaded, 0, size);
+    fingerprints = Arrays.copyOf(loaded, size);
+
+    Gauge.builder(METRIC_PREFIX + "memory", this, set -> set.fingerprints.length * (double) Long.BYTES)
+        .description("Approximate size of the local set of common breached passwords")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "entries", this, set -> set.fingerprints.length)
+        .description("Password hashes in the local set of common breached passwords")
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "hit.ratio", this, LocalPwnedSet::hitRatio)
+        .description("Share of lookups answered by the local set without calling the range API")
+        .register(meterRegistry);
+    log.info("Loaded {} hashes of breached passwords from {} ({} KB)", size, file,
+        size * (long) Long.BYTES / 1024);
+  }
+
+  public boolean isEmpty() {
+    return fingerprints.length == 0;
+  }
+
+  /**
+   * Returns true if the hash is in the set; a miss means the range API has to be checked.
+   */
+  public boolean contains(PasswordHash hash) {
+    var current = fingerprints;
+    if (current.length == 0) {
+      return false;
+    }
+
+    var found = Arrays.binarySearch(current, fingerprint(hash.getHash())) >= 0;
+    (found ? hits : misses).increment();
+    return found;
+  }
+
+  double hitRatio() {
+    var total = hits.count() + misses.count();
+    return total == 0 ? 0 : hits.count() / total;
+  }
+
+  private static long fingerprint(CharSequence hexHash) {
+    long result = 0;
+    for (int i = 0; i < FINGERPRINT_HEX_LENGTH; i++) {
+      result = result << 4 | Character.digit(hexHash.charAt(i), 16);
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,31 @@
+package org.folio.pv.client;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the phases of the calls of the shared OkHttp client, which the FOLIO Feign client calling mod-users through
+ * Okapi is built on. The Pwned Passwords client has its own, see {@link PwnedClientConfiguration}.
+ */
+@Component
+public class OkHttpClientMetricsPostProcessor implements BeanPostProcessor {
+
+  private final ObjectProvider<HttpClientMetrics> httpClientMetrics;
+
+
+  public OkHttpClientMetricsPostProcessor(ObjectProvider<HttpClientMetrics> httpClientMetrics) {
+    this.httpClientMetrics = httpClientMetrics;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof okhttp3.OkHttpClient) {
+      return ((okhttp3.OkHttpClient) bean).newBuilder()
+          .eventListenerFactory(httpClientMetrics.getObject().okHttpListenerFactory(DependencyLimiters.USERS))
+          .build();
+    }
+    return bean;
+  }
+
+}
@@ -0,0 +1,126 @@
+package org.folio.pv.client;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+
+/**
+ * Reports the phases of one OkHttp call to {@link HttpClientMetrics}. The TCP connect excludes the TLS handshake, the
+ * time to first byte runs from the end of the request write to the start of the response headers. A call whose
+ * connection was acquired without connecting reused a pooled one.
+ */
+class OkHttpPhaseListener extends EventListener {
+
+  private final HttpClientMetrics metrics;
+  private final String client;
+
+  private long dnsStart;
+  private long connectStart;
+  private long secureConnectStart;
+  private boolean connected;
+  private long requestStart;
+  private long requestEnd;
+  private long responseBodyStart;
+
+
+  OkHttpPhaseListener(HttpClientMetrics metrics, String client) {
+    this.metrics = metrics;
+    this.client = client;
+  }
+
+  @Override
+  public void dnsStart(Call call, String domainName) {
+    dnsStart = System.nanoTime();
+  }
+
+  @Override
+  public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+    record(call, HttpClientMetrics.DNS, dnsStart);
+  }
+
+  @Override
+  public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+    connectStart = System.nanoTime();
+    secureConnectStart = 0;
+    connected = true;
+  }
+
+  @Override
+  public void secureConnectStart(Call call) {
+    secureConnectStart = System.nanoTime();
+    record(call, HttpClientMetrics.CONNECT, connectStart);
+  }
+
+  @Override
+  public void secureConnectEnd(Call call, Handshake handshake) {
+    record(call, HttpClientMetrics.TLS, secureConnectStart);
+  }
+
+  @Override
+  public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+    if (secureConnectStart == 0) {
+      record(call, HttpClientMetrics.CONNECT, connectStart);
+    }
+  }
+
+  @Override
+  public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+      IOException ioe) {
+    connected = false;
+  }
+
+  @Override
+  public void connectionAcquired(Call call, Connection connection) {
+    metrics.recordConnection(client, host(call), !connected);
+    connected = false;
+  }
+
+  @Override
+  public void requestHeadersStart(Call call) {
+    requestStart = System.nanoTime();
+  }
+
+  @Override
+  public void requestHeadersEnd(Call call, okhttp3.Request request) {
+    requestEnd = System.nanoTime();
+  }
+
+  @Override
+  public void requestBodyEnd(Call call, long byteCount) {
+    requestEnd = System.nanoTime();
+  }
+
+  @Override
+  public void responseHeadersStart(Call call) {
+    var now = System.nanoTime();
+    metrics.recordPhase(client, host(call), HttpClientMetrics.REQUEST, requestEnd - requestStart);
+    metrics.recordPhase(client, host(call), HttpClientMetrics.TTFB, now - requestEnd);
+  }
+
+  @Override
+  public void responseBodyStart(Call call) {
+    responseBodyStart = System.nanoTime();
+  }
+
+  @Override
+  public void responseBodyEnd(Call call, long byteCount) {
+    record(call, HttpClientMetrics.BODY, responseBodyStart);
+  }
+
+  private void record(Call call, String phase, long start) {
+    metrics.recordPhase(client, host(call), phase, System.nanoTime() - start);
+  }
+
+  private static String host(Call call) {
+    return call.request().url().host();
+  }
+
+}
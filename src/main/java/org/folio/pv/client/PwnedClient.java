@@ -3,16 +3,25 @@ package org.folio.pv.client;
 import java.util.List;
 import org.folio.pv.domain.dto.HashedPasswordUsage;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 @FeignClient(name = "pwned-passwords",
     url = "${pwned-passwords.client.url}",
     configuration = PwnedClientConfiguration.class)
 public interface PwnedClient {
 
+  /**
+   * Fetches the range, conditionally if the validators of a cached range are given; a 304 response is thrown as a
+   * {@link feign.FeignException} with that status.
+   */
   @GetMapping(path = "/range/{hashPrefix}", produces = MediaType.TEXT_PLAIN_VALUE)
-  List<HashedPasswordUsage> getPwdRange(@PathVariable String hashPrefix);
+  ResponseEntity<List<HashedPasswordUsage>> getPwdRange(@PathVariable String hashPrefix,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @RequestHeader(value = HttpHeaders.IF_MODIFIED_SINCE, required = false) String ifModifiedSince);
 
 }
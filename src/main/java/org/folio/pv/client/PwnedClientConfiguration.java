@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
 import org.springframework.cloud.openfeign.clientconfig.OkHttpFeignConfiguration;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
 import org.springframework.cloud.openfeign.support.SpringDecoder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
@@ -22,8 +23,10 @@ public class PwnedClientConfiguration {
   private ObjectFactory<HttpMessageConverters> messageConverters;
 
   @Bean
-  public Client feignClient(okhttp3.OkHttpClient okHttpClient) {
-    return new OkHttpClient(okHttpClient);
+  public Client feignClient(okhttp3.OkHttpClient okHttpClient, HttpClientMetrics httpClientMetrics) {
+    return new OkHttpClient(okHttpClient.newBuilder()
+        .eventListenerFactory(httpClientMetrics.okHttpListenerFactory(DependencyLimiters.PWNED))
+        .build());
   }
 
   @Bean
@@ -36,7 +39,7 @@ public class PwnedClientConfiguration {
 
     var httpMessageConverters = new HttpMessageConverters(decoderConverters);
 
-    return new SpringDecoder(() -> httpMessageConverters);
+    return new ResponseEntityDecoder(new SpringDecoder(() -> httpMessageConverters));
   }
 
   @Bean
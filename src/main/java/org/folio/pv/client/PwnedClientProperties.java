@@ -0,0 +1,126 @@
+package org.folio.pv.client;
+
+import java.time.Duration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "pwned-passwords.client")
+public class PwnedClientProperties {
+
+  /**
+   * Base url of the Pwned Passwords range API.
+   */
+  private String url;
+
+  /**
+   * What the PwnedPassword rule does when the API can't be reached or the circuit breaker is open.
+   */
+  private DegradedOutcome degradedOutcome = DegradedOutcome.FAIL;
+
+  private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+  private HedgingSettings hedging = new HedgingSettings();
+
+  private LocalSetSettings localSet = new LocalSetSettings();
+
+  private CacheSettings cache = new CacheSettings();
+
+
+  public enum DegradedOutcome {
+    /**
+     * The check is skipped and the password is treated as not compromised.
+     */
+    SKIP,
+    /**
+     * Strong rules fail the validation request, soft rules are skipped.
+     */
+    FAIL
+  }
+
+  @Data
+  public static class CircuitBreakerSettings {
+
+    private boolean enabled = true;
+    /**
+     * Failure rate (in percent) over the sliding window that opens the breaker.
+     */
+    private int failureRateThreshold = 50;
+    private int slidingWindowSize = 20;
+    private int minimumNumberOfCalls = 10;
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+    private int permittedCallsInHalfOpenState = 2;
+  }
+
+  @Data
+  public static class HedgingSettings {
+
+    private boolean enabled = true;
+    /**
+     * Latency percentile of recent calls after which a hedged request is sent.
+     */
+    private double percentile = 0.95;
+    /**
+     * Number of recent calls the percentile is computed from.
+     */
+    private int windowSize = 100;
+    /**
+     * Lower bound of the hedge delay.
+     */
+    private Duration minDelay = Duration.ofMillis(50);
+    /**
+     * Upper bound of the hedge delay, also used until the window has enough samples.
+     */
+    private Duration maxDelay = Duration.ofSeconds(1);
+  }
+
+  @Data
+  public static class LocalSetSettings {
+
+    /**
+     * File of SHA-1 hashes ordered by prevalence, one "HASH[:count]" per line; the local set is disabled if empty.
+     */
+    private String file;
+    /**
+     * Number of hashes read from the start of the file, 8 bytes of memory each.
+     */
+    private int maxEntries = 1_000_000;
+  }
+
+  @Data
+  public static class CacheSettings {
+
+    /**
+     * Number of ranges kept in memory by each pod, about 20 KB each; 0 disables the local cache.
+     */
+    private long maximumSize = 2000;
+    /**
+     * Age after which a cached range is revalidated in the background while the cached one is still served.
+     */
+    private Duration refreshAfterWrite = Duration.ofMinutes(10);
+    private Duration expireAfterWrite = Duration.ofHours(1);
+    private SharedCacheSettings shared = new SharedCacheSettings();
+  }
+
+  @Data
+  public static class SharedCacheSettings {
+
+    private boolean enabled = false;
+    /**
+     * Module-level schema of the shared table, outside of the tenant schemas.
+     */
+    private String schema = "mod_password_validator_shared";
+    /**
+     * Age after which a stored range is fetched again.
+     */
+    private Duration timeToLive = Duration.ofHours(24);
+    /**
+     * Ranges not read for this long are deleted instead of refreshed.
+     */
+    private Duration retention = Duration.ofDays(7);
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    private int refreshBatchSize = 50;
+  }
+
+}
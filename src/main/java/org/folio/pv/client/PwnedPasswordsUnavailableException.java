@@ -0,0 +1,13 @@
+package org.folio.pv.client;
+
+public class PwnedPasswordsUnavailableException extends RuntimeException {
+
+  public PwnedPasswordsUnavailableException(String message) {
+    super(message);
+  }
+
+  public PwnedPasswordsUnavailableException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+}
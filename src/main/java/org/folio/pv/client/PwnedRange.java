@@ -0,0 +1,155 @@
+package org.folio.pv.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.folio.pv.domain.dto.HashedPasswordUsage;
+
+/**
+ * A range of the Pwned Passwords API in compact form: the hash suffixes with a non-zero usage count, sorted and
+ * packed into 18 bytes each, and their counts. Padding entries, which have a zero count, are dropped.
+ */
+public final class PwnedRange {
+
+  public static final int SUFFIX_LENGTH = 35;
+  private static final int PACKED_LENGTH = (SUFFIX_LENGTH + 1) / 2;
+
+  private final byte[] suffixes;
+  private final int[] counts;
+
+
+  private PwnedRange(byte[] suffixes, int[] counts) {
+    this.suffixes = suffixes;
+    this.counts = counts;
+  }
+
+  public static PwnedRange of(Collection<HashedPasswordUsage> usages) {
+    var sorted = new ArrayList<HashedPasswordUsage>(usages.size());
+    for (var usage : usages) {
+      if (usage.getUsageCount() > 0) {
+        sorted.add(new HashedPasswordUsage(usage.getSuffix().toUpperCase(Locale.ROOT), usage.getUsageCount()));
+      }
+    }
+    sorted.sort(Comparator.comparing(HashedPasswordUsage::getSuffix));
+
+    var suffixes = new byte[sorted.size() * PACKED_LENGTH];
+    var counts = new int[sorted.size()];
+    for (int i = 0; i < sorted.size(); i++) {
+      pack(sorted.get(i).getSuffix(), suffixes, i * PACKED_LENGTH);
+      counts[i] = sorted.get(i).getUsageCount();
+    }
+    return new PwnedRange(suffixes, counts);
+  }
+
+  /**
+   * Returns the usage count of the hash suffix, 0 if it is not in the range.
+   */
+  public int usageCount(String suffix) {
+    if (suffix.length() != SUFFIX_LENGTH) {
+      return 0;
+    }
+    var key = new byte[PACKED_LENGTH];
+    pack(suffix, key, 0);
+
+    int low = 0;
+    int high = counts.length - 1;
+    while (low <= high) {
+      var mid = (low + high) >>> 1;
+      var offset = mid * PACKED_LENGTH;
+      var cmp = Arrays.compareUnsigned(suffixes, offset, offset + PACKED_LENGTH, key, 0, PACKED_LENGTH);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return counts[mid];
+      }
+    }
+    return 0;
+  }
+
+  public int size() {
+    return counts.length;
+  }
+
+  public List<HashedPasswordUsage> toUsages() {
+    var usages = new ArrayList<HashedPasswordUsage>(counts.length);
+    for (int i = 0; i < counts.length; i++) {
+      usages.add(new HashedPasswordUsage(unpack(i), counts[i]));
+    }
+    return usages;
+  }
+
+  /**
+   * Serializes the range as deflated packed suffixes and counts, the form stored in the shared cache.
+   */
+  public byte[] compress() {
+    var bytes = new ByteArrayOutputStream(suffixes.length / 2 + counts.length * 2);
+    var deflater = new Deflater(Deflater.BEST_SPEED);
+    try (var out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+      out.writeInt(counts.length);
+      out.write(suffixes);
+      for (var count : counts) {
+        out.writeInt(count);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      deflater.end();
+    }
+    return bytes.toByteArray();
+  }
+
+  public static PwnedRange decompress(byte[] data) {
+    try (var in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+      var size = in.readInt();
+      var suffixes = new byte[size * PACKED_LENGTH];
+      in.readFully(suffixes);
+      var counts = new int[size];
+      for (int i = 0; i < size; i++) {
+        counts[i] = in.readInt();
+      }
+      return new PwnedRange(suffixes, counts);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Invalid compressed Pwned Passwords range", e);
+    }
+  }
+
+  private static void pack(String suffix, byte[] target, int offset) {
+    // 35 hex digits are stored as 36 with a leading zero, so unsigned byte order is the order of the suffixes
+    for (int i = 0; i < SUFFIX_LENGTH; i++) {
+      var digit = Character.digit(suffix.charAt(i), 16);
+      if (digit < 0) {
+        throw new IllegalArgumentException("Invalid hash suffix: " + suffix);
+      }
+      var nibble = i + 1;
+      target[offset + nibble / 2] |= nibble % 2 == 0 ? digit << 4 : digit;
+    }
+  }
+
+  private String unpack(int index) {
+    var chars = new char[SUFFIX_LENGTH];
+    var offset = index * PACKED_LENGTH;
+    for (int i = 0; i < SUFFIX_LENGTH; i++) {
+      var nibble = i + 1;
+      var b = suffixes[offset + nibble / 2];
+      var digit = nibble % 2 == 0 ? (b >> 4) & 0xf : b & 0xf;
+      chars[i] = Character.toUpperCase(Character.forDigit(digit, 16));
+    }
+    return new String(chars);
+  }
+
+}
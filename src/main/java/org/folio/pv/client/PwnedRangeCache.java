@@ -0,0 +1,448 @@
+package org.folio.pv.client;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.client.PwnedClientProperties.SharedCacheSettings;
+import org.folio.pv.concurrent.DependencyExecutor;
+import org.folio.pv.concurrent.ValidationExecutors;
+import org.folio.pv.jfr.CacheAccessEvent;
+import org.folio.pv.repository.SharedPwnedRangeRepository;
+import org.folio.pv.repository.SharedPwnedRangeRepository.ClaimedRange;
+import org.folio.pv.repository.SharedPwnedRangeRepository.StoredRange;
+
+/**
+ * Caches Pwned Passwords ranges in two tiers: in memory per pod and, optionally, in a table shared by all pods
+ * and tenants, so that a range is fetched from the API once per time-to-live instead of once per pod. A range is
+ * looked up in memory, then in the shared table, then fetched. A stale shared range is served as it is, and stale
+ * ranges that are still being read are re-fetched in batches in the background. The background refresher also creates the shared table, retrying until the database is available, and
+ * records the reads of shared ranges in batches; until the table exists ranges are only cached in memory.
+ * <p>
+ * Stale ranges are re-fetched with conditional requests carrying the validators of the cached response; if the range
+ * hasn't changed, only its lifetime is extended. Ranges cached in memory are revalidated in the background after
+ * {@code refresh-after-write} while the cached range is still served.
+ */
+@Log4j2
+@Component
+public class PwnedRangeCache {
+
+  private static final String METRIC_PREFIX = "pwned.range.cache.";
+  private static final int REFRESH_THREADS = 2;
+
+  private final ResilientPwnedClient pwnedClient;
+  private final SharedPwnedRangeRepository sharedRepository;
+  private final SharedCacheSettings shared;
+  private final ValidationExecutors validationExecutors;
+  private final Clock clock;
+  private final LoadingCache<String, CachedRange> localCache;
+  private final ExecutorService localRefresher;
+  private final DependencyExecutor lookupExecutor;
+  private final Map<String, CompletableFuture<CachedRange>> loads = new ConcurrentHashMap<>();
+
+  private final Counter sharedHits;
+  private final Counter sharedMisses;
+  private final Counter staleHits;
+  private final Counter modified;
+  private final Counter notModified;
+  private final Set<String> sharedReads = ConcurrentHashMap.newKeySet();
+  private volatile boolean sharedTableReady;
+  private ScheduledExecutorService refresher;
+
+
+  @Autowired
+  public PwnedRangeCache(ResilientPwnedClient pwnedClient, SharedPwnedRangeRepository sharedRepository,
+      PwnedClientProperties properties, ValidationExecutors validationExecutors, DependencyExecutors executors,
+      MeterRegistry meterRegistry) {
+    this(pwnedClient, sharedRepository, properties, validationExecutors, executors, meterRegistry,
+        Clock.systemUTC());
+  }
+
+  PwnedRangeCache(ResilientPwnedClient pwnedClient, SharedPwnedRangeRepository sharedRepository,
+      PwnedClientProperties properties, ValidationExecutors validationExecutors, DependencyExecutors executors,
+      MeterRegistry meterRegistry, Clock clock) {
+    this.pwnedClient = pwnedClient;
+    this.sharedRepository = sharedRepository;
+    this.lookupExecutor = executors.pwned();
+    var settings = properties.getCache();
+    this.shared = settings.getShared();
+    this.validationExecutors = validationExecutors;
+    this.clock = clock;
+
+    if (settings.getMaximumSize() > 0) {
+      // reloads run in the context of the validation that triggered them; at most one refresh per cached range is
+      // pending, so the queue is bounded by the maximum size
+      this.localRefresher = validationExecutors.newExecutor("pwned-range-refresh", REFRESH_THREADS,
+          new LinkedBlockingQueue<>());
+      this.localCache = Caffeine.newBuilder()
+          .maximumSize(settings.getMaximumSize())
+          .refreshAfterWrite(settings.getRefreshAfterWrite())
+          .expireAfterWrite(settings.getExpireAfterWrite())
+          .executor(localRefresher)
+          .recordStats()
+          .build(new CacheLoader<>() {
+            @Override
+            public CachedRange load(String prefix) {
+              return await(PwnedRangeCache.this.load(prefix));
+            }
+
+            @Override
+            public CachedRange reload(String prefix, CachedRange cached) {
+              return revalidate(prefix, cached);
+            }
+          });
+      CaffeineCacheMetrics.monitor(meterRegistry, localCache, "pwned-ranges");
+    } else {
+      this.localRefresher = null;
+      this.localCache = null;
+    }
+
+    this.sharedHits = sharedLookups(meterRegistry, "hit");
+    this.sharedMisses = sharedLookups(meterRegistry, "miss");
+    this.staleHits = sharedLookups(meterRegistry, "stale");
+    this.modified = revalidations(meterRegistry, "modified");
+    this.notModified = revalidations(meterRegistry, "not_modified");
+  }
+
+  @PostConstruct
+  void startSharedTier() {
+    if (!shared.isEnabled()) {
+      return;
+    }
+
+    refresher = validationExecutors.newScheduledExecutor("pwned-range-refresher");
+    var interval = shared.getRefreshInterval().toMillis();
+    refresher.scheduleWithFixedDelay(this::refreshShared, 0, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (refresher != null) {
+      refresher.shutdownNow();
+    }
+    if (localRefresher != null) {
+      localRefresher.shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the range of hash suffixes for the given prefix.
+   *
+   * @throws PwnedPasswordsUnavailableException if the range isn't cached and can't be fetched
+   */
+  public PwnedRange getRange(String hashPrefix) {
+    return await(getRangeAsync(hashPrefix, null));
+  }
+
+  /**
+   * Returns the range of hash suffixes for the given prefix without blocking the calling thread: a range cached in
+   * memory is returned at once, otherwise the future completes on the executor of the dependency, or fails with a
+   * {@link PwnedPasswordsUnavailableException} if the range can't be fetched. Concurrent lookups of a range that
+   * isn't cached in memory share one load.
+   *
+   * @param timeout time after which the returned future fails with a {@link TimeoutException}, none if null; the
+   *     load goes on and caches the range for the next lookup
+   */
+  public CompletableFuture<PwnedRange> getRangeAsync(String hashPrefix, Duration timeout) {
+    var prefix = hashPrefix.toUpperCase(Locale.ROOT);
+    var event = CacheAccessEvent.begin("pwned-ranges");
+    // also schedules the revalidation of a range older than refresh-after-write
+    var cached = localCache == null ? null : localCache.getIfPresent(prefix);
+    if (cached != null) {
+      event.complete("hit");
+      return CompletableFuture.completedFuture(cached.getRange());
+    }
+
+    event.complete("miss");
+    var loading = new CompletableFuture<CachedRange>();
+    var running = loads.putIfAbsent(prefix, loading);
+    if (running != null) {
+      return bound(running.thenApply(CachedRange::getRange), timeout);
+    }
+
+    load(prefix).whenComplete((loaded, exc) -> {
+      if (loaded != null && localCache != null) {
+        localCache.put(prefix, loaded);
+      }
+      loads.remove(prefix, loading);
+      if (exc == null) {
+        loading.complete(loaded);
+      } else {
+        loading.completeExceptionally(unwrap(exc));
+      }
+    });
+    return bound(loading.thenApply(CachedRange::getRange), timeout);
+  }
+
+  private static <T> CompletableFuture<T> bound(CompletableFuture<T> future, Duration timeout) {
+    return timeout == null ? future : future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Creates the shared table if it doesn't exist yet; returns whether the shared tier can be used.
+   */
+  boolean prepareSharedTable() {
+    if (sharedTableReady) {
+      return true;
+    }
+    try {
+      sharedRepository.createTable();
+      sharedTableReady = true;
+      log.info("Shared Pwned Passwords cache is ready");
+    } catch (RuntimeException e) {
+      log.warn("Shared Pwned Passwords cache is unavailable, retrying in {}: {}", shared.getRefreshInterval(),
+          e.getMessage());
+    }
+    return sharedTableReady;
+  }
+
+  /**
+   * Records the shared ranges read since the last run, re-fetches a batch of stale shared ranges claimed by this pod
+   * and deletes the ones no longer read.
+   */
+  void refreshShared() {
+    if (!prepareSharedTable()) {
+      return;
+    }
+    try {
+      var now = clock.instant();
+      markSharedRead(now);
+      var claimed = sharedRepository.claimStale(now.minus(shared.getTimeToLive()), now.minus(shared.getRetention()),
+          now, now.plus(shared.getRefreshInterval()), shared.getRefreshBatchSize());
+
+      for (var stale : claimed) {
+        refreshClaimed(stale);
+      }
+
+      var deleted = sharedRepository.deleteNotReadSince(now.minus(shared.getRetention()));
+      log.debug("Refreshed {} shared Pwned Passwords ranges, deleted {}", claimed.size(), deleted);
+    } catch (RuntimeException e) {
+      // claimed ranges not refreshed are picked up again when their lease expires
+      log.warn("Refreshing shared Pwned Passwords ranges failed: {}", e.getMessage());
+    }
+  }
+
+  private void markSharedRead(Instant now) {
+    var prefixes = new ArrayList<String>();
+    for (var iterator = sharedReads.iterator(); iterator.hasNext(); ) {
+      prefixes.add(iterator.next());
+      iterator.remove();
+    }
+    if (!prefixes.isEmpty()) {
+      sharedRepository.markRead(prefixes, now);
+    }
+  }
+
+  private void refreshClaimed(ClaimedRange stale) {
+    var prefix = stale.getPrefix();
+    var response = pwnedClient.getPwdRange(prefix, stale.getEtag(), stale.getLastModified());
+    if (response.isNotModified()) {
+      notModified.increment();
+      sharedRepository.touch(prefix, clock.instant());
+      return;
+    }
+
+    modified.increment();
+    var cached = cached(response);
+    sharedRepository.save(prefix, cached.getRange().compress(), cached.getFetchedAt(), cached.getEtag(),
+        cached.getLastModified());
+    if (localCache != null) {
+      localCache.put(prefix, cached);
+    }
+  }
+
+  /**
+   * Looks the range up in the shared table on the executor of the dependency and fetches it if it isn't stored; no
+   * thread waits for the response.
+   */
+  private CompletableFuture<CachedRange> load(String prefix) {
+    if (!isSharedReady()) {
+      return pwnedClient.getPwdRangeAsync(prefix, null, null).thenApply(this::cached);
+    }
+
+    return lookupExecutor.supplyAsync(() -> findShared(prefix))
+        .exceptionally(exc -> {
+          // e.g. the executor is saturated: the range is fetched as if it wasn't stored
+          log.warn("Shared Pwned Passwords cache lookup failed: {}", unwrap(exc).getMessage());
+          return null;
+        })
+        .thenCompose(stored -> {
+          var event = CacheAccessEvent.begin("pwned-ranges-shared");
+          if (stored != null && isFresh(stored)) {
+            event.complete("hit");
+            sharedHits.increment();
+            return CompletableFuture.completedFuture(cached(stored));
+          }
+
+          if (stored != null) {
+            // served as it is rather than re-fetched on the request thread: the read is recorded, so the refresher
+            // re-fetches the range with its next batch
+            event.complete("stale");
+            staleHits.increment();
+            return CompletableFuture.completedFuture(cached(stored));
+          }
+
+          event.complete("miss");
+          sharedMisses.increment();
+          // stored by the thread completing the request, one of the dependency's
+          return pwnedClient.getPwdRangeAsync(prefix, null, null).thenApply(response -> {
+            var cached = cached(response);
+            saveShared(prefix, cached);
+            return cached;
+          });
+        });
+  }
+
+  /**
+   * Re-fetches a cached range with a conditional request, unless another pod has already stored a fresher one.
+   */
+  private CachedRange revalidate(String prefix, CachedRange cached) {
+    if (isSharedReady()) {
+      var stored = findShared(prefix);
+      if (stored != null && isFresh(stored) && stored.getFetchedAt().isAfter(cached.getFetchedAt())) {
+        return cached(stored);
+      }
+    }
+    return refetch(prefix, cached);
+  }
+
+  private CachedRange refetch(String prefix, CachedRange cached) {
+    var response = pwnedClient.getPwdRange(prefix, cached.getEtag(), cached.getLastModified());
+    if (response.isNotModified()) {
+      notModified.increment();
+      var revalidated = new CachedRange(cached.getRange(), cached.getEtag(), cached.getLastModified(),
+          clock.instant());
+      touchShared(prefix, revalidated.getFetchedAt());
+      return revalidated;
+    }
+
+    modified.increment();
+    var fetched = cached(response);
+    saveShared(prefix, fetched);
+    return fetched;
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      var cause = e.getCause();
+      throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PwnedPasswordsUnavailableException("Interrupted while waiting for Pwned Passwords range", e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable exc) {
+    return exc instanceof CompletionException && exc.getCause() != null ? exc.getCause() : exc;
+  }
+
+  private boolean isSharedReady() {
+    return shared.isEnabled() && sharedTableReady;
+  }
+
+  private StoredRange findShared(String prefix) {
+    try {
+      var stored = sharedRepository.find(prefix).orElse(null);
+      if (stored != null) {
+        // read_at is updated in batches by the refresher rather than by every lookup
+        sharedReads.add(prefix);
+      }
+      return stored;
+    } catch (RuntimeException e) {
+      log.warn("Shared Pwned Passwords cache is unavailable: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private void saveShared(String prefix, CachedRange cached) {
+    if (!isSharedReady()) {
+      return;
+    }
+    try {
+      sharedRepository.save(prefix, cached.getRange().compress(), cached.getFetchedAt(), cached.getEtag(),
+          cached.getLastModified());
+    } catch (RuntimeException e) {
+      log.warn("Failed to store Pwned Passwords range {} in the shared cache: {}", prefix, e.getMessage());
+    }
+  }
+
+  private void touchShared(String prefix, Instant fetchedAt) {
+    if (!isSharedReady()) {
+      return;
+    }
+    try {
+      sharedRepository.touch(prefix, fetchedAt);
+    } catch (RuntimeException e) {
+      log.warn("Failed to revalidate Pwned Passwords range {} in the shared cache: {}", prefix, e.getMessage());
+    }
+  }
+
+  private CachedRange cached(RangeResponse response) {
+    return new CachedRange(PwnedRange.of(response.getUsages()), response.getEtag(), response.getLastModified(),
+        clock.instant());
+  }
+
+  private static CachedRange cached(StoredRange stored) {
+    return new CachedRange(PwnedRange.decompress(stored.getData()), stored.getEtag(), stored.getLastModified(),
+        stored.getFetchedAt());
+  }
+
+  private boolean isFresh(StoredRange stored) {
+    return stored.getFetchedAt().isAfter(clock.instant().minus(shared.getTimeToLive()));
+  }
+
+  private static Counter sharedLookups(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder(METRIC_PREFIX + "shared.lookups")
+        .description("Pwned Passwords ranges looked up in the shared cache")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  private static Counter revalidations(MeterRegistry meterRegistry, String outcome) {
+    return Counter.builder(METRIC_PREFIX + "revalidations")
+        .description("Conditional re-fetches of cached Pwned Passwords ranges")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+
+  /**
+   * A range with the validators of the response it was fetched with.
+   */
+  @Value
+  private static class CachedRange {
+
+    PwnedRange range;
+    String etag;
+    String lastModified;
+    Instant fetchedAt;
+  }
+
+}
@@ -0,0 +1,29 @@
+package org.folio.pv.client;
+
+import java.util.List;
+
+import lombok.Value;
+
+import org.folio.pv.domain.dto.HashedPasswordUsage;
+
+/**
+ * A range fetched from the Pwned Passwords API with its validators, or, if the range hasn't changed since the
+ * validators of a conditional request, a not modified response without usages.
+ */
+@Value
+public class RangeResponse {
+
+  List<HashedPasswordUsage> usages;
+  String etag;
+  String lastModified;
+
+
+  public static RangeResponse notModified(String etag, String lastModified) {
+    return new RangeResponse(null, etag, lastModified);
+  }
+
+  public boolean isNotModified() {
+    return usages == null;
+  }
+
+}
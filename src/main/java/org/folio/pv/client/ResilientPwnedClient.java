@@ -0,0 +1,236 @@
+package org.folio.pv.client;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.concurrent.DependencyExecutor;
+import org.folio.pv.jfr.OutboundCallEvent;
+import org.folio.pv.resilience.AdaptiveLimiter;
+import org.folio.pv.resilience.CircuitBreaker;
+import org.folio.pv.resilience.Futures;
+import org.folio.pv.resilience.LatencyWindow;
+import org.folio.pv.resilience.LimitExceededException;
+import org.folio.pv.tracing.Tracing;
+
+/**
+ * Guards {@link PwnedClient} with a circuit breaker and hedges slow range requests: if the first request
+ * hasn't completed after the configured latency percentile of recent calls, a second one is sent and
+ * whichever succeeds first wins. Requests run on the bounded executor of the dependency; the asynchronous variant
+ * doesn't hold any other thread while they are running.
+ */
+@Log4j2
+@Component
+public class ResilientPwnedClient {
+
+  private static final String METRIC_PREFIX = "pwned.client.";
+  private static final int MIN_SAMPLES_FOR_PERCENTILE = 20;
+
+  private final PwnedClient pwnedClient;
+  private final PwnedClientProperties properties;
+  private final AdaptiveLimiter limiter;
+  private final CircuitBreaker circuitBreaker;
+  private final LatencyWindow latencies;
+  private final DependencyExecutor executor;
+  private final Tracing tracing;
+
+  private final Counter rejectedCalls;
+  private final Counter hedgedCalls;
+  private final Counter hedgeWins;
+
+
+  public ResilientPwnedClient(PwnedClient pwnedClient, PwnedClientProperties properties,
+      DependencyExecutors executors, DependencyLimiters limiters, Tracing tracing, MeterRegistry meterRegistry) {
+    this.pwnedClient = pwnedClient;
+    this.properties = properties;
+    this.limiter = limiters.pwned();
+    this.executor = executors.pwned();
+    this.tracing = tracing;
+
+    var breaker = properties.getCircuitBreaker();
+    this.circuitBreaker = new CircuitBreaker("pwned-passwords", breaker.getFailureRateThreshold(),
+        breaker.getSlidingWindowSize(), breaker.getMinimumNumberOfCalls(), breaker.getWaitDurationInOpenState(),
+        breaker.getPermittedCallsInHalfOpenState());
+
+    var hedging = properties.getHedging();
+    this.latencies = new LatencyWindow(hedging.getWindowSize());
+
+    Gauge.builder(METRIC_PREFIX + "circuitbreaker.state", circuitBreaker, cb -> cb.getState().ordinal())
+        .description("Pwned Passwords circuit breaker state: 0 - closed, 1 - open, 2 - half open")
+        .register(meterRegistry);
+    this.rejectedCalls = Counter.builder(METRIC_PREFIX + "circuitbreaker.rejected")
+        .description("Range requests rejected by the open circuit breaker")
+        .register(meterRegistry);
+    this.hedgedCalls = Counter.builder(METRIC_PREFIX + "hedge.requests")
+        .description("Hedged range requests sent")
+        .register(meterRegistry);
+    this.hedgeWins = Counter.builder(METRIC_PREFIX + "hedge.wins")
+        .description("Hedged range requests that completed before the original one")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Fetches the range of hash suffixes for the given prefix. If the validators of a cached range are given, the
+   * request is conditional and a not modified response is returned if the range hasn't changed.
+   *
+   * @param etag the entity tag of the cached range, may be null
+   * @param lastModified the last modified date of the cached range, may be null
+   * @throws PwnedPasswordsUnavailableException if the concurrency limit is reached, the circuit breaker is open or
+   *     the request failed
+   */
+  public RangeResponse getPwdRange(String hashPrefix, String etag, String lastModified) {
+    try {
+      return getPwdRangeAsync(hashPrefix, etag, lastModified).get();
+    } catch (ExecutionException e) {
+      throw (PwnedPasswordsUnavailableException) e.getCause();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PwnedPasswordsUnavailableException("Interrupted while waiting for Pwned Passwords response", e);
+    }
+  }
+
+  /**
+   * Fetches the range like {@link #getPwdRange} without blocking the calling thread: the returned future completes on
+   * the executor of the dependency, or fails with a {@link PwnedPasswordsUnavailableException}.
+   */
+  public CompletableFuture<RangeResponse> getPwdRangeAsync(String hashPrefix, String etag, String lastModified) {
+    AdaptiveLimiter.Permit permit;
+    try {
+      permit = limiter.acquire();
+    } catch (LimitExceededException e) {
+      return CompletableFuture.failedFuture(new PwnedPasswordsUnavailableException(e.getMessage(), e));
+    }
+
+    if (!acquirePermission()) {
+      permit.ignore();
+      rejectedCalls.increment();
+      return CompletableFuture.failedFuture(
+          new PwnedPasswordsUnavailableException("Pwned Passwords circuit breaker is open"));
+    }
+
+    var response = properties.getHedging().isEnabled()
+        ? fetchHedged(hashPrefix, etag, lastModified)
+        : executor.supplyAsync(() -> fetch(hashPrefix, etag, lastModified));
+    return response.handle((rangeResponse, exc) -> {
+      if (exc == null) {
+        onSuccess();
+        permit.success();
+        return rangeResponse;
+      }
+      onError();
+      permit.dropped();
+      var cause = unwrap(exc);
+      throw new PwnedPasswordsUnavailableException("Pwned Passwords range request failed: " + cause.getMessage(),
+          cause);
+    });
+  }
+
+  public CircuitBreaker.State getCircuitBreakerState() {
+    return circuitBreaker.getState();
+  }
+
+  private CompletableFuture<RangeResponse> fetchHedged(String hashPrefix, String etag, String lastModified) {
+    var primary = executor.supplyAsync(() -> fetch(hashPrefix, etag, lastModified));
+    // the copy times out by itself, a failure of the primary request reaches it wrapped
+    return primary.copy()
+        .orTimeout(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS)
+        .handle((response, exc) -> exc instanceof TimeoutException
+            ? sendHedge(() -> fetch(hashPrefix, etag, lastModified), primary)
+            : primary)
+        .thenCompose(Function.identity());
+  }
+
+  private CompletableFuture<RangeResponse> sendHedge(Supplier<RangeResponse> fetch,
+      CompletableFuture<RangeResponse> primary) {
+    var hedge = executor.supplyAsync(fetch);
+    if (hedge.isCompletedExceptionally()) {
+      log.debug("Executor of Pwned Passwords is saturated, not hedging the range request");
+      return primary;
+    }
+
+    hedgedCalls.increment();
+    hedge.thenRun(() -> {
+      if (!primary.isDone() || primary.isCompletedExceptionally()) {
+        hedgeWins.increment();
+      }
+    });
+
+    return Futures.firstSuccessful(List.of(primary, hedge));
+  }
+
+  private RangeResponse fetch(String hashPrefix, String etag, String lastModified) {
+    var start = System.nanoTime();
+    try {
+      // the trace context isn't sent to the third-party API
+      return tracing.inSpan(tracing.startClientSpan(DependencyLimiters.PWNED, "GET"),
+          () -> OutboundCallEvent.record(DependencyLimiters.PWNED, "GET",
+              () -> requestRange(hashPrefix, etag, lastModified)));
+    } finally {
+      latencies.record(System.nanoTime() - start);
+    }
+  }
+
+  private RangeResponse requestRange(String hashPrefix, String etag, String lastModified) {
+    try {
+      var response = pwnedClient.getPwdRange(hashPrefix, etag, lastModified);
+      var headers = response.getHeaders();
+      return new RangeResponse(response.getBody(), headers.getETag(),
+          headers.getFirst(HttpHeaders.LAST_MODIFIED));
+    } catch (FeignException e) {
+      if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+        return RangeResponse.notModified(etag, lastModified);
+      }
+      throw e;
+    }
+  }
+
+  private Duration hedgeDelay() {
+    var hedging = properties.getHedging();
+    if (latencies.size() < MIN_SAMPLES_FOR_PERCENTILE) {
+      return hedging.getMaxDelay();
+    }
+
+    var delay = Duration.ofNanos(latencies.percentile(hedging.getPercentile()));
+    if (delay.compareTo(hedging.getMinDelay()) < 0) {
+      return hedging.getMinDelay();
+    }
+    return delay.compareTo(hedging.getMaxDelay()) > 0 ? hedging.getMaxDelay() : delay;
+  }
+
+  private boolean acquirePermission() {
+    return !properties.getCircuitBreaker().isEnabled() || circuitBreaker.tryAcquirePermission();
+  }
+
+  private void onSuccess() {
+    if (properties.getCircuitBreaker().isEnabled()) {
+      circuitBreaker.onSuccess();
+    }
+  }
+
+  private void onError() {
+    if (properties.getCircuitBreaker().isEnabled()) {
+      circuitBreaker.onError();
+    }
+  }
+
+  private static Throwable unwrap(Throwable exc) {
+    var cause = exc instanceof CompletionException && exc.getCause() != null ? exc.getCause() : exc;
+    return cause instanceof TimeoutException ? new IllegalStateException("timed out", cause) : cause;
+  }
+
+}
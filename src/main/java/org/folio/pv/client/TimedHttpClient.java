@@ -0,0 +1,159 @@
+package org.folio.pv.client;
+
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.PushPromiseHandler;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+/**
+ * JDK HTTP client reporting the phases of its calls to {@link HttpClientMetrics}. The client has no hooks into
+ * connection setup, so the time to first byte runs from sending the request to receiving the response headers,
+ * including DNS lookup, connect and request write; the body read runs from the headers to the end of the body.
+ */
+public class TimedHttpClient extends HttpClient {
+
+  private final HttpClient delegate;
+  private final String client;
+  private final HttpClientMetrics metrics;
+
+
+  public TimedHttpClient(HttpClient delegate, String client, HttpClientMetrics metrics) {
+    this.delegate = delegate;
+    this.client = client;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public <T> HttpResponse<T> send(HttpRequest request, BodyHandler<T> responseBodyHandler)
+      throws IOException, InterruptedException {
+    return delegate.send(request, timed(request, responseBodyHandler));
+  }
+
+  @Override
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, BodyHandler<T> responseBodyHandler) {
+    return delegate.sendAsync(request, timed(request, responseBodyHandler));
+  }
+
+  @Override
+  public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request, BodyHandler<T> responseBodyHandler,
+      PushPromiseHandler<T> pushPromiseHandler) {
+    return delegate.sendAsync(request, timed(request, responseBodyHandler), pushPromiseHandler);
+  }
+
+  @Override
+  public Optional<CookieHandler> cookieHandler() {
+    return delegate.cookieHandler();
+  }
+
+  @Override
+  public Optional<Duration> connectTimeout() {
+    return delegate.connectTimeout();
+  }
+
+  @Override
+  public Redirect followRedirects() {
+    return delegate.followRedirects();
+  }
+
+  @Override
+  public Optional<ProxySelector> proxy() {
+    return delegate.proxy();
+  }
+
+  @Override
+  public SSLContext sslContext() {
+    return delegate.sslContext();
+  }
+
+  @Override
+  public SSLParameters sslParameters() {
+    return delegate.sslParameters();
+  }
+
+  @Override
+  public Optional<Authenticator> authenticator() {
+    return delegate.authenticator();
+  }
+
+  @Override
+  public Version version() {
+    return delegate.version();
+  }
+
+  @Override
+  public Optional<Executor> executor() {
+    return delegate.executor();
+  }
+
+  @Override
+  public WebSocket.Builder newWebSocketBuilder() {
+    return delegate.newWebSocketBuilder();
+  }
+
+  private <T> BodyHandler<T> timed(HttpRequest request, BodyHandler<T> handler) {
+    var host = String.valueOf(request.uri().getHost());
+    var sentAt = System.nanoTime();
+    return responseInfo -> {
+      var headersAt = System.nanoTime();
+      metrics.recordPhase(client, host, HttpClientMetrics.TTFB, headersAt - sentAt);
+      return new TimedBodySubscriber<>(handler.apply(responseInfo), host, headersAt);
+    };
+  }
+
+  private class TimedBodySubscriber<T> implements BodySubscriber<T> {
+
+    private final BodySubscriber<T> delegate;
+    private final String host;
+    private final long headersAt;
+
+    TimedBodySubscriber(BodySubscriber<T> delegate, String host, long headersAt) {
+      this.delegate = delegate;
+      this.host = host;
+      this.headersAt = headersAt;
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+      return delegate.getBody();
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      delegate.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> item) {
+      delegate.onNext(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      delegate.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      metrics.recordPhase(client, host, HttpClientMetrics.BODY, System.nanoTime() - headersAt);
+      delegate.onComplete();
+    }
+  }
+
+}
@@ -5,7 +5,7 @@ import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient("users")
+@FeignClient(value = "users", configuration = UserClientConfiguration.class)
 public interface UserClient {
 
   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
@@ -0,0 +1,18 @@
+package org.folio.pv.client;
+
+import feign.RequestInterceptor;
+import org.springframework.context.annotation.Bean;
+
+import org.folio.pv.tracing.Tracing;
+
+public class UserClientConfiguration {
+
+  /**
+   * Propagates the trace context of the lookup to mod-users.
+   */
+  @Bean
+  public RequestInterceptor tracingInterceptor(Tracing tracing) {
+    return template -> tracing.injectCurrent(template::header);
+  }
+
+}
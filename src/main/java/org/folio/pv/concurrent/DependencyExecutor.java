@@ -0,0 +1,147 @@
+package org.folio.pv.concurrent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The executor of one outbound dependency, a thread pool bulkhead: at most {@code poolSize} tasks run and
+ * {@code queueSize} wait, further ones are rejected at once, so that a degraded dependency can't hold more threads
+ * than its own. Blocking calls submitted with {@link #supplyAsync} fail with a {@link TimeoutException} and are
+ * interrupted if they haven't completed within the timeout.
+ */
+public class DependencyExecutor extends AbstractExecutorService {
+
+  private final String name;
+  private final ExecutorService delegate;
+  private final int capacity;
+  private final Duration timeout;
+
+  private final AtomicInteger outstanding = new AtomicInteger();
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong timeouts = new AtomicLong();
+
+
+  /**
+   * @param delegate the executor running the tasks, its own queue is expected to be unbounded
+   * @param timeout time limit of calls submitted with {@link #supplyAsync}, none if null
+   */
+  public DependencyExecutor(String name, ExecutorService delegate, int poolSize, int queueSize, Duration timeout) {
+    this.name = name;
+    this.delegate = delegate;
+    this.capacity = poolSize + queueSize;
+    this.timeout = timeout;
+  }
+
+  /**
+   * Runs the blocking call on the executor. The returned future fails with a {@link RejectedExecutionException} if
+   * the executor is saturated and with a {@link TimeoutException} if the call took too long.
+   */
+  public <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+    var result = new CompletableFuture<T>();
+    Future<?> task;
+    try {
+      task = submit(() -> {
+        try {
+          result.complete(call.get());
+        } catch (Throwable e) {
+          result.completeExceptionally(e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      result.completeExceptionally(e);
+      return result;
+    }
+
+    if (timeout != null) {
+      result.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS).whenComplete((value, exc) -> {
+        if (exc instanceof TimeoutException) {
+          timeouts.incrementAndGet();
+          task.cancel(true);
+        }
+      });
+    }
+    return result;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (outstanding.incrementAndGet() > capacity) {
+      outstanding.decrementAndGet();
+      rejected.incrementAndGet();
+      throw new RejectedExecutionException("Executor of " + name + " is saturated");
+    }
+
+    try {
+      delegate.execute(() -> {
+        active.incrementAndGet();
+        try {
+          command.run();
+        } finally {
+          active.decrementAndGet();
+          outstanding.decrementAndGet();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      outstanding.decrementAndGet();
+      rejected.incrementAndGet();
+      throw e;
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getActiveCount() {
+    return active.get();
+  }
+
+  public int getQueueDepth() {
+    return Math.max(0, outstanding.get() - active.get());
+  }
+
+  public long getRejectedCount() {
+    return rejected.get();
+  }
+
+  public long getTimeoutCount() {
+    return timeouts.get();
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+
+}
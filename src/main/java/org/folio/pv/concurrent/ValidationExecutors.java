@@ -0,0 +1,193 @@
+package org.folio.pv.concurrent;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.opentelemetry.context.Context;
+import lombok.extern.log4j.Log4j2;
+import org.folio.spring.DefaultFolioExecutionContext;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.FolioModuleMetadata;
+import org.folio.spring.scope.FolioExecutionScopeExecutionContextManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.config.VirtualThreadProperties;
+
+/**
+ * Creates the executors running outbound validation calls: bounded platform thread pools by default or, in virtual
+ * thread mode, an executor starting a virtual thread per task, so that the number of concurrent calls is limited by
+ * the downstream services instead of pool sizes. Tasks of both run in the {@link FolioExecutionContext} and the
+ * trace context of the thread that submitted them. Module-level background work, which isn't done on behalf of a
+ * tenant, is scheduled on executors whose tasks run in a system context without a tenant.
+ */
+@Log4j2
+@Component
+public class ValidationExecutors {
+
+  private final FolioExecutionContext folioExecutionContext;
+  private final FolioExecutionContext systemContext;
+  private final boolean virtual;
+
+
+  public ValidationExecutors(VirtualThreadProperties properties, FolioExecutionContext folioExecutionContext,
+      FolioModuleMetadata moduleMetadata) {
+    this.folioExecutionContext = folioExecutionContext;
+    this.systemContext = new DefaultFolioExecutionContext(moduleMetadata, Map.of());
+    this.virtual = properties.isEnabled() && VirtualThreads.isSupported();
+
+    if (properties.isEnabled() && !virtual) {
+      log.warn("Virtual threads are not supported by Java {}, using platform threads",
+          System.getProperty("java.version"));
+    }
+    if (virtual) {
+      VirtualThreads.tracePinnedThreads(properties.getTracePinnedThreads());
+    }
+  }
+
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  /**
+   * Returns an executor whose threads are named {@code <name>-<n>}. In platform thread mode it is a pool of
+   * {@code poolSize} daemon threads queueing tasks in {@code queue}; the pool and the queue are ignored in virtual
+   * thread mode.
+   */
+  public ExecutorService newExecutor(String name, int poolSize, BlockingQueue<Runnable> queue) {
+    ExecutorService executor;
+    if (virtual) {
+      executor = VirtualThreads.newThreadPerTaskExecutor(name + "-");
+    } else {
+      var threadFactory = new CustomizableThreadFactory(name + "-");
+      threadFactory.setDaemon(true);
+
+      var pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, queue, threadFactory);
+      pool.allowCoreThreadTimeOut(true);
+      executor = pool;
+    }
+    return new ContextPropagatingExecutor(executor);
+  }
+
+  /**
+   * Returns a single daemon thread named {@code <name>-1} running scheduled module-level tasks in the system context.
+   */
+  public ScheduledExecutorService newScheduledExecutor(String name) {
+    var threadFactory = new CustomizableThreadFactory(name + "-");
+    threadFactory.setDaemon(true);
+    return new SystemContextScheduledExecutor(threadFactory);
+  }
+
+  /**
+   * Returns an executor running tasks on {@code executor} in the {@link FolioExecutionContext} and the trace context
+   * of the calling thread, for continuations triggered by threads without the context, e.g. once a remote rule has
+   * answered.
+   */
+  public Executor inCurrentContext(Executor executor) {
+    var context = currentContext();
+    var traceContext = Context.current();
+    return task -> executor.execute(inContext(context, traceContext.wrap(task)));
+  }
+
+  private FolioExecutionContext currentContext() {
+    // the injected context is a scoped proxy, the instance behind it is the context of the calling thread
+    return (FolioExecutionContext) folioExecutionContext.getInstance();
+  }
+
+  private static Runnable inContext(FolioExecutionContext context, Runnable task) {
+    return () -> {
+      FolioExecutionScopeExecutionContextManager.beginFolioExecutionContext(context);
+      try {
+        task.run();
+      } finally {
+        FolioExecutionScopeExecutionContextManager.endFolioExecutionContext();
+      }
+    };
+  }
+
+  private final class SystemContextScheduledExecutor extends ScheduledThreadPoolExecutor {
+
+    private SystemContextScheduledExecutor(ThreadFactory threadFactory) {
+      super(1, threadFactory);
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+      return super.schedule(inContext(systemContext, command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+      return super.schedule(() -> {
+        FolioExecutionScopeExecutionContextManager.beginFolioExecutionContext(systemContext);
+        try {
+          return callable.call();
+        } finally {
+          FolioExecutionScopeExecutionContextManager.endFolioExecutionContext();
+        }
+      }, delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+      return super.scheduleAtFixedRate(inContext(systemContext, command), initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+        TimeUnit unit) {
+      return super.scheduleWithFixedDelay(inContext(systemContext, command), initialDelay, delay, unit);
+    }
+  }
+
+  private final class ContextPropagatingExecutor extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    private ContextPropagatingExecutor(ExecutorService delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      delegate.execute(inContext(currentContext(), Context.current().wrap(command)));
+    }
+
+    @Override
+    public void shutdown() {
+      delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return delegate.awaitTermination(timeout, unit);
+    }
+  }
+
+}
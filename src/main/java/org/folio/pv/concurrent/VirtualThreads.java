@@ -0,0 +1,106 @@
+package org.folio.pv.concurrent;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Creates virtual threads on JDKs that support them. The module is built for Java 11, so the JDK 21 API is looked
+ * up reflectively once.
+ */
+@Log4j2
+public final class VirtualThreads {
+
+  private static final String TRACE_PINNED_THREADS = "jdk.tracePinnedThreads";
+
+  private static final VirtualThreadApi API = VirtualThreadApi.lookup();
+
+
+  private VirtualThreads() {
+  }
+
+  public static boolean isSupported() {
+    return API != null;
+  }
+
+  /**
+   * Returns a factory of virtual threads named {@code <prefix><n>}.
+   *
+   * @throws UnsupportedOperationException if the JDK doesn't support virtual threads
+   */
+  public static ThreadFactory newThreadFactory(String prefix) {
+    if (API == null) {
+      throw new UnsupportedOperationException("Virtual threads are not supported by Java "
+          + System.getProperty("java.version"));
+    }
+    return API.newThreadFactory(prefix);
+  }
+
+  /**
+   * Returns an executor starting a new virtual thread for each task.
+   *
+   * @throws UnsupportedOperationException if the JDK doesn't support virtual threads
+   */
+  public static ExecutorService newThreadPerTaskExecutor(String prefix) {
+    var threadFactory = newThreadFactory(prefix);
+    return API.newThreadPerTaskExecutor(threadFactory);
+  }
+
+  /**
+   * Enables the stack traces the JDK prints when a virtual thread blocks while pinned to its carrier thread, e.g.
+   * inside a {@code synchronized} block. Has to be called before the first virtual thread is started and has no
+   * effect if the property is already set.
+   */
+  public static void tracePinnedThreads(String mode) {
+    if (mode == null || mode.isBlank() || System.getProperty(TRACE_PINNED_THREADS) != null) {
+      return;
+    }
+    System.setProperty(TRACE_PINNED_THREADS, mode);
+    log.info("Tracing virtual threads pinned to their carrier: {}", mode);
+  }
+
+  private static final class VirtualThreadApi {
+
+    private final Method ofVirtual;
+    private final Method name;
+    private final Method factory;
+    private final Method newThreadPerTaskExecutor;
+
+    private VirtualThreadApi() throws ReflectiveOperationException {
+      this.ofVirtual = Thread.class.getMethod("ofVirtual");
+      this.name = Class.forName("java.lang.Thread$Builder$OfVirtual").getMethod("name", String.class, long.class);
+      this.factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+      this.newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+    }
+
+    static VirtualThreadApi lookup() {
+      try {
+        return new VirtualThreadApi();
+      } catch (ReflectiveOperationException e) {
+        return null;
+      }
+    }
+
+    ThreadFactory newThreadFactory(String prefix) {
+      try {
+        // builders are not thread safe, so each factory is made from a builder of its own
+        var builder = name.invoke(ofVirtual.invoke(null), prefix, 0L);
+        return (ThreadFactory) factory.invoke(builder);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Failed to create virtual thread factory", e);
+      }
+    }
+
+    ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+      try {
+        return (ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory);
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException("Failed to create virtual thread executor", e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,26 @@
+package org.folio.pv.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+  private boolean enabled = true;
+  /**
+   * Password validations a single tenant may run at the same time.
+   */
+  private int maxConcurrentRequests = 16;
+  /**
+   * Validations of a tenant waiting for one of its running validations to complete; further requests get 429.
+   */
+  private int maxQueuedRequests = 32;
+  private Duration maxQueueWait = Duration.ofSeconds(2);
+  /**
+   * Value of the Retry-After header of rejected requests.
+   */
+  private Duration retryAfter = Duration.ofSeconds(1);
+}
@@ -0,0 +1,30 @@
+package org.folio.pv.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "degraded-mode")
+public class DegradedModeProperties {
+
+  private boolean enabled = true;
+  /**
+   * Latency percentile of the recent calls of a Soft remote rule compared with the threshold.
+   */
+  private double percentile = 0.99;
+  /**
+   * A Soft remote rule whose latency percentile exceeds this is bypassed.
+   */
+  private Duration latencyThreshold = Duration.ofSeconds(1);
+  /**
+   * Number of recent calls of a rule the percentile is computed from.
+   */
+  private int windowSize = 100;
+  private int minimumNumberOfCalls = 20;
+  /**
+   * Time a slow rule is bypassed before a probe call checks whether it has recovered.
+   */
+  private Duration bypassDuration = Duration.ofSeconds(30);
+}
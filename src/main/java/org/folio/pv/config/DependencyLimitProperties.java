@@ -0,0 +1,32 @@
+package org.folio.pv.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "dependency-limits")
+public class DependencyLimitProperties {
+
+  private boolean enabled = true;
+  /**
+   * Calls in flight allowed to each dependency (mod-users, the Pwned Passwords API, each Programmatic rule module)
+   * before the limit has adapted.
+   */
+  private int initialLimit = 20;
+  private int minLimit = 2;
+  private int maxLimit = 200;
+  /**
+   * Factor applied to the limit for each dropped or slow call.
+   */
+  private double backoffRatio = 0.9;
+  /**
+   * A call is slow if its round trip time exceeds this multiple of the recent baseline.
+   */
+  private double rttTolerance = 2.0;
+  /**
+   * Time a blocking call waits for the limit to allow it before it is shed; asynchronous calls are shed at once.
+   */
+  private Duration maxWait = Duration.ofMillis(200);
+}
@@ -0,0 +1,50 @@
+package org.folio.pv.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "dependency-pools")
+public class DependencyPoolProperties {
+
+  /**
+   * Executor of the mod-users lookups.
+   */
+  private Pool users = new Pool(8, 32, Duration.ofSeconds(2));
+  /**
+   * Executor of the Pwned Passwords range requests, hedged ones included.
+   */
+  private Pool pwned = new Pool(16, 64, Duration.ofSeconds(3));
+  /**
+   * Executor of each module implementing Programmatic rules, handling its responses; the rules' own timeouts apply.
+   */
+  private Pool programmatic = new Pool(4, 64, null);
+
+  @Data
+  @NoArgsConstructor
+  public static class Pool {
+
+    /**
+     * Tasks running at the same time; in virtual thread mode tasks aren't queued and up to pool size plus queue size
+     * of them run.
+     */
+    private int poolSize;
+    /**
+     * Tasks waiting for a thread; further ones are rejected.
+     */
+    private int queueSize;
+    /**
+     * Time limit of a call, none if empty.
+     */
+    private Duration timeout;
+
+    Pool(int poolSize, int queueSize, Duration timeout) {
+      this.poolSize = poolSize;
+      this.queueSize = queueSize;
+      this.timeout = timeout;
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package org.folio.pv.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@ConfigurationProperties(prefix = "jfr-recording")
+public class JfrRecordingProperties {
+
+  /**
+   * Duration of a recording started without one.
+   */
+  private Duration defaultDuration = Duration.ofMinutes(1);
+  /**
+   * Longest recording that may be started; longer ones are cut to it.
+   */
+  private Duration maxDuration = Duration.ofMinutes(10);
+  /**
+   * Size the recording is bounded to, older data is discarded.
+   */
+  private DataSize maxSize = DataSize.ofMegabytes(100);
+  /**
+   * JFR settings of the recording: default (about 1% overhead) or profile (about 2%).
+   */
+  private String settings = "profile";
+}
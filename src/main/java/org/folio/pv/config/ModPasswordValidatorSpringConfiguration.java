@@ -1,8 +1,100 @@
 package org.folio.pv.config;
 
+import java.net.http.HttpClient;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
+import lombok.extern.log4j.Log4j2;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import org.folio.pv.client.HttpClientMetrics;
+import org.folio.pv.client.PwnedClientProperties;
+import org.folio.pv.client.TimedHttpClient;
+import org.folio.pv.concurrent.ValidationExecutors;
+import org.folio.pv.concurrent.VirtualThreads;
+import org.folio.pv.dictionary.DictionaryProperties;
+import org.folio.pv.plugin.PluginProperties;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+
+@Log4j2
 @Configuration
+@EnableConfigurationProperties({
+    PwnedClientProperties.class,
+    ProgrammaticRuleProperties.class,
+    PluginProperties.class,
+    DictionaryProperties.class,
+    VirtualThreadProperties.class,
+    ValidationProperties.class,
+    AdmissionProperties.class,
+    DependencyLimitProperties.class,
+    DependencyPoolProperties.class,
+    DegradedModeProperties.class,
+    JfrRecordingProperties.class,
+    ValidationAuditProperties.class
+})
 public class ModPasswordValidatorSpringConfiguration {
 
+  /**
+   * The instance registered globally, e.g. by the OpenTelemetry Java agent, which exports the spans; a no-op one
+   * without it.
+   */
+  @Bean
+  public OpenTelemetry openTelemetry() {
+    return GlobalOpenTelemetry.get();
+  }
+
+  @Bean(destroyMethod = "shutdownNow")
+  public ExecutorService validationExecutor(ValidationProperties properties, ValidationExecutors executors) {
+    return executors.newExecutor("validation", properties.getAsyncPoolSize(), new LinkedBlockingQueue<>());
+  }
+
+  @Bean(destroyMethod = "shutdown")
+  public LatencyPolicyExecutor programmaticRuleExecutor(ProgrammaticRuleProperties properties,
+      ValidationExecutors executors) {
+    var executor = executors.newExecutor("programmatic-rule", properties.getPoolSize(), new LinkedBlockingQueue<>());
+    return new LatencyPolicyExecutor(executor, properties.getBaseBackoff(), properties.getMaxBackoff());
+  }
+
+  @Bean(destroyMethod = "shutdownNow")
+  public ExecutorService programmaticRuleHttpExecutor(ProgrammaticRuleProperties properties,
+      ValidationExecutors executors) {
+    return executors.newExecutor("programmatic-rule-http", properties.getHttpPoolSize(), new LinkedBlockingQueue<>());
+  }
+
+  @Bean
+  public HttpClient programmaticRuleHttpClient(ExecutorService programmaticRuleHttpExecutor,
+      HttpClientMetrics httpClientMetrics) {
+    var httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .executor(programmaticRuleHttpExecutor)
+        .build();
+    return new TimedHttpClient(httpClient, "programmatic", httpClientMetrics);
+  }
+
+  /**
+   * Handles requests on virtual threads instead of the Tomcat worker pool; blocking calls then hold a thread that
+   * costs next to nothing, and concurrency is bounded by the connection pools of the downstream services.
+   */
+  @Bean
+  @ConditionalOnProperty(name = "virtual-threads.enabled", havingValue = "true")
+  public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(
+      VirtualThreadProperties properties) {
+    return protocolHandler -> {
+      if (!VirtualThreads.isSupported()) {
+        log.warn("Virtual threads are not supported by Java {}, handling requests on the worker pool",
+            System.getProperty("java.version"));
+        return;
+      }
+      VirtualThreads.tracePinnedThreads(properties.getTracePinnedThreads());
+      protocolHandler.setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-vt-"));
+    };
+  }
+
 }
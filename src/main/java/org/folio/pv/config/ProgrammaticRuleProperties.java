@@ -0,0 +1,52 @@
+package org.folio.pv.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "programmatic-rules")
+public class ProgrammaticRuleProperties {
+
+  /**
+   * Upper bound of the per-rule max retries, whatever is stored in the rule.
+   */
+  private int maxRetriesLimit = 3;
+  /**
+   * Backoff ceiling of the first retry, doubled for each following one.
+   */
+  private Duration baseBackoff = Duration.ofMillis(100);
+  private Duration maxBackoff = Duration.ofSeconds(2);
+  /**
+   * Number of threads completing calls to external validation implementations and scheduling retries.
+   * The calls themselves don't hold a thread while waiting for the response.
+   */
+  private int poolSize = 4;
+  /**
+   * Number of threads of the non-blocking http client.
+   */
+  private int httpPoolSize = 2;
+
+  private BatchingSettings batching = new BatchingSettings();
+
+
+  @Data
+  public static class BatchingSettings {
+
+    /**
+     * Groups rules with the same implementation reference into a single call.
+     */
+    private boolean enabled = false;
+    /**
+     * Appended to the implementation reference to get the batch endpoint.
+     */
+    private String pathSuffix = "/batch";
+    /**
+     * How long an endpoint which doesn't support batched calls is called one rule at a time before
+     * batching is tried again.
+     */
+    private Duration unsupportedRecheckInterval = Duration.ofMinutes(10);
+  }
+
+}
@@ -0,0 +1,18 @@
+package org.folio.pv.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "validation-audit")
+public class ValidationAuditProperties {
+
+  /**
+   * Writes an audit event per sampled validation.
+   */
+  private boolean enabled = true;
+  /**
+   * Share of the validations audited, from 0 to 1.
+   */
+  private double sampleRate = 1.0;
+}
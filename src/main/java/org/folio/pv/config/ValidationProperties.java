@@ -0,0 +1,25 @@
+package org.folio.pv.config;
+
+import java.time.Duration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "validation")
+public class ValidationProperties {
+
+  /**
+   * Number of threads continuing validations once their remote rules have answered, so that request threads don't
+   * wait for them; a thread per continuation is started in virtual thread mode.
+   */
+  private int asyncPoolSize = 8;
+  /**
+   * Time budget of a validation if the request has no X-Request-Timeout header; none if empty.
+   */
+  private Duration timeout = Duration.ofSeconds(10);
+  /**
+   * Part of the time budget reserved for answering: rules have to complete this long before it runs out.
+   */
+  private Duration timeoutMargin = Duration.ofMillis(100);
+}
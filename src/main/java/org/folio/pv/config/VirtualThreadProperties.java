@@ -0,0 +1,20 @@
+package org.folio.pv.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "virtual-threads")
+public class VirtualThreadProperties {
+
+  /**
+   * Runs request handling and outbound validation calls on virtual threads if the JDK supports them (21+);
+   * platform thread pools are used otherwise.
+   */
+  private boolean enabled = false;
+  /**
+   * Value of {@code jdk.tracePinnedThreads}, {@code short} or {@code full}, set before the first virtual thread is
+   * started unless given on the command line; empty disables the trace.
+   */
+  private String tracePinnedThreads;
+}
@@ -0,0 +1,28 @@
+package org.folio.pv.controller;
+
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.service.DegradedRules;
+import org.folio.pv.service.DegradedRules.RuleStatus;
+
+/**
+ * Lists the Soft remote rules tracked by the degraded mode, bypassed ones first.
+ */
+@Component
+@Endpoint(id = "degradedrules")
+@RequiredArgsConstructor
+public class DegradedRulesEndpoint {
+
+  private final DegradedRules degradedRules;
+
+  @ReadOperation
+  public List<RuleStatus> degradedRules() {
+    return degradedRules.getStatus();
+  }
+
+}
@@ -0,0 +1,88 @@
+package org.folio.pv.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.jfr.JfrRecorder;
+import org.folio.pv.jfr.JfrRecorder.RecordingStatus;
+
+/**
+ * Starts, stops and downloads a bounded Java Flight Recorder recording: {@code POST /admin/jfr} with an optional
+ * {@code duration}, {@code DELETE /admin/jfr} and {@code GET /admin/jfr/recording.jfr}. A recording exposes the
+ * internals of the module, so the endpoint must not be reachable from outside the pod.
+ */
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrRecordingEndpoint {
+
+  static final String RECORDING_FILE = "recording.jfr";
+
+  private final JfrRecorder recorder;
+
+  @ReadOperation
+  public RecordingStatus status() {
+    return recorder.status();
+  }
+
+  @WriteOperation
+  public WebEndpointResponse<RecordingStatus> start(@Nullable Duration duration) throws IOException, ParseException {
+    try {
+      return new WebEndpointResponse<>(recorder.start(duration));
+    } catch (IllegalStateException e) {
+      return new WebEndpointResponse<>(recorder.status(), HttpStatus.CONFLICT.value());
+    }
+  }
+
+  @DeleteOperation
+  public RecordingStatus stop() {
+    return recorder.stop();
+  }
+
+  @ReadOperation(produces = "application/octet-stream")
+  public WebEndpointResponse<Resource> recording(@Selector String file) throws IOException {
+    if (!RECORDING_FILE.equals(file)) {
+      return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+    try {
+      return new WebEndpointResponse<>(new DumpResource(recorder.dump()));
+    } catch (IllegalStateException e) {
+      return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+  }
+
+  /**
+   * A dump of the recording, deleted once its content has been written to the response and the stream is closed.
+   */
+  static final class DumpResource extends FileSystemResource {
+
+    DumpResource(Path dump) {
+      super(dump);
+      dump.toFile().deleteOnExit();
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+    }
+  }
+
+}
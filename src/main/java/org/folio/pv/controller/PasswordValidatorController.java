@@ -1,34 +1,117 @@
 package org.folio.pv.controller;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import javax.validation.Valid;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.folio.pv.client.PwnedPasswordsUnavailableException;
+import org.folio.pv.config.AdmissionProperties;
+import org.folio.pv.config.ValidationProperties;
 import org.folio.pv.domain.dto.Password;
 import org.folio.pv.domain.dto.ValidationResult;
 import org.folio.pv.rest.resource.PasswordApi;
+import org.folio.pv.resilience.BulkheadFullException;
+import org.folio.pv.resilience.Deadline;
+import org.folio.pv.resilience.LimitExceededException;
+import org.folio.pv.service.TenantAdmission;
 import org.folio.pv.service.ValidationRuleService;
+import org.folio.pv.service.ValidationTimings;
 
 
 @Log4j2
 @RestController
 @RequestMapping(value = "/")
 public class PasswordValidatorController implements PasswordApi {
+  private static final String SERVER_TIMING = "Server-Timing";
+
   private final ValidationRuleService validationRuleService;
+  private final TenantAdmission tenantAdmission;
+  private final AdmissionProperties admissionProperties;
+  private final ValidationProperties validationProperties;
+  private final ObjectMapper objectMapper;
 
   @Autowired
-  public PasswordValidatorController(ValidationRuleService validationRuleService) {
+  public PasswordValidatorController(ValidationRuleService validationRuleService, TenantAdmission tenantAdmission,
+      AdmissionProperties admissionProperties, ValidationProperties validationProperties, ObjectMapper objectMapper) {
     this.validationRuleService = validationRuleService;
+    this.tenantAdmission = tenantAdmission;
+    this.admissionProperties = admissionProperties;
+    this.validationProperties = validationProperties;
+    this.objectMapper = objectMapper;
   }
 
   @Override
-  public ResponseEntity<ValidationResult> validatePassword(@Valid Password passwordContainer) {
-    ValidationResult validationResult = validationRuleService.validatePasswordByRules(passwordContainer);
-    return new ResponseEntity<>(validationResult, HttpStatus.OK);
+  public CompletableFuture<ResponseEntity<ValidationResult>> validatePassword(@Valid Password passwordContainer,
+      Integer xRequestTimeout, Boolean explain) {
+    var timings = Boolean.TRUE.equals(explain) ? ValidationTimings.start() : ValidationTimings.OFF;
+    var budget = xRequestTimeout != null && xRequestTimeout > 0
+        ? Duration.ofMillis(xRequestTimeout)
+        : validationProperties.getTimeout();
+    // the rules have to complete a margin before the answer is due
+    var rulesDeadline = Deadline.after(budget == null ? null : budget.minus(validationProperties.getTimeoutMargin()));
+
+    return Deadline.after(budget)
+        .bound(tenantAdmission.admit(() -> {
+          timings.phase(ValidationTimings.ADMISSION, timings.getStartedAt());
+          return validationRuleService.validatePasswordByRulesAsync(passwordContainer, rulesDeadline, timings);
+        }))
+        .thenApply(validationResult -> timings.isEnabled()
+            ? explained(validationResult, timings)
+            : new ResponseEntity<>(validationResult, HttpStatus.OK));
+  }
+
+  /**
+   * Adds the {@code Server-Timing} header. The body is written after the headers, so the serialization time reported
+   * is the one of a trial serialization of the result.
+   */
+  private ResponseEntity<ValidationResult> explained(ValidationResult validationResult, ValidationTimings timings) {
+    var serializationStart = timings.now();
+    try {
+      objectMapper.writeValueAsBytes(validationResult);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Validation result can't be serialized", e);
+    }
+    timings.phase(ValidationTimings.SERIALIZATION, serializationStart);
+
+    return ResponseEntity.ok()
+        .header(SERVER_TIMING, timings.toServerTiming())
+        .body(validationResult);
+  }
+
+  @ExceptionHandler(BulkheadFullException.class)
+  public ResponseEntity<String> handleBulkheadFull(BulkheadFullException e) {
+    var retryAfter = Math.max(1, (admissionProperties.getRetryAfter().toMillis() + 999) / 1000);
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+        .contentType(MediaType.TEXT_PLAIN)
+        .body(e.getMessage());
+  }
+
+  /**
+   * A dependency is overloaded: its concurrency limit is reached, its executor is saturated or it didn't answer in
+   * time; or the Pwned Passwords API is unavailable and a Strong rule can't be checked.
+   */
+  @ExceptionHandler({LimitExceededException.class, RejectedExecutionException.class, TimeoutException.class,
+      PwnedPasswordsUnavailableException.class})
+  public ResponseEntity<String> handleDependencyOverloaded(Exception e) {
+    var retryAfter = Math.max(1, (admissionProperties.getRetryAfter().toMillis() + 999) / 1000);
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+        .contentType(MediaType.TEXT_PLAIN)
+        .body(e.getMessage() != null ? e.getMessage() : "Dependency timed out");
   }
 }
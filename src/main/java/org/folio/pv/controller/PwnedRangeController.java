@@ -0,0 +1,131 @@
+package org.folio.pv.controller;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import org.folio.pv.client.PwnedPasswordsUnavailableException;
+import org.folio.pv.client.PwnedRange;
+import org.folio.pv.client.PwnedRangeCache;
+import org.folio.pv.domain.dto.HashedPasswordUsage;
+
+/**
+ * Serves Pwned Passwords ranges from the module's caches in the format of the range API, so that other modules can
+ * use it as a k-anonymity proxy. The response is streamed, gzipped if the client accepts it, and padded with
+ * zero-count suffixes to 800 - 1000 entries if the client sends {@code Add-Padding: true}. The API is described in
+ * {@code swagger.api/pwned-range.yaml}; the controller is written by hand, as the generated interface can't stream.
+ */
+@Log4j2
+@RestController
+@RequestMapping(value = "/pwned/")
+public class PwnedRangeController {
+
+  static final String ADD_PADDING_HEADER = "Add-Padding";
+  static final int MIN_PADDED_SIZE = 800;
+  static final int MAX_PADDED_SIZE = 1000;
+
+  private static final Pattern HASH_PREFIX = Pattern.compile("[0-9A-Fa-f]{5}");
+  private static final String GZIP = "gzip";
+  private static final String LINE_SEPARATOR = "\r\n";
+
+  private final PwnedRangeCache rangeCache;
+
+  @Autowired
+  public PwnedRangeController(PwnedRangeCache rangeCache) {
+    this.rangeCache = rangeCache;
+  }
+
+  @GetMapping(path = "range/{hashPrefix}", produces = MediaType.TEXT_PLAIN_VALUE)
+  public ResponseEntity<StreamingResponseBody> getRange(@PathVariable String hashPrefix,
+      @RequestHeader(value = ADD_PADDING_HEADER, defaultValue = "false") boolean addPadding,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+    if (!HASH_PREFIX.matcher(hashPrefix).matches()) {
+      return plainText(HttpStatus.BAD_REQUEST, "The hash prefix was not in a valid format");
+    }
+
+    PwnedRange range;
+    try {
+      range = rangeCache.getRange(hashPrefix);
+    } catch (PwnedPasswordsUnavailableException e) {
+      log.warn("Pwned Passwords range {} is unavailable: {}", hashPrefix, e.getMessage());
+      return plainText(HttpStatus.SERVICE_UNAVAILABLE, "Pwned Passwords range is unavailable");
+    }
+
+    var usages = addPadding ? padded(range) : range.toUsages();
+    var gzip = StringUtils.containsIgnoreCase(acceptEncoding, GZIP);
+
+    var response = ResponseEntity.ok()
+        .contentType(MediaType.TEXT_PLAIN)
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+
+    return response.body(out -> {
+      var stream = gzip ? new GZIPOutputStream(out, 8192) : out;
+      var writer = new BufferedWriter(new OutputStreamWriter(stream, US_ASCII));
+      for (int i = 0; i < usages.size(); i++) {
+        if (i > 0) {
+          writer.write(LINE_SEPARATOR);
+        }
+        writer.write(usages.get(i).getSuffix());
+        writer.write(':');
+        writer.write(Integer.toString(usages.get(i).getUsageCount()));
+      }
+      writer.flush();
+      if (gzip) {
+        ((GZIPOutputStream) stream).finish();
+      }
+    });
+  }
+
+  /**
+   * Adds random suffixes with a zero count, like the range API does, so that the response size doesn't reveal
+   * the prefix.
+   */
+  static List<HashedPasswordUsage> padded(PwnedRange range) {
+    var random = ThreadLocalRandom.current();
+    var usages = range.toUsages();
+    var size = random.nextInt(MIN_PADDED_SIZE, MAX_PADDED_SIZE + 1);
+
+    var suffix = new char[PwnedRange.SUFFIX_LENGTH];
+    while (usages.size() < size) {
+      for (int i = 0; i < suffix.length; i++) {
+        suffix[i] = Character.toUpperCase(Character.forDigit(random.nextInt(16), 16));
+      }
+      var padding = new String(suffix);
+      if (range.usageCount(padding) == 0) {
+        usages.add(new HashedPasswordUsage(padding, 0));
+      }
+    }
+    usages.sort(Comparator.comparing(HashedPasswordUsage::getSuffix));
+    return usages;
+  }
+
+  private static ResponseEntity<StreamingResponseBody> plainText(HttpStatus status, String message) {
+    return ResponseEntity.status(status)
+        .contentType(MediaType.TEXT_PLAIN)
+        .body(out -> out.write(message.getBytes(US_ASCII)));
+  }
+
+}
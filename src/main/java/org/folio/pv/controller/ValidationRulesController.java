@@ -8,19 +8,25 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import org.folio.pv.domain.dto.Error;
+import org.folio.pv.domain.dto.Errors;
 import org.folio.pv.domain.dto.ValidationRule;
 import org.folio.pv.domain.dto.ValidationRuleCollection;
 import org.folio.pv.rest.resource.RulesApi;
 import org.folio.pv.service.ValidationRuleService;
+import org.folio.pv.service.validator.InvalidRuleException;
 
 @Log4j2
 @RestController
 @RequestMapping(value = "/tenant/")
 public class ValidationRulesController implements RulesApi {
 
+  private static final String INVALID_RULE_ERROR_TYPE = "-1";
+
   private final ValidationRuleService validationRuleService;
 
   @Autowired
@@ -52,4 +58,12 @@ public class ValidationRulesController implements RulesApi {
     var rule = validationRuleService.storeValidationRule(validationRule);
     return new ResponseEntity<>(rule, HttpStatus.OK);
   }
+
+  @ExceptionHandler(InvalidRuleException.class)
+  public ResponseEntity<Errors> handleInvalidRule(InvalidRuleException e) {
+    var errors = new Errors()
+        .addErrorsItem(new Error().message(e.getMessage()).type(INVALID_RULE_ERROR_TYPE))
+        .totalRecords(1);
+    return new ResponseEntity<>(errors, HttpStatus.UNPROCESSABLE_ENTITY);
+  }
 }
@@ -0,0 +1,199 @@
+package org.folio.pv.dictionary;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton finding dictionary words embedded in a text in a single pass over it.
+ *
+ * <p>The trie is stored in compact arrays: states are numbered in breadth-first order and the outgoing edges
+ * of state {@code s} are {@code labels[edgeOffsets[s] .. edgeOffsets[s + 1])} (sorted) with the target states
+ * at the same positions of {@code targets}. Lookup of an edge is a binary search within the state's labels.
+ * Instances are immutable and thread-safe.
+ */
+public final class AhoCorasickAutomaton {
+
+  private static final int ROOT = 0;
+  private static final int NO_STATE = -1;
+
+  private final int[] edgeOffsets;
+  private final char[] labels;
+  private final int[] targets;
+  private final int[] failure;
+  /**
+   * States at which some word ends, directly or through the failure chain.
+   */
+  private final BitSet terminal;
+  private final int wordCount;
+
+
+  private AhoCorasickAutomaton(int[] edgeOffsets, char[] labels, int[] targets, int[] failure, BitSet terminal,
+      int wordCount) {
+    this.edgeOffsets = edgeOffsets;
+    this.labels = labels;
+    this.targets = targets;
+    this.failure = failure;
+    this.terminal = terminal;
+    this.wordCount = wordCount;
+  }
+
+  /**
+   * Builds the automaton of the words. Empty words are ignored, the words are expected to be normalized already.
+   */
+  public static AhoCorasickAutomaton build(Collection<String> words) {
+    // temporary pointer-based trie, compacted below
+    List<TreeMap<Character, Integer>> children = new ArrayList<>();
+    List<Boolean> wordEnds = new ArrayList<>();
+    children.add(new TreeMap<>());
+    wordEnds.add(Boolean.FALSE);
+
+    var count = 0;
+    for (String word : words) {
+      if (word == null || word.isEmpty()) {
+        continue;
+      }
+
+      var state = ROOT;
+      for (int i = 0; i < word.length(); i++) {
+        var next = children.get(state).get(word.charAt(i));
+        if (next == null) {
+          next = children.size();
+          children.add(new TreeMap<>());
+          wordEnds.add(Boolean.FALSE);
+          children.get(state).put(word.charAt(i), next);
+        }
+        state = next;
+      }
+      if (!wordEnds.get(state)) {
+        wordEnds.set(state, Boolean.TRUE);
+        count++;
+      }
+    }
+
+    return compact(children, wordEnds, count);
+  }
+
+  private static AhoCorasickAutomaton compact(List<TreeMap<Character, Integer>> children, List<Boolean> wordEnds,
+      int wordCount) {
+    var stateCount = children.size();
+
+    // renumber states in breadth-first order, so that failure links can be computed in one pass
+    var order = new int[stateCount];
+    var newIds = new int[stateCount];
+    var queue = new ArrayDeque<Integer>();
+    queue.add(ROOT);
+    var position = 0;
+    while (!queue.isEmpty()) {
+      int state = queue.poll();
+      newIds[state] = position;
+      order[position++] = state;
+      queue.addAll(children.get(state).values());
+    }
+
+    var edgeOffsets = new int[stateCount + 1];
+    var edgeCount = 0;
+    for (int i = 0; i < stateCount; i++) {
+      edgeOffsets[i] = edgeCount;
+      edgeCount += children.get(order[i]).size();
+    }
+    edgeOffsets[stateCount] = edgeCount;
+
+    var labels = new char[edgeCount];
+    var targets = new int[edgeCount];
+    var terminal = new BitSet(stateCount);
+    for (int i = 0; i < stateCount; i++) {
+      var edge = edgeOffsets[i];
+      for (var entry : children.get(order[i]).entrySet()) {
+        labels[edge] = entry.getKey();
+        targets[edge] = newIds[entry.getValue()];
+        edge++;
+      }
+      if (wordEnds.get(order[i])) {
+        terminal.set(i);
+      }
+    }
+
+    var failure = new int[stateCount];
+    var automaton = new AhoCorasickAutomaton(edgeOffsets, labels, targets, failure, terminal, wordCount);
+    // states are in breadth-first order, the failure state is always computed before it is needed
+    for (int state = 0; state < stateCount; state++) {
+      for (int edge = edgeOffsets[state]; edge < edgeOffsets[state + 1]; edge++) {
+        var child = targets[edge];
+        if (state == ROOT) {
+          failure[child] = ROOT;
+        } else {
+          failure[child] = automaton.next(failure[state], labels[edge]);
+        }
+        if (terminal.get(failure[child])) {
+          terminal.set(child);
+        }
+      }
+    }
+
+    return automaton;
+  }
+
+  /**
+   * Returns {@code true} if any dictionary word is a substring of the text.
+   */
+  public boolean containsAny(CharSequence text) {
+    var state = ROOT;
+    for (int i = 0; i < text.length(); i++) {
+      state = next(state, text.charAt(i));
+      if (terminal.get(state)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int getWordCount() {
+    return wordCount;
+  }
+
+  public int getStateCount() {
+    return failure.length;
+  }
+
+  /**
+   * Approximate heap size of the automaton in bytes.
+   */
+  public long estimatedSizeInBytes() {
+    return 16L * 6
+        + 4L * edgeOffsets.length
+        + 2L * labels.length
+        + 4L * targets.length
+        + 4L * failure.length
+        + terminal.size() / 8;
+  }
+
+  private int next(int state, char c) {
+    while (true) {
+      var target = edge(state, c);
+      if (target != NO_STATE) {
+        return target;
+      }
+      if (state == ROOT) {
+        return ROOT;
+      }
+      state = failure[state];
+    }
+  }
+
+  private int edge(int state, char c) {
+    var from = edgeOffsets[state];
+    var to = edgeOffsets[state + 1];
+    if (from == to) {
+      return NO_STATE;
+    }
+
+    var index = Arrays.binarySearch(labels, from, to, c);
+    return index >= 0 ? targets[index] : NO_STATE;
+  }
+
+}
@@ -0,0 +1,21 @@
+package org.folio.pv.dictionary;
+
+import java.time.Duration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "dictionaries")
+public class DictionaryProperties {
+
+  /**
+   * Directory with word list files shared by all tenants, {@code <dictionary name>.txt} with one word per line.
+   */
+  private String directory;
+  /**
+   * How long a built dictionary is used before the word lists are read again.
+   */
+  private Duration refreshInterval = Duration.ofMinutes(10);
+
+}
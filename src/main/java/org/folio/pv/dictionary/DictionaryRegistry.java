@@ -0,0 +1,185 @@
+package org.folio.pv.dictionary;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.concurrent.ValidationExecutors;
+import org.folio.pv.repository.DictionaryWordRepository;
+import org.folio.spring.FolioExecutionContext;
+
+/**
+ * Builds and caches the automata of dictionaries. The words of a dictionary are the lines of
+ * {@code <directory>/<name>.txt}, shared by all tenants, plus the tenant's rows of the dictionary_words table.
+ * Words are lower-cased, and for leetspeak matching normalized with {@link Leetspeak}.
+ * <p>
+ * A dictionary is built on its first use; after the refresh interval it is rebuilt in the background, in the context
+ * of the tenant whose validation found it stale, while the built one is still served. If the rebuild fails, the built
+ * dictionary is kept until the next refresh interval.
+ */
+@Component
+@Log4j2
+public class DictionaryRegistry {
+
+  private static final String METRIC_NAME = "pv.dictionary.memory";
+
+  private final DictionaryProperties properties;
+  private final DictionaryWordRepository wordRepository;
+  private final FolioExecutionContext folioExecutionContext;
+  private final MeterRegistry meterRegistry;
+  private final Executor refresher;
+
+  private final LoadingCache<Key, AhoCorasickAutomaton> dictionaries;
+  private final Map<Key, AtomicLong> sizes = new ConcurrentHashMap<>();
+
+
+  @Autowired
+  public DictionaryRegistry(DictionaryProperties properties, DictionaryWordRepository wordRepository,
+      FolioExecutionContext folioExecutionContext, ValidationExecutors validationExecutors,
+      MeterRegistry meterRegistry) {
+    this(properties, wordRepository, folioExecutionContext, meterRegistry,
+        validationExecutors.newExecutor("dictionary-refresh", 1, new LinkedBlockingQueue<>()), System::nanoTime);
+  }
+
+  DictionaryRegistry(DictionaryProperties properties, DictionaryWordRepository wordRepository,
+      FolioExecutionContext folioExecutionContext, MeterRegistry meterRegistry, Executor refresher,
+      LongSupplier nanoClock) {
+    this.properties = properties;
+    this.wordRepository = wordRepository;
+    this.folioExecutionContext = folioExecutionContext;
+    this.meterRegistry = meterRegistry;
+    this.refresher = refresher;
+    this.dictionaries = Caffeine.newBuilder()
+        .refreshAfterWrite(properties.getRefreshInterval())
+        .executor(refresher)
+        .ticker(nanoClock::getAsLong)
+        .build(new CacheLoader<>() {
+          @Override
+          public AhoCorasickAutomaton load(Key key) {
+            return build(key);
+          }
+
+          @Override
+          public AhoCorasickAutomaton reload(Key key, AhoCorasickAutomaton built) {
+            return rebuild(key, built);
+          }
+        });
+  }
+
+  @PreDestroy
+  void shutdown() {
+    if (refresher instanceof ExecutorService) {
+      ((ExecutorService) refresher).shutdownNow();
+    }
+  }
+
+  /**
+   * Returns the automaton of the dictionary for the current tenant.
+   */
+  public AhoCorasickAutomaton getDictionary(String name, boolean leetspeak) {
+    return dictionaries.get(new Key(folioExecutionContext.getTenantId(), name, leetspeak));
+  }
+
+  private AhoCorasickAutomaton rebuild(Key key, AhoCorasickAutomaton built) {
+    try {
+      return build(key);
+    } catch (RuntimeException e) {
+      // serving the built dictionary restarts its refresh interval
+      log.warn("Failed to rebuild dictionary [{}] for tenant [{}], keeping the built one: {}", key.getName(),
+          key.getTenant(), e.getMessage());
+      return built;
+    }
+  }
+
+  private AhoCorasickAutomaton build(Key key) {
+    var words = new ArrayList<String>(fileWords(key.getName()));
+    words.addAll(wordRepository.findWordsByDictionary(key.getName()));
+
+    var normalized = words.stream()
+        .map(String::trim)
+        .filter(StringUtils::isNotEmpty)
+        .map(word -> normalize(word, key.isLeetspeak()))
+        .collect(Collectors.toSet());
+
+    var automaton = AhoCorasickAutomaton.build(normalized);
+    sizes.computeIfAbsent(key, this::registerGauge).set(automaton.estimatedSizeInBytes());
+    log.info("Dictionary [{}] built for tenant [{}]: words = {}, states = {}, size = {} bytes", key.getName(),
+        key.getTenant(), automaton.getWordCount(), automaton.getStateCount(), automaton.estimatedSizeInBytes());
+    return automaton;
+  }
+
+  public static String normalize(String text, boolean leetspeak) {
+    var lowerCase = text.toLowerCase(Locale.ROOT);
+    return leetspeak ? Leetspeak.normalize(lowerCase) : lowerCase;
+  }
+
+  private Collection<String> fileWords(String name) {
+    if (StringUtils.isBlank(properties.getDirectory()) || !isPlainName(name)) {
+      return List.of();
+    }
+
+    Path file = Paths.get(properties.getDirectory(), name + ".txt");
+    if (!Files.isRegularFile(file)) {
+      return List.of();
+    }
+
+    try {
+      return Files.readAllLines(file, UTF_8);
+    } catch (IOException e) {
+      log.error("Failed to read dictionary file: {}", file, e);
+      return List.of();
+    }
+  }
+
+  private static boolean isPlainName(String name) {
+    // the name comes from a rule, it must not point outside of the dictionary directory
+    return StringUtils.isNotBlank(name) && name.matches("[\\w.-]+") && !name.contains("..");
+  }
+
+  private AtomicLong registerGauge(Key key) {
+    var size = new AtomicLong();
+    Gauge.builder(METRIC_NAME, size, AtomicLong::get)
+        .description("Approximate memory used by a dictionary")
+        .baseUnit("bytes")
+        .tags("dictionary", key.getName(), "tenant", String.valueOf(key.getTenant()), "leetspeak",
+            String.valueOf(key.isLeetspeak()))
+        .register(meterRegistry);
+    return size;
+  }
+
+  @Value
+  private static class Key {
+
+    String tenant;
+    String name;
+    boolean leetspeak;
+  }
+
+}
@@ -0,0 +1,50 @@
+package org.folio.pv.dictionary;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Maps characters to a canonical form so that common character substitutions, e.g. "p@$$w0rd", match
+ * the dictionary word they stand for. Applied to both the dictionary words and the password.
+ * Ambiguous substitutions are folded together: "1", "!", "|" and "l" all become "i".
+ */
+@UtilityClass
+public class Leetspeak {
+
+  public static char normalize(char c) {
+    switch (c) {
+      case '0':
+        return 'o';
+      case '1':
+      case '!':
+      case '|':
+      case 'l':
+        return 'i';
+      case '3':
+        return 'e';
+      case '4':
+      case '@':
+        return 'a';
+      case '5':
+      case '$':
+        return 's';
+      case '7':
+      case '+':
+        return 't';
+      case '8':
+        return 'b';
+      case '9':
+        return 'g';
+      default:
+        return c;
+    }
+  }
+
+  public static String normalize(CharSequence text) {
+    var result = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      result.append(normalize(text.charAt(i)));
+    }
+    return result.toString();
+  }
+
+}
@@ -3,7 +3,12 @@ package org.folio.pv.domain;
 public enum RuleType {
   REGEXP("RegExp"),
   PROGRAMMATIC("Programmatic"),
-  PWNEDPASSWORD("PwnedPassword");
+  PWNEDPASSWORD("PwnedPassword"),
+  PLUGIN("Plugin"),
+  EXPRESSION("Expression"),
+  DICTIONARY("Dictionary"),
+  USERNAMESIMILARITY("UsernameSimilarity"),
+  STRENGTH("Strength");
 
   private final String value;
 
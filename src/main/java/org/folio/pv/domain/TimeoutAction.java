@@ -0,0 +1,31 @@
+package org.folio.pv.domain;
+
+public enum TimeoutAction {
+  SKIP("Skip"),
+  REJECT("Reject"),
+  FAIL("Fail");
+
+  private final String value;
+
+  TimeoutAction(String value) {
+    this.value = value;
+  }
+
+  public String getValue() {
+    return value;
+  }
+
+  @Override
+  public String toString() {
+    return String.valueOf(value);
+  }
+
+  public static TimeoutAction fromValue(String value) {
+    for (TimeoutAction ta : TimeoutAction.values()) {
+      if (ta.value.equals(value)) {
+        return ta;
+      }
+    }
+    throw new IllegalArgumentException("Unexpected value '" + value + "'");
+  }
+}
@@ -0,0 +1,22 @@
+package org.folio.pv.domain.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of a batched call to a Programmatic rule implementation: the password is validated once
+ * against all listed rules.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchValidationRequest {
+
+  private String password;
+  private String userId;
+  private List<String> ruleIds;
+
+}
@@ -0,0 +1,24 @@
+package org.folio.pv.domain.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BatchValidationResponse {
+
+  private List<RuleResult> results = new ArrayList<>();
+
+  @Data
+  @JsonIgnoreProperties(ignoreUnknown = true)
+  public static class RuleResult {
+
+    private String ruleId;
+    private String result;
+    private List<String> messages = new ArrayList<>();
+  }
+
+}
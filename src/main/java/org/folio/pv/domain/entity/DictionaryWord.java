@@ -0,0 +1,26 @@
+package org.folio.pv.domain.entity;
+
+import java.util.UUID;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.Data;
+
+@Data
+@Table(name = "DICTIONARY_WORDS")
+@Entity
+public class DictionaryWord {
+
+  @Id
+  @GeneratedValue
+  private UUID id;
+
+  @Column(name = "dictionary")
+  private String dictionary;
+
+  @Column(name = "word")
+  private String word;
+
+}
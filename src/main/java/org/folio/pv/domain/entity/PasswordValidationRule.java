@@ -53,6 +53,19 @@ public class PasswordValidationRule {
   @Column(name = "err_message_id")
   private String errMessageId;
 
+  @Column(name = "timeout_ms")
+  private Integer timeout;
+
+  @Column(name = "max_retries")
+  private Integer maxRetries;
+
+  @Column(name = "hedge_delay_ms")
+  private Integer hedgeDelay;
+
+  @Column(name = "on_timeout")
+  @Type(type = "org.folio.spring.domain.PostgreEnumTypeSql")
+  private String onTimeout;
+
   @Column(name = "created_date")
   private Timestamp createdDate;
 
@@ -82,6 +95,10 @@ public class PasswordValidationRule {
     this.setModuleName(another.getModuleName());
     this.setDescription(another.getDescription());
     this.setErrMessageId(another.getErrMessageId());
+    this.setTimeout(another.getTimeout());
+    this.setMaxRetries(another.getMaxRetries());
+    this.setHedgeDelay(another.getHedgeDelay());
+    this.setOnTimeout(another.getOnTimeout());
     this.setUpdatedByUserId(another.getUpdatedByUserId());
     this.setUpdatedByUsername(another.getUpdatedByUsername());
     var ud = another.getUpdatedDate();
@@ -0,0 +1,44 @@
+package org.folio.pv.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Lookup in a cache, a miss lasting until the value is loaded.
+ */
+@Name(JfrEvents.PREFIX + "CacheAccess")
+@Label("Cache Access")
+@Description("Lookup in a cache of the password validator")
+@Category({JfrEvents.CATEGORY, JfrEvents.MODULE})
+@StackTrace(false)
+public class CacheAccessEvent extends Event {
+
+  @Label("Cache")
+  private String cache;
+  @Label("Outcome")
+  @Description("hit, miss or stale")
+  private String outcome;
+
+
+  public static CacheAccessEvent begin(String cache) {
+    var event = new CacheAccessEvent();
+    if (event.isEnabled()) {
+      event.cache = cache;
+    }
+    event.begin();
+    return event;
+  }
+
+  public void complete(String outcome) {
+    end();
+    if (shouldCommit()) {
+      this.outcome = outcome;
+      commit();
+    }
+  }
+
+}
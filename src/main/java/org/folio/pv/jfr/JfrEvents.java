@@ -0,0 +1,34 @@
+package org.folio.pv.jfr;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+
+import jdk.jfr.Event;
+import lombok.experimental.UtilityClass;
+
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+
+/**
+ * Java Flight Recorder events of the module. An event costs next to nothing unless a recording enabling it is
+ * running.
+ */
+@UtilityClass
+public class JfrEvents {
+
+  static final String PREFIX = "org.folio.pv.";
+  static final String CATEGORY = "FOLIO";
+  static final String MODULE = "Password Validator";
+
+  public static final List<Class<? extends Event>> EVENTS =
+      List.of(RuleEvaluationEvent.class, OutboundCallEvent.class, CacheAccessEvent.class);
+
+  static String failureOutcome(Throwable exc) {
+    var cause = LatencyPolicyExecutor.unwrap(exc);
+    if (cause instanceof CancellationException) {
+      return "cancelled";
+    }
+    return cause instanceof TimeoutException ? "timeout" : "failed";
+  }
+
+}
@@ -0,0 +1,145 @@
+package org.folio.pv.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import javax.annotation.PreDestroy;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.config.JfrRecordingProperties;
+
+/**
+ * Runs one bounded Java Flight Recorder recording at a time on demand, with the module's events and the JVM events
+ * of the configured settings. The recording stops by itself after its duration; it is kept until the next one is
+ * started, so that it can be downloaded.
+ */
+@Log4j2
+@Component
+public class JfrRecorder {
+
+  static final String RECORDING_NAME = "mod-password-validator";
+  /**
+   * JVM events of the settings that would put secrets in the recording: environment variables such as DB_PASSWORD,
+   * system properties and the JVM arguments they may have been passed with.
+   */
+  static final List<String> SECRET_EVENTS = List.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+      "jdk.JVMInformation");
+
+  private final JfrRecordingProperties properties;
+  private Recording recording;
+
+
+  public JfrRecorder(JfrRecordingProperties properties) {
+    this.properties = properties;
+  }
+
+  /**
+   * Starts a recording, the default duration if none is given, at most the maximum one.
+   *
+   * @throws IllegalStateException if a recording is running
+   */
+  public synchronized RecordingStatus start(Duration duration) throws IOException, ParseException {
+    if (isRunning()) {
+      throw new IllegalStateException("A recording is already running");
+    }
+    close();
+
+    var maxDuration = properties.getMaxDuration();
+    var bounded = duration == null || duration.isNegative() || duration.isZero()
+        ? properties.getDefaultDuration()
+        : duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+
+    var newRecording = new Recording(Configuration.getConfiguration(properties.getSettings()));
+    newRecording.setName(RECORDING_NAME);
+    JfrEvents.EVENTS.forEach(event -> newRecording.enable(event).withoutThreshold());
+    SECRET_EVENTS.forEach(newRecording::disable);
+    newRecording.setToDisk(true);
+    newRecording.setMaxSize(properties.getMaxSize().toBytes());
+    newRecording.setDuration(bounded);
+    newRecording.start();
+    recording = newRecording;
+
+    log.info("Started JFR recording for {}", bounded);
+    return status();
+  }
+
+  /**
+   * Stops the running recording, keeping its data.
+   */
+  public synchronized RecordingStatus stop() {
+    if (isRunning()) {
+      recording.stop();
+      log.info("Stopped JFR recording");
+    }
+    return status();
+  }
+
+  public synchronized RecordingStatus status() {
+    if (recording == null) {
+      return new RecordingStatus(RecordingState.NEW.name(), null, null, 0);
+    }
+    return new RecordingStatus(recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+        recording.getSize());
+  }
+
+  /**
+   * Writes the data recorded so far to a new temporary file, one per call, so that a dump that is still being
+   * downloaded isn't replaced by the next one. The caller owns the file and has to delete it.
+   *
+   * @throws IllegalStateException if no recording has been started
+   */
+  public synchronized Path dump() throws IOException {
+    if (recording == null || recording.getState() == RecordingState.NEW) {
+      throw new IllegalStateException("No recording has been started");
+    }
+    var dump = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+    try {
+      recording.dump(dump);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(dump);
+      throw e;
+    }
+    return dump;
+  }
+
+  /**
+   * Closes the recording; dumps are left to their callers, which may still be streaming them.
+   */
+  @PreDestroy
+  synchronized void close() {
+    if (recording != null) {
+      recording.close();
+      recording = null;
+    }
+  }
+
+  private boolean isRunning() {
+    return recording != null && recording.getState() == RecordingState.RUNNING;
+  }
+
+  @Value
+  public static class RecordingStatus {
+
+    /**
+     * NEW if no recording has been started, otherwise RUNNING, STOPPED or CLOSED.
+     */
+    String state;
+    Instant startTime;
+    Duration duration;
+    /**
+     * Bytes recorded so far.
+     */
+    long size;
+  }
+
+}
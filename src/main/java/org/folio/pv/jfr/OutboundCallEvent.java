@@ -0,0 +1,70 @@
+package org.folio.pv.jfr;
+
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Call to a dependency: mod-users, the Pwned Passwords API or the implementation of Programmatic rules, including
+ * its retries.
+ */
+@Name(JfrEvents.PREFIX + "OutboundCall")
+@Label("Outbound Call")
+@Description("Call to a service the validation depends on")
+@Category({JfrEvents.CATEGORY, JfrEvents.MODULE})
+@StackTrace(false)
+public class OutboundCallEvent extends Event {
+
+  @Label("Dependency")
+  @Description("users, pwned or programmatic:<module>")
+  private String dependency;
+  @Label("Method")
+  private String method;
+  @Label("Outcome")
+  @Description("success, failed, timeout or cancelled")
+  private String outcome;
+
+
+  public static OutboundCallEvent begin(String dependency, String method) {
+    var event = new OutboundCallEvent();
+    if (event.isEnabled()) {
+      event.dependency = dependency;
+      event.method = method;
+    }
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Makes the call, recording it.
+   */
+  public static <T> T record(String dependency, String method, Supplier<T> call) {
+    var event = begin(dependency, method);
+    T result;
+    try {
+      result = call.get();
+    } catch (RuntimeException e) {
+      event.complete(e);
+      throw e;
+    }
+    event.complete(null);
+    return result;
+  }
+
+  /**
+   * Commits the event, failed with the given exception unless it is null.
+   */
+  public void complete(Throwable exc) {
+    end();
+    if (shouldCommit()) {
+      outcome = exc == null ? "success" : JfrEvents.failureOutcome(exc);
+      commit();
+    }
+  }
+
+}
@@ -0,0 +1,75 @@
+package org.folio.pv.jfr;
+
+import java.util.function.Supplier;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+
+/**
+ * Evaluation of a rule, from the start of its validation until its result is known; remote rules are evaluated in
+ * parallel, so their events overlap.
+ */
+@Name(JfrEvents.PREFIX + "RuleEvaluation")
+@Label("Rule Evaluation")
+@Description("Evaluation of a password validation rule")
+@Category({JfrEvents.CATEGORY, JfrEvents.MODULE})
+@StackTrace(false)
+public class RuleEvaluationEvent extends Event {
+
+  @Label("Rule Id")
+  private String ruleId;
+  @Label("Rule Type")
+  private String ruleType;
+  @Label("Validation Type")
+  private String validationType;
+  @Label("Outcome")
+  @Description("valid, invalid, timeout, failed or cancelled")
+  private String outcome;
+
+
+  public static RuleEvaluationEvent begin(PasswordValidationRule rule) {
+    var event = new RuleEvaluationEvent();
+    if (event.isEnabled()) {
+      event.ruleId = String.valueOf(rule.getId());
+      event.ruleType = rule.getRuleType();
+      event.validationType = rule.getValidationType();
+    }
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Validates the password against the rule, recording the evaluation.
+   */
+  public static ValidationErrors record(PasswordValidationRule rule, Supplier<ValidationErrors> validation) {
+    var event = begin(rule);
+    ValidationErrors errors;
+    try {
+      errors = validation.get();
+    } catch (RuntimeException e) {
+      event.complete(null, e);
+      throw e;
+    }
+    event.complete(errors, null);
+    return errors;
+  }
+
+  /**
+   * Commits the event with the result of the rule or the failure of its validation.
+   */
+  public void complete(ValidationErrors errors, Throwable exc) {
+    end();
+    if (shouldCommit()) {
+      outcome = exc != null ? JfrEvents.failureOutcome(exc) : errors.hasErrors() ? "invalid" : "valid";
+      commit();
+    }
+  }
+
+}
@@ -28,6 +28,10 @@ public interface ValidationRuleMapper {
   @Mapping(target = "description", source = "description")
   @Mapping(target = "orderNo", source = "orderNo")
   @Mapping(target = "errMessageId", source = "errMessageId")
+  @Mapping(target = "timeout", source = "timeout")
+  @Mapping(target = "maxRetries", source = "maxRetries")
+  @Mapping(target = "hedgeDelay", source = "hedgeDelay")
+  @Mapping(target = "onTimeout", expression = "java(passwordValidationRule.getOnTimeout() == null ? null : ValidationRule.OnTimeoutEnum.fromValue(passwordValidationRule.getOnTimeout()))")
   @Mapping(target = "metadata.createdDate", source = "createdDate")
   @Mapping(target = "metadata.updatedDate", source = "updatedDate")
   @Mapping(target = "metadata.createdByUserId", expression = "java(passwordValidationRule.getCreatedByUserId() == null ? null : String.valueOf(passwordValidationRule.getCreatedByUserId()))")
@@ -41,6 +45,7 @@ public interface ValidationRuleMapper {
   @Mapping(target = "ruleType", expression = "java(validationRule.getType() == null ? null : validationRule.getType().toString())")
   @Mapping(target = "ruleState", expression = "java(validationRule.getState() == null ? null : validationRule.getState().toString())")
   @Mapping(target = "validationType", expression = "java(validationRule.getValidationType() == null ? null : validationRule.getValidationType().toString())")
+  @Mapping(target = "onTimeout", expression = "java(validationRule.getOnTimeout() == null ? null : validationRule.getOnTimeout().toString())")
   @Mapping(target = "createdByUserId", expression = "java(validationRule.getMetadata() == null ? null : stringToUUIDSafe(validationRule.getMetadata().getCreatedByUserId()))")
   @Mapping(target = "updatedByUserId", expression = "java(validationRule.getMetadata() == null ? null : stringToUUIDSafe(validationRule.getMetadata().getUpdatedByUserId()))")
   @InheritInverseConfiguration
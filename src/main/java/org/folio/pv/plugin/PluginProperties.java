@@ -0,0 +1,15 @@
+package org.folio.pv.plugin;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "validator-plugins")
+public class PluginProperties {
+
+  /**
+   * Directory with plugin jars. Plugins on the module's own class path are loaded as well.
+   */
+  private String directory;
+
+}
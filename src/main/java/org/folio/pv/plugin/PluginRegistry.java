@@ -0,0 +1,154 @@
+package org.folio.pv.plugin;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads {@link ValidatorPlugin}s once at startup: from the module's class path and from every jar of the
+ * configured plugin directory, each jar with a class loader of its own.
+ */
+@Component
+@RequiredArgsConstructor
+@Log4j2
+public class PluginRegistry {
+
+  private final PluginProperties properties;
+  private final MeterRegistry meterRegistry;
+
+  private final Map<String, ValidatorPlugin> plugins = new ConcurrentHashMap<>();
+  private final List<URLClassLoader> classLoaders = new ArrayList<>();
+
+
+  @PostConstruct
+  void loadPlugins() {
+    register(ServiceLoader.load(ValidatorPlugin.class, getClass().getClassLoader()), "class path", null);
+
+    if (StringUtils.isNotBlank(properties.getDirectory())) {
+      pluginJars(Paths.get(properties.getDirectory())).forEach(this::loadJar);
+    }
+
+    Gauge.builder("pv.plugins.loaded", plugins, Map::size)
+        .description("Number of loaded validator plugins")
+        .register(meterRegistry);
+    log.info("Validator plugins loaded: {}", plugins.keySet());
+  }
+
+  public Optional<ValidatorPlugin> getPlugin(String id) {
+    return Optional.ofNullable(id).map(plugins::get);
+  }
+
+  public Map<String, ValidatorPlugin> getPlugins() {
+    return Collections.unmodifiableMap(plugins);
+  }
+
+  @PreDestroy
+  void closeClassLoaders() {
+    for (URLClassLoader classLoader : classLoaders) {
+      try {
+        classLoader.close();
+      } catch (IOException e) {
+        log.warn("Failed to close plugin class loader: {}", e.getMessage());
+      }
+    }
+  }
+
+  private void loadJar(Path jar) {
+    URL url;
+    try {
+      url = jar.toUri().toURL();
+    } catch (MalformedURLException e) {
+      log.error("Invalid plugin jar path: {}", jar, e);
+      return;
+    }
+
+    var classLoader = new URLClassLoader(new URL[] {url}, getClass().getClassLoader());
+    if (register(ServiceLoader.load(ValidatorPlugin.class, classLoader), jar.toString(), classLoader) > 0) {
+      classLoaders.add(classLoader);
+    } else {
+      closeQuietly(classLoader);
+    }
+  }
+
+  /**
+   * Registers the plugins found by the loader. If {@code owner} is given, only its own plugins are registered,
+   * not the ones it sees through the parent class loader.
+   */
+  private int register(ServiceLoader<ValidatorPlugin> loader, String source, ClassLoader owner) {
+    var count = 0;
+
+    try {
+      for (var provider : loader.stream().collect(Collectors.toList())) {
+        if (owner != null && provider.type().getClassLoader() != owner) {
+          continue;
+        }
+
+        var plugin = provider.get();
+        if (StringUtils.isBlank(plugin.getId())) {
+          log.error("Validator plugin {} from {} is ignored, it has no id", plugin.getClass().getName(), source);
+          continue;
+        }
+
+        var existing = plugins.putIfAbsent(plugin.getId(), plugin);
+        if (existing != null) {
+          log.warn("Validator plugin [{}] from {} is ignored, the id is already taken by {}", plugin.getId(), source,
+              existing.getClass().getName());
+        } else {
+          log.info("Validator plugin [{}] loaded from {}: {}", plugin.getId(), source, plugin.getClass().getName());
+          count++;
+        }
+      }
+    } catch (ServiceConfigurationError e) {
+      log.error("Failed to load validator plugins from {}", source, e);
+    }
+    return count;
+  }
+
+  private static List<Path> pluginJars(Path directory) {
+    if (!Files.isDirectory(directory)) {
+      log.warn("Validator plugin directory doesn't exist: {}", directory);
+      return Collections.emptyList();
+    }
+
+    try (var files = Files.list(directory)) {
+      return files
+          .filter(file -> file.getFileName().toString().endsWith(".jar"))
+          .sorted()
+          .collect(Collectors.toList());
+    } catch (IOException e) {
+      log.error("Failed to list validator plugin directory: {}", directory, e);
+      return Collections.emptyList();
+    }
+  }
+
+  private static void closeQuietly(URLClassLoader classLoader) {
+    try {
+      classLoader.close();
+    } catch (IOException e) {
+      log.debug("Failed to close plugin class loader: {}", e.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,17 @@
+package org.folio.pv.plugin;
+
+import org.folio.pv.service.validator.Validator;
+
+/**
+ * Validator running in-process, referenced by Plugin rules through {@link #getId()}.
+ *
+ * <p>Implementations are discovered with {@link java.util.ServiceLoader}: a plugin jar lists them in
+ * {@code META-INF/services/org.folio.pv.plugin.ValidatorPlugin}. Each jar of the plugin directory is loaded by
+ * its own class loader and a single instance of each plugin is shared by all tenants, so implementations
+ * have to be thread-safe.
+ */
+public interface ValidatorPlugin extends Validator {
+
+  String getId();
+
+}
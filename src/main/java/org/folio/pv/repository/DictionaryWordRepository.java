@@ -0,0 +1,15 @@
+package org.folio.pv.repository;
+
+import java.util.List;
+import java.util.UUID;
+import org.folio.pv.domain.entity.DictionaryWord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DictionaryWordRepository extends JpaRepository<DictionaryWord, UUID> {
+
+  @Query("select w.word from DictionaryWord w where w.dictionary = ?1")
+  List<String> findWordsByDictionary(String dictionary);
+}
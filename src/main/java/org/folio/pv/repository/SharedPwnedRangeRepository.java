@@ -0,0 +1,129 @@
+package org.folio.pv.repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import lombok.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import org.folio.pv.client.PwnedClientProperties;
+
+/**
+ * Pwned Passwords ranges shared by all pods and tenants. The table lives in a module-level schema rather than
+ * in the tenant schemas, so it is created here instead of by the tenant changelog and every statement uses the
+ * qualified table name. It is created by the background refresher of the cache rather than at startup, so that an
+ * unavailable database doesn't fail the startup.
+ */
+@Repository
+public class SharedPwnedRangeRepository {
+
+  private static final Pattern SCHEMA_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String schema;
+  private final String table;
+
+
+  public SharedPwnedRangeRepository(JdbcTemplate jdbcTemplate, PwnedClientProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.schema = properties.getCache().getShared().getSchema();
+    if (!SCHEMA_NAME.matcher(schema).matches()) {
+      throw new IllegalArgumentException("Invalid shared Pwned Passwords cache schema: " + schema);
+    }
+    this.table = schema + ".pwned_ranges";
+  }
+
+  public void createTable() {
+    jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " ("
+        + "prefix varchar(5) PRIMARY KEY, "
+        + "data bytea NOT NULL, "
+        + "fetched_at timestamp NOT NULL, "
+        + "read_at timestamp NOT NULL, "
+        + "lease_until timestamp, "
+        + "etag varchar(256), "
+        + "last_modified varchar(64))");
+    // tables created before the validators were stored
+    jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS etag varchar(256), "
+        + "ADD COLUMN IF NOT EXISTS last_modified varchar(64)");
+  }
+
+  public Optional<StoredRange> find(String prefix) {
+    var rows = jdbcTemplate.query("SELECT data, fetched_at, etag, last_modified FROM " + table + " WHERE prefix = ?",
+        (rs, rowNum) -> new StoredRange(rs.getBytes("data"), rs.getTimestamp("fetched_at").toInstant(),
+            rs.getString("etag"), rs.getString("last_modified")),
+        prefix);
+    return rows.stream().findFirst();
+  }
+
+  /**
+   * Marks the stored ranges of the prefixes as read at {@code now}.
+   */
+  public int markRead(Collection<String> prefixes, Instant now) {
+    return jdbcTemplate.update(connection -> {
+      var statement = connection.prepareStatement("UPDATE " + table + " SET read_at = ? WHERE prefix = ANY (?)");
+      statement.setTimestamp(1, Timestamp.from(now));
+      statement.setArray(2, connection.createArrayOf("varchar", prefixes.toArray()));
+      return statement;
+    });
+  }
+
+  public void save(String prefix, byte[] data, Instant fetchedAt, String etag, String lastModified) {
+    jdbcTemplate.update("INSERT INTO " + table + " (prefix, data, fetched_at, read_at, etag, last_modified) "
+            + "VALUES (?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (prefix) DO UPDATE SET data = excluded.data, fetched_at = excluded.fetched_at, "
+            + "etag = excluded.etag, last_modified = excluded.last_modified, lease_until = NULL",
+        prefix, data, Timestamp.from(fetchedAt), Timestamp.from(fetchedAt), etag, lastModified);
+  }
+
+  /**
+   * Marks the stored range as fetched at {@code fetchedAt} without replacing its data, after the API responded
+   * that it hasn't changed.
+   */
+  public void touch(String prefix, Instant fetchedAt) {
+    jdbcTemplate.update("UPDATE " + table + " SET fetched_at = ?, lease_until = NULL WHERE prefix = ?",
+        Timestamp.from(fetchedAt), prefix);
+  }
+
+  /**
+   * Claims up to {@code limit} ranges fetched before {@code fetchedBefore} and read since {@code readSince} for
+   * refreshing until {@code leaseUntil}; rows claimed by another pod are skipped.
+   */
+  public List<ClaimedRange> claimStale(Instant fetchedBefore, Instant readSince, Instant now, Instant leaseUntil,
+      int limit) {
+    return jdbcTemplate.query("UPDATE " + table + " SET lease_until = ? WHERE prefix IN ("
+            + "SELECT prefix FROM " + table + " WHERE fetched_at < ? AND read_at >= ? "
+            + "AND (lease_until IS NULL OR lease_until < ?) ORDER BY fetched_at LIMIT ? FOR UPDATE SKIP LOCKED) "
+            + "RETURNING prefix, etag, last_modified",
+        (rs, rowNum) -> new ClaimedRange(rs.getString("prefix"), rs.getString("etag"), rs.getString("last_modified")),
+        Timestamp.from(leaseUntil), Timestamp.from(fetchedBefore), Timestamp.from(readSince),
+        Timestamp.from(now), limit);
+  }
+
+  public int deleteNotReadSince(Instant readSince) {
+    return jdbcTemplate.update("DELETE FROM " + table + " WHERE read_at < ?", Timestamp.from(readSince));
+  }
+
+  @Value
+  public static class StoredRange {
+
+    byte[] data;
+    Instant fetchedAt;
+    String etag;
+    String lastModified;
+  }
+
+  @Value
+  public static class ClaimedRange {
+
+    String prefix;
+    String etag;
+    String lastModified;
+  }
+
+}
@@ -0,0 +1,207 @@
+package org.folio.pv.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the calls in flight to a dependency, adjusting the limit to the dependency's latency (AIMD): the limit grows
+ * by one for each successful call made while at least half of it is used, and is multiplied by the backoff ratio for
+ * each dropped call (an error or timeout) and each call whose round trip time exceeds the tolerated multiple of the
+ * recent baseline, the 10th percentile of successful calls. Calls over the limit are shed, after waiting up to the
+ * maximum wait for blocking callers. Waiting callers park on a {@link ReentrantLock} condition rather than a monitor,
+ * so that virtual threads waiting for a permit don't pin their carrier.
+ */
+public class AdaptiveLimiter {
+
+  public enum Outcome {
+    SUCCESS, DROPPED, IGNORED, REJECTED
+  }
+
+  private static final int MIN_SAMPLES_FOR_BASELINE = 20;
+  private static final double BASELINE_PERCENTILE = 0.1;
+
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double backoffRatio;
+  private final double rttTolerance;
+  private final Duration maxWait;
+  private final LatencyWindow rtts;
+  private final LongSupplier nanoClock;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+
+  private double limit;
+  private int inFlight;
+  private final long[] outcomes = new long[Outcome.values().length];
+
+
+  public AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+      double rttTolerance, Duration maxWait) {
+    this(name, initialLimit, minLimit, maxLimit, backoffRatio, rttTolerance, maxWait, System::nanoTime);
+  }
+
+  AdaptiveLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+      double rttTolerance, Duration maxWait, LongSupplier nanoClock) {
+    if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+      throw new IllegalArgumentException("Invalid limits of " + name + ": " + minLimit + " <= " + initialLimit
+          + " <= " + maxLimit);
+    }
+    if (backoffRatio <= 0 || backoffRatio >= 1) {
+      throw new IllegalArgumentException("Backoff ratio must be between 0 and 1: " + backoffRatio);
+    }
+    this.name = name;
+    this.limit = initialLimit;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+    this.rttTolerance = rttTolerance;
+    this.maxWait = maxWait;
+    this.rtts = new LatencyWindow(100);
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Returns a permit if the limit allows another call, {@code null} otherwise.
+   */
+  public Permit tryAcquire() {
+    lock.lock();
+    try {
+      if (inFlight >= (int) limit) {
+        outcomes[Outcome.REJECTED.ordinal()]++;
+        return null;
+      }
+      inFlight++;
+    } finally {
+      lock.unlock();
+    }
+    return new Permit(nanoClock.getAsLong());
+  }
+
+  /**
+   * Returns a permit, waiting up to the maximum wait for a call to complete if the limit is reached.
+   *
+   * @throws LimitExceededException if no call completed in time
+   */
+  public Permit acquire() {
+    lock.lock();
+    try {
+      var remaining = maxWait.toNanos();
+      while (inFlight >= (int) limit) {
+        if (remaining <= 0) {
+          outcomes[Outcome.REJECTED.ordinal()]++;
+          throw new LimitExceededException("Concurrency limit of " + name + " reached: " + (int) limit);
+        }
+        remaining = released.awaitNanos(remaining);
+      }
+      inFlight++;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      outcomes[Outcome.REJECTED.ordinal()]++;
+      throw new LimitExceededException("Interrupted while waiting for a permit of " + name);
+    } finally {
+      lock.unlock();
+    }
+    return new Permit(nanoClock.getAsLong());
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getLimit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public int getInFlight() {
+    lock.lock();
+    try {
+      return inFlight;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  public long getCount(Outcome outcome) {
+    lock.lock();
+    try {
+      return outcomes[outcome.ordinal()];
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(long rtt, Outcome outcome) {
+    lock.lock();
+    try {
+      var utilized = inFlight * 2 >= limit;
+      inFlight--;
+      outcomes[outcome.ordinal()]++;
+
+      if (outcome == Outcome.DROPPED) {
+        decrease();
+      } else if (outcome == Outcome.SUCCESS) {
+        var baseline = rtts.size() >= MIN_SAMPLES_FOR_BASELINE ? rtts.percentile(BASELINE_PERCENTILE) : -1;
+        rtts.record(rtt);
+        if (baseline > 0 && rtt > baseline * rttTolerance) {
+          decrease();
+        } else if (utilized) {
+          limit = Math.min(maxLimit, limit + 1);
+        }
+      }
+      released.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void decrease() {
+    limit = Math.max(minLimit, limit * backoffRatio);
+  }
+
+  /**
+   * A call in flight; exactly one of its methods has to be called when the call completes.
+   */
+  public final class Permit {
+
+    private final long startNanos;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(long startNanos) {
+      this.startNanos = startNanos;
+    }
+
+    public void success() {
+      release(Outcome.SUCCESS);
+    }
+
+    /**
+     * The call failed or timed out, a sign of overload.
+     */
+    public void dropped() {
+      release(Outcome.DROPPED);
+    }
+
+    /**
+     * The call didn't reach the dependency, e.g. it was rejected by a circuit breaker; the limit is left as is.
+     */
+    public void ignore() {
+      release(Outcome.IGNORED);
+    }
+
+    private void release(Outcome outcome) {
+      if (released.compareAndSet(false, true)) {
+        AdaptiveLimiter.this.release(nanoClock.getAsLong() - startNanos, outcome);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+package org.folio.pv.resilience;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent asynchronous calls. Calls over the limit wait in a bounded queue and are started
+ * on the given executor when a running call completes; calls that find the queue full or wait longer than the
+ * maximum queue wait fail fast with {@link BulkheadFullException}. No thread is blocked while a call is queued.
+ */
+public class Bulkhead {
+
+  private final String name;
+  private final int maxConcurrentCalls;
+  private final int maxQueueSize;
+  private final Duration maxQueueWait;
+
+  private final Deque<Queued<?>> queue = new ArrayDeque<>();
+  private int activeCalls;
+
+
+  public Bulkhead(String name, int maxConcurrentCalls, int maxQueueSize, Duration maxQueueWait) {
+    if (maxConcurrentCalls < 1 || maxQueueSize < 0) {
+      throw new IllegalArgumentException("Invalid bulkhead limits: " + maxConcurrentCalls + "/" + maxQueueSize);
+    }
+    this.name = name;
+    this.maxConcurrentCalls = maxConcurrentCalls;
+    this.maxQueueSize = maxQueueSize;
+    this.maxQueueWait = maxQueueWait;
+  }
+
+  /**
+   * Starts the call on the calling thread if the limit allows, otherwise queues it to be started on
+   * {@code executor}. The returned future completes with the result of the call's future.
+   */
+  public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> call, Executor executor) {
+    Queued<T> queued;
+    synchronized (this) {
+      if (activeCalls < maxConcurrentCalls) {
+        activeCalls++;
+        queued = null;
+      } else if (queue.size() < maxQueueSize) {
+        queued = new Queued<>(call, executor);
+        queue.addLast(queued);
+      } else {
+        return CompletableFuture.failedFuture(new BulkheadFullException("Bulkhead '" + name + "' is full"));
+      }
+    }
+
+    if (queued == null) {
+      return start(call);
+    }
+
+    CompletableFuture.delayedExecutor(maxQueueWait.toNanos(), TimeUnit.NANOSECONDS).execute(() -> expire(queued));
+    return queued.result;
+  }
+
+  public synchronized int getActiveCalls() {
+    return activeCalls;
+  }
+
+  public synchronized int getQueueDepth() {
+    return queue.size();
+  }
+
+  private <T> CompletableFuture<T> start(Supplier<CompletableFuture<T>> call) {
+    CompletableFuture<T> future;
+    try {
+      future = call.get();
+    } catch (RuntimeException e) {
+      future = CompletableFuture.failedFuture(e);
+    }
+    future.whenComplete((result, e) -> release());
+    return future;
+  }
+
+  private void release() {
+    Queued<?> next;
+    synchronized (this) {
+      next = queue.pollFirst();
+      if (next == null) {
+        activeCalls--;
+        return;
+      }
+    }
+    // the permit of the completed call is handed over to the next one
+    next.startOn();
+  }
+
+  private void expire(Queued<?> queued) {
+    boolean removed;
+    synchronized (this) {
+      removed = queue.remove(queued);
+    }
+    if (removed) {
+      queued.result.completeExceptionally(new BulkheadFullException("Call waited in bulkhead '" + name
+          + "' queue for more than " + maxQueueWait.toMillis() + " ms"));
+    }
+  }
+
+  private final class Queued<T> {
+
+    private final Supplier<CompletableFuture<T>> call;
+    private final Executor executor;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    private Queued(Supplier<CompletableFuture<T>> call, Executor executor) {
+      this.call = call;
+      this.executor = executor;
+    }
+
+    void startOn() {
+      try {
+        executor.execute(() -> start(call).whenComplete((value, e) -> {
+          if (e != null) {
+            result.completeExceptionally(e);
+          } else {
+            result.complete(value);
+          }
+        }));
+      } catch (RuntimeException e) {
+        release();
+        result.completeExceptionally(e);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,13 @@
+package org.folio.pv.resilience;
+
+/**
+ * Thrown when a call is rejected by a {@link Bulkhead} because its calls and queue are full or the call has
+ * waited in the queue for too long.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+  public BulkheadFullException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,148 @@
+package org.folio.pv.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * <p>The outcomes of the last {@code slidingWindowSize} calls are kept in a ring buffer. Once at least
+ * {@code minimumNumberOfCalls} outcomes are recorded and the failure rate reaches {@code failureRateThreshold}
+ * percent, the breaker opens and rejects calls for {@code waitDurationInOpenState}. After that it lets
+ * {@code permittedCallsInHalfOpenState} probe calls through: if all of them succeed the breaker closes,
+ * a single failure opens it again.
+ */
+@Log4j2
+public class CircuitBreaker {
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String name;
+  private final int failureRateThreshold;
+  private final int minimumNumberOfCalls;
+  private final long waitDurationInOpenStateNanos;
+  private final int permittedCallsInHalfOpenState;
+  private final LongSupplier nanoClock;
+
+  private final boolean[] failures;
+  private int position;
+  private int recordedCalls;
+  private int failedCalls;
+
+  private State state = State.CLOSED;
+  private long openedAt;
+  private int halfOpenPermits;
+  private int halfOpenSuccesses;
+
+
+  public CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumNumberOfCalls,
+      Duration waitDurationInOpenState, int permittedCallsInHalfOpenState) {
+    this(name, failureRateThreshold, slidingWindowSize, minimumNumberOfCalls, waitDurationInOpenState,
+        permittedCallsInHalfOpenState, System::nanoTime);
+  }
+
+  CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumNumberOfCalls,
+      Duration waitDurationInOpenState, int permittedCallsInHalfOpenState, LongSupplier nanoClock) {
+    if (slidingWindowSize < 1 || minimumNumberOfCalls < 1 || permittedCallsInHalfOpenState < 1) {
+      throw new IllegalArgumentException("Circuit breaker window, minimum and half-open calls must be positive");
+    }
+    this.name = name;
+    this.failureRateThreshold = failureRateThreshold;
+    this.minimumNumberOfCalls = Math.min(minimumNumberOfCalls, slidingWindowSize);
+    this.waitDurationInOpenStateNanos = waitDurationInOpenState.toNanos();
+    this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+    this.nanoClock = nanoClock;
+    this.failures = new boolean[slidingWindowSize];
+  }
+
+  /**
+   * Checks whether a call may proceed. Every granted permission must be followed by
+   * {@link #onSuccess()} or {@link #onError()}.
+   */
+  public synchronized boolean tryAcquirePermission() {
+    if (state == State.OPEN) {
+      if (nanoClock.getAsLong() - openedAt < waitDurationInOpenStateNanos) {
+        return false;
+      }
+      transitionTo(State.HALF_OPEN);
+    }
+
+    if (state == State.HALF_OPEN) {
+      if (halfOpenPermits >= permittedCallsInHalfOpenState) {
+        return false;
+      }
+      halfOpenPermits++;
+    }
+
+    return true;
+  }
+
+  public synchronized void onSuccess() {
+    record(false);
+  }
+
+  public synchronized void onError() {
+    record(true);
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  private void record(boolean failure) {
+    if (state == State.HALF_OPEN) {
+      if (failure) {
+        transitionTo(State.OPEN);
+      } else if (++halfOpenSuccesses >= permittedCallsInHalfOpenState) {
+        transitionTo(State.CLOSED);
+      }
+      return;
+    }
+
+    if (state == State.OPEN) {
+      // late outcome of a call started before the breaker opened
+      return;
+    }
+
+    if (recordedCalls == failures.length) {
+      if (failures[position]) {
+        failedCalls--;
+      }
+    } else {
+      recordedCalls++;
+    }
+    failures[position] = failure;
+    if (failure) {
+      failedCalls++;
+    }
+    position = (position + 1) % failures.length;
+
+    if (recordedCalls >= minimumNumberOfCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+      transitionTo(State.OPEN);
+    }
+  }
+
+  private void transitionTo(State newState) {
+    log.info("Circuit breaker '{}' changed state: {} -> {}", name, state, newState);
+
+    state = newState;
+    position = 0;
+    recordedCalls = 0;
+    failedCalls = 0;
+    halfOpenPermits = 0;
+    halfOpenSuccesses = 0;
+
+    if (newState == State.OPEN) {
+      openedAt = nanoClock.getAsLong();
+    }
+  }
+
+}
@@ -0,0 +1,77 @@
+package org.folio.pv.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a request has to be answered, measured on the monotonic clock.
+ */
+public final class Deadline {
+
+  public static final Deadline NONE = new Deadline(0, false);
+
+  private static final Duration MIN_TIMEOUT = Duration.ofMillis(1);
+
+  private final long expiresAtNanos;
+  private final boolean bounded;
+
+
+  private Deadline(long expiresAtNanos, boolean bounded) {
+    this.expiresAtNanos = expiresAtNanos;
+    this.bounded = bounded;
+  }
+
+  /**
+   * Returns the deadline after the budget from now, {@link #NONE} if the budget is null.
+   */
+  public static Deadline after(Duration budget) {
+    return budget == null ? NONE : new Deadline(System.nanoTime() + budget.toNanos(), true);
+  }
+
+  public boolean isBounded() {
+    return bounded;
+  }
+
+  public boolean isExpired() {
+    return bounded && expiresAtNanos - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Returns the time left, zero if the deadline has passed; {@code null} if there is no deadline.
+   */
+  public Duration remaining() {
+    return bounded ? Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime())) : null;
+  }
+
+  /**
+   * Returns the timeout of a call that has to complete by the deadline: the given one or the time left, whichever
+   * is shorter, at least one millisecond. {@code null} if there is neither a timeout nor a deadline.
+   */
+  public Duration cap(Duration timeout) {
+    if (!bounded) {
+      return timeout;
+    }
+    var remaining = remaining();
+    if (remaining.compareTo(MIN_TIMEOUT) < 0) {
+      remaining = MIN_TIMEOUT;
+    }
+    return timeout == null || remaining.compareTo(timeout) < 0 ? remaining : timeout;
+  }
+
+  /**
+   * Fails the future with a {@link java.util.concurrent.TimeoutException} if it hasn't completed by the deadline.
+   */
+  public <T> CompletableFuture<T> bound(CompletableFuture<T> future) {
+    return bounded ? future.orTimeout(cap(null).toNanos(), TimeUnit.NANOSECONDS) : future;
+  }
+
+  /**
+   * Returns a future completing at the deadline, never if there is none.
+   */
+  public CompletableFuture<Void> expiry() {
+    var expiry = new CompletableFuture<Void>();
+    return bounded ? expiry.completeOnTimeout(null, cap(null).toNanos(), TimeUnit.NANOSECONDS) : expiry;
+  }
+
+}
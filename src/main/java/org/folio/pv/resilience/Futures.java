@@ -0,0 +1,33 @@
+package org.folio.pv.resilience;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.experimental.UtilityClass;
+
+@UtilityClass
+public class Futures {
+
+  /**
+   * Returns a future completed with the result of the first of the given futures that completes normally.
+   * If all of them fail, the returned future fails with the exception of the last one.
+   */
+  public static <T> CompletableFuture<T> firstSuccessful(List<? extends CompletableFuture<? extends T>> futures) {
+    var result = new CompletableFuture<T>();
+    var remaining = new AtomicInteger(futures.size());
+
+    for (CompletableFuture<? extends T> future : futures) {
+      future.whenComplete((value, exc) -> {
+        if (exc == null) {
+          result.complete(value);
+        } else if (remaining.decrementAndGet() == 0) {
+          result.completeExceptionally(exc);
+        }
+      });
+    }
+
+    return result;
+  }
+
+}
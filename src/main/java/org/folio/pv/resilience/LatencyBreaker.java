@@ -0,0 +1,152 @@
+package org.folio.pv.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import lombok.extern.log4j.Log4j2;
+
+import org.folio.pv.resilience.CircuitBreaker.State;
+
+/**
+ * Latency-based circuit breaker.
+ *
+ * <p>The latencies of the last {@code windowSize} calls are kept in a {@link LatencyWindow}. Once at least
+ * {@code minimumNumberOfCalls} are recorded and their {@code percentile} exceeds {@code threshold}, the breaker opens
+ * and rejects calls for {@code waitDurationInOpenState}. After that it lets a single probe call through: if it is
+ * faster than the threshold the breaker closes, otherwise it opens again. Only the probe decides; calls that were
+ * let through before the breaker opened and complete while it is half-open are ignored.
+ */
+@Log4j2
+public class LatencyBreaker {
+
+  private final String name;
+  private final double percentile;
+  private final long thresholdNanos;
+  private final int windowSize;
+  private final int minimumNumberOfCalls;
+  private final long waitDurationInOpenStateNanos;
+  private final LongSupplier nanoClock;
+
+  private LatencyWindow latencies;
+  private State state = State.CLOSED;
+  private long openedAt;
+  private Permission probe;
+
+
+  public LatencyBreaker(String name, double percentile, Duration threshold, int windowSize, int minimumNumberOfCalls,
+      Duration waitDurationInOpenState) {
+    this(name, percentile, threshold, windowSize, minimumNumberOfCalls, waitDurationInOpenState, System::nanoTime);
+  }
+
+  LatencyBreaker(String name, double percentile, Duration threshold, int windowSize, int minimumNumberOfCalls,
+      Duration waitDurationInOpenState, LongSupplier nanoClock) {
+    if (windowSize < 1 || minimumNumberOfCalls < 1) {
+      throw new IllegalArgumentException("Latency breaker window and minimum calls must be positive");
+    }
+    this.name = name;
+    this.percentile = percentile;
+    this.thresholdNanos = threshold.toNanos();
+    this.windowSize = windowSize;
+    this.minimumNumberOfCalls = Math.min(minimumNumberOfCalls, windowSize);
+    this.waitDurationInOpenStateNanos = waitDurationInOpenState.toNanos();
+    this.nanoClock = nanoClock;
+    this.latencies = new LatencyWindow(windowSize);
+  }
+
+  /**
+   * Returns the permission of a call to proceed, {@code null} if the call is rejected. Every granted permission must be
+   * followed by {@link Permission#onCompleted(long)} or {@link Permission#onCancelled()}.
+   */
+  public synchronized Permission tryAcquirePermission() {
+    if (state == State.OPEN) {
+      if (nanoClock.getAsLong() - openedAt < waitDurationInOpenStateNanos) {
+        return null;
+      }
+      transitionTo(State.HALF_OPEN);
+    }
+
+    if (state == State.HALF_OPEN) {
+      if (probe != null) {
+        return null;
+      }
+      probe = new Permission();
+      return probe;
+    }
+    return new Permission();
+  }
+
+  public synchronized State getState() {
+    return state;
+  }
+
+  /**
+   * Returns the latency percentile (in nanoseconds) of the calls recorded since the breaker last closed, {@code -1} if
+   * there are none.
+   */
+  public synchronized long getPercentileLatency() {
+    return latencies.percentile(percentile);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  private synchronized void onCompleted(Permission permission, long nanos) {
+    if (state == State.HALF_OPEN) {
+      if (permission == probe) {
+        transitionTo(nanos > thresholdNanos ? State.OPEN : State.CLOSED);
+      }
+      // otherwise the late outcome of a call started before the breaker opened
+      return;
+    }
+
+    if (state == State.OPEN) {
+      // late outcome of a call started before the breaker opened
+      return;
+    }
+
+    latencies.record(nanos);
+    if (latencies.size() >= minimumNumberOfCalls && latencies.percentile(percentile) > thresholdNanos) {
+      transitionTo(State.OPEN);
+    }
+  }
+
+  private synchronized void onCancelled(Permission permission) {
+    if (permission == probe) {
+      probe = null;
+    }
+  }
+
+  private void transitionTo(State newState) {
+    log.info("Latency breaker '{}' changed state: {} -> {}", name, state, newState);
+
+    state = newState;
+    probe = null;
+    if (newState == State.OPEN) {
+      openedAt = nanoClock.getAsLong();
+    } else if (newState == State.CLOSED) {
+      latencies = new LatencyWindow(windowSize);
+    }
+  }
+
+  /**
+   * A call let through by the breaker, the probe call while it is half-open.
+   */
+  public final class Permission {
+
+    private Permission() {
+    }
+
+    public void onCompleted(long nanos) {
+      LatencyBreaker.this.onCompleted(this, nanos);
+    }
+
+    /**
+     * The call ended without telling anything about the latency, e.g. it was cancelled.
+     */
+    public void onCancelled() {
+      LatencyBreaker.this.onCancelled(this);
+    }
+  }
+
+}
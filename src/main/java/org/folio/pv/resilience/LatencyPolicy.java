@@ -0,0 +1,22 @@
+package org.folio.pv.resilience;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Latency policy of a remote call: an optional time limit for each attempt, the number of retries of
+ * failed or timed out attempts and an optional delay after which a hedged attempt is started.
+ */
+@Value
+@Builder(toBuilder = true)
+public class LatencyPolicy {
+
+  public static final LatencyPolicy NONE = LatencyPolicy.builder().build();
+
+  Duration timeout;
+  int maxRetries;
+  Duration hedgeDelay;
+
+}
@@ -0,0 +1,168 @@
+package org.folio.pv.resilience;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * Runs calls according to a {@link LatencyPolicy}. Retries are delayed with "full jitter" exponential backoff:
+ * the n-th retry waits a random time between zero and {@code min(maxBackoff, baseBackoff * 2^n)}.
+ */
+@Log4j2
+public class LatencyPolicyExecutor {
+
+  private final ExecutorService executor;
+  private final Duration baseBackoff;
+  private final Duration maxBackoff;
+
+
+  public LatencyPolicyExecutor(ExecutorService executor, Duration baseBackoff, Duration maxBackoff) {
+    this.executor = executor;
+    this.baseBackoff = baseBackoff;
+    this.maxBackoff = maxBackoff;
+  }
+
+  /**
+   * Executes the blocking call on the executor's pool according to the policy.
+   */
+  public <T> CompletableFuture<T> executeBlocking(LatencyPolicy policy, Callable<T> call,
+      Predicate<Throwable> retryable, Listener listener) {
+    return execute(policy, () -> CompletableFuture.supplyAsync(() -> {
+      try {
+        return call.call();
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new CompletionException(e);
+      }
+    }, executor), retryable, listener);
+  }
+
+  /**
+   * Executes the asynchronous call according to the policy. The supplier is invoked once per attempt.
+   */
+  public <T> CompletableFuture<T> execute(LatencyPolicy policy, Supplier<CompletableFuture<T>> call,
+      Predicate<Throwable> retryable, Listener listener) {
+    var result = new CompletableFuture<T>();
+    attempt(policy, call, retryable, listener, 0, result);
+    return result;
+  }
+
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> void attempt(LatencyPolicy policy, Supplier<CompletableFuture<T>> call,
+      Predicate<Throwable> retryable, Listener listener, int attemptNo, CompletableFuture<T> result) {
+
+    hedged(policy, call, listener).whenComplete((value, exc) -> {
+      if (exc == null) {
+        result.complete(value);
+        return;
+      }
+
+      var cause = unwrap(exc);
+      if (cause instanceof TimeoutException) {
+        listener.onTimeout();
+      }
+
+      if (attemptNo < policy.getMaxRetries() && retryable.test(cause)) {
+        listener.onRetry();
+        var delay = backoff(attemptNo);
+        log.debug("Retrying failed call in {} ms: {}", delay.toMillis(), cause.getMessage());
+
+        CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS, executor)
+            .execute(() -> attempt(policy, call, retryable, listener, attemptNo + 1, result));
+      } else {
+        result.completeExceptionally(cause);
+      }
+    });
+  }
+
+  private <T> CompletableFuture<T> hedged(LatencyPolicy policy, Supplier<CompletableFuture<T>> call,
+      Listener listener) {
+    var primary = call.get();
+
+    CompletableFuture<T> attempt;
+    if (isPositive(policy.getHedgeDelay())) {
+      var hedge = new CompletableFuture<T>();
+      attempt = Futures.firstSuccessful(List.of(primary, hedge));
+
+      CompletableFuture.delayedExecutor(policy.getHedgeDelay().toNanos(), TimeUnit.NANOSECONDS, executor)
+          .execute(() -> {
+            if (primary.isDone() || attempt.isDone()) {
+              propagate(primary, hedge);
+            } else {
+              listener.onHedge();
+              propagate(call.get(), hedge);
+            }
+          });
+    } else {
+      attempt = primary.thenApply(value -> value);
+    }
+
+    if (isPositive(policy.getTimeout())) {
+      attempt.orTimeout(policy.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+    }
+    return attempt;
+  }
+
+  private Duration backoff(int attemptNo) {
+    var ceiling = baseBackoff.multipliedBy(1L << Math.min(attemptNo, 16));
+    if (ceiling.compareTo(maxBackoff) > 0) {
+      ceiling = maxBackoff;
+    }
+    return Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling.toNanos() + 1));
+  }
+
+  private static <T> void propagate(CompletableFuture<T> source, CompletableFuture<T> target) {
+    source.whenComplete((value, exc) -> {
+      if (exc == null) {
+        target.complete(value);
+      } else {
+        target.completeExceptionally(exc);
+      }
+    });
+  }
+
+  private static boolean isPositive(Duration duration) {
+    return duration != null && !duration.isNegative() && !duration.isZero();
+  }
+
+  public static Throwable unwrap(Throwable exc) {
+    var cause = exc;
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
+  /**
+   * Receives notifications about policy decisions, e.g. to update metrics.
+   */
+  public interface Listener {
+
+    Listener NONE = new Listener() {
+    };
+
+    default void onRetry() {
+    }
+
+    default void onHedge() {
+    }
+
+    default void onTimeout() {
+    }
+  }
+
+}
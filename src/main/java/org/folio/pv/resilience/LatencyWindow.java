@@ -0,0 +1,52 @@
+package org.folio.pv.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the latencies of the last N calls and answers percentile queries over them.
+ */
+public class LatencyWindow {
+
+  private final long[] samples;
+  private int position;
+  private int count;
+
+
+  public LatencyWindow(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Latency window size must be positive");
+    }
+    this.samples = new long[size];
+  }
+
+  public synchronized void record(long nanos) {
+    samples[position] = nanos;
+    position = (position + 1) % samples.length;
+    if (count < samples.length) {
+      count++;
+    }
+  }
+
+  public synchronized int size() {
+    return count;
+  }
+
+  /**
+   * Returns the latency (in nanoseconds) below which the given fraction of the recorded calls fall,
+   * or {@code -1} if nothing has been recorded yet.
+   */
+  public long percentile(double fraction) {
+    long[] sorted;
+    synchronized (this) {
+      if (count == 0) {
+        return -1;
+      }
+      sorted = Arrays.copyOf(samples, count);
+    }
+    Arrays.sort(sorted);
+
+    var index = (int) Math.ceil(fraction * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+}
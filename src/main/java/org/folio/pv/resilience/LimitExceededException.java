@@ -0,0 +1,12 @@
+package org.folio.pv.resilience;
+
+/**
+ * Thrown when an {@link AdaptiveLimiter} sheds a call because the dependency's concurrency limit is reached.
+ */
+public class LimitExceededException extends RuntimeException {
+
+  public LimitExceededException(String message) {
+    super(message);
+  }
+
+}
@@ -0,0 +1,124 @@
+package org.folio.pv.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.config.DegradedModeProperties;
+import org.folio.pv.domain.RuleType;
+import org.folio.pv.domain.ValidationType;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.resilience.CircuitBreaker.State;
+import org.folio.pv.resilience.LatencyBreaker;
+import org.folio.pv.resilience.LatencyBreaker.Permission;
+
+/**
+ * Tracks the latency of the Soft rules validated by remote services (Programmatic and PwnedPassword rules) and
+ * bypasses a rule while the latency percentile of its recent calls exceeds the threshold, so that advisory rules
+ * can't drive up the latency of every validation during an incident. A bypassed rule is probed again after the
+ * bypass duration.
+ */
+@Component
+public class DegradedRules {
+
+  private static final String METRIC_PREFIX = "pv.degraded.rule.";
+
+  private final DegradedModeProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, TrackedRule> rules = new ConcurrentHashMap<>();
+
+
+  public DegradedRules(DegradedModeProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public boolean isTracked(PasswordValidationRule rule) {
+    return properties.isEnabled()
+        && ValidationType.SOFT.getValue().equals(rule.getValidationType())
+        && (RuleType.PROGRAMMATIC.getValue().equals(rule.getRuleType())
+        || RuleType.PWNEDPASSWORD.getValue().equals(rule.getRuleType()));
+  }
+
+  /**
+   * Returns the permission to validate a tracked rule, {@code null} if the rule has to be bypassed. The latency of the
+   * rule's call has to be reported to the permission once the call ends.
+   */
+  public Permission tryAcquire(PasswordValidationRule rule) {
+    var tracked = tracked(rule);
+    var permission = tracked.getBreaker().tryAcquirePermission();
+    if (permission == null) {
+      tracked.getBypassed().increment();
+    }
+    return permission;
+  }
+
+  /**
+   * Returns the state of the tracked rules, degraded ones first.
+   */
+  public List<RuleStatus> getStatus() {
+    return rules.entrySet().stream()
+        .map(entry -> {
+          var breaker = entry.getValue().getBreaker();
+          var latency = breaker.getPercentileLatency();
+          return new RuleStatus(entry.getKey(), breaker.getName(), breaker.getState(),
+              latency < 0 ? null : TimeUnit.NANOSECONDS.toMillis(latency));
+        })
+        .sorted((first, second) -> Boolean.compare(first.getState() == State.CLOSED,
+            second.getState() == State.CLOSED))
+        .collect(Collectors.toList());
+  }
+
+  private TrackedRule tracked(PasswordValidationRule rule) {
+    return rules.computeIfAbsent(String.valueOf(rule.getId()), id -> newTrackedRule(id, rule.getName()));
+  }
+
+  private TrackedRule newTrackedRule(String id, String name) {
+    var breaker = new LatencyBreaker(name, properties.getPercentile(), properties.getLatencyThreshold(),
+        properties.getWindowSize(), properties.getMinimumNumberOfCalls(), properties.getBypassDuration());
+
+    Gauge.builder(METRIC_PREFIX + "state", breaker, b -> b.getState().ordinal())
+        .description("Degraded mode of a Soft remote rule: 0 - validated, 1 - bypassed, 2 - probing")
+        .tag("rule", id)
+        .register(meterRegistry);
+    TimeGauge.builder(METRIC_PREFIX + "latency", breaker, TimeUnit.NANOSECONDS,
+            b -> Math.max(0, b.getPercentileLatency()))
+        .description("Latency percentile of the recent calls of a Soft remote rule")
+        .tag("rule", id)
+        .register(meterRegistry);
+    var bypassed = Counter.builder(METRIC_PREFIX + "bypassed")
+        .description("Validations that bypassed a degraded Soft remote rule")
+        .tag("rule", id)
+        .register(meterRegistry);
+    return new TrackedRule(breaker, bypassed);
+  }
+
+  @Value
+  private static class TrackedRule {
+
+    LatencyBreaker breaker;
+    Counter bypassed;
+  }
+
+  @Value
+  public static class RuleStatus {
+
+    String id;
+    String name;
+    State state;
+    /**
+     * Latency percentile of the recent calls in milliseconds, null if there are none.
+     */
+    Long latencyMillis;
+  }
+
+}
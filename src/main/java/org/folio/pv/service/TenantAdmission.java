@@ -0,0 +1,102 @@
+package org.folio.pv.service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.concurrent.ValidationExecutors;
+import org.folio.pv.config.AdmissionProperties;
+import org.folio.pv.resilience.Bulkhead;
+import org.folio.pv.resilience.BulkheadFullException;
+
+/**
+ * Bounds the password validations each tenant can run at the same time, so that a tenant resetting the passwords of
+ * all its users can't take the threads and connections the other tenants need. Each tenant has a bulkhead with a
+ * bounded queue; validations it rejects fail with {@link BulkheadFullException}, answered with 429.
+ */
+@Log4j2
+@Component
+public class TenantAdmission {
+
+  private static final String METRIC_PREFIX = "pv.admission.";
+
+  private final AdmissionProperties properties;
+  private final FolioExecutionContext folioExecutionContext;
+  private final ValidationExecutors validationExecutors;
+  private final ExecutorService validationExecutor;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, TenantBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+
+  public TenantAdmission(AdmissionProperties properties, FolioExecutionContext folioExecutionContext,
+      ValidationExecutors validationExecutors, ExecutorService validationExecutor, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.folioExecutionContext = folioExecutionContext;
+    this.validationExecutors = validationExecutors;
+    this.validationExecutor = validationExecutor;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Runs the validation now if the current tenant is below its limit, later if its queue has room; a queued
+   * validation is started on the validation pool in the execution context of the calling thread.
+   */
+  public <T> CompletableFuture<T> admit(Supplier<CompletableFuture<T>> validation) {
+    if (!properties.isEnabled()) {
+      return validation.get();
+    }
+
+    var tenant = folioExecutionContext.getTenantId();
+    var bulkhead = bulkheads.computeIfAbsent(String.valueOf(tenant), this::newBulkhead);
+    return bulkhead.getBulkhead().submit(validation, validationExecutors.inCurrentContext(validationExecutor))
+        .whenComplete((result, e) -> {
+          if (e != null && unwrap(e) instanceof BulkheadFullException) {
+            bulkhead.getRejections().increment();
+            log.warn("Password validation of tenant {} rejected: {}", tenant, unwrap(e).getMessage());
+          }
+        });
+  }
+
+  private TenantBulkhead newBulkhead(String tenant) {
+    var bulkhead = new Bulkhead("tenant-" + tenant, properties.getMaxConcurrentRequests(),
+        properties.getMaxQueuedRequests(), properties.getMaxQueueWait());
+
+    Gauge.builder(METRIC_PREFIX + "active", bulkhead, Bulkhead::getActiveCalls)
+        .description("Password validations running per tenant")
+        .tag("tenant", tenant)
+        .register(meterRegistry);
+    Gauge.builder(METRIC_PREFIX + "queue.depth", bulkhead, Bulkhead::getQueueDepth)
+        .description("Password validations waiting for admission per tenant")
+        .tag("tenant", tenant)
+        .register(meterRegistry);
+    var rejections = Counter.builder(METRIC_PREFIX + "rejected")
+        .description("Password validations rejected with 429 per tenant")
+        .tag("tenant", tenant)
+        .register(meterRegistry);
+
+    return new TenantBulkhead(bulkhead, rejections);
+  }
+
+  private static Throwable unwrap(Throwable e) {
+    return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+  }
+
+  @Value
+  private static class TenantBulkhead {
+
+    Bulkhead bulkhead;
+    Counter rejections;
+  }
+
+}
@@ -0,0 +1,67 @@
+package org.folio.pv.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.folio.pv.domain.entity.PasswordValidationRule;
+
+/**
+ * Audit record of a sampled validation, written by {@link ValidationAuditLog} once the validation has completed.
+ * {@link #OFF} records nothing, so validations that aren't sampled don't pay for it.
+ */
+public final class ValidationAudit {
+
+  public static final ValidationAudit OFF = new ValidationAudit(false, null, null);
+
+  private final boolean enabled;
+  private final String tenant;
+  private final String userId;
+  private final long startedAt;
+  private final List<String> failedRules;
+
+
+  private ValidationAudit(boolean enabled, String tenant, String userId) {
+    this.enabled = enabled;
+    this.tenant = tenant;
+    this.userId = userId;
+    this.startedAt = enabled ? System.nanoTime() : 0;
+    this.failedRules = enabled ? Collections.synchronizedList(new ArrayList<>()) : List.of();
+  }
+
+  static ValidationAudit start(String tenant, String userId) {
+    return new ValidationAudit(true, tenant, userId);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Records a rule the password failed.
+   */
+  public void ruleFailed(PasswordValidationRule rule) {
+    if (enabled) {
+      failedRules.add(rule.getName());
+    }
+  }
+
+  String getTenant() {
+    return tenant;
+  }
+
+  String getUserId() {
+    return userId;
+  }
+
+  long getStartedAt() {
+    return startedAt;
+  }
+
+  List<String> getFailedRules() {
+    synchronized (failedRules) {
+      return new ArrayList<>(failedRules);
+    }
+  }
+
+}
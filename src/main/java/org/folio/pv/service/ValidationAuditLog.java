@@ -0,0 +1,94 @@
+package org.folio.pv.service;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.log4j.Log4j2;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.config.ValidationAuditProperties;
+import org.folio.pv.domain.dto.Password;
+import org.folio.pv.domain.dto.ValidationResult;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+import org.folio.spring.FolioExecutionContext;
+
+/**
+ * Writes one JSON audit event per sampled validation to the {@value #LOGGER_NAME} logger, which has an asynchronous
+ * appender of its own. Validations that aren't sampled, or all of them while the logger is off, get
+ * {@link ValidationAudit#OFF} and cost nothing more than the check.
+ */
+@Component
+@Log4j2
+public class ValidationAuditLog {
+
+  static final String LOGGER_NAME = "org.folio.pv.audit";
+
+  private static final Logger auditLogger = LogManager.getLogger(LOGGER_NAME);
+  private static final String ERROR_RESULT = "error";
+
+  private final ValidationAuditProperties properties;
+  private final FolioExecutionContext folioExecutionContext;
+  private final ObjectMapper jacksonObjectMapper;
+
+
+  public ValidationAuditLog(ValidationAuditProperties properties, FolioExecutionContext folioExecutionContext,
+      ObjectMapper jacksonObjectMapper) {
+    this.properties = properties;
+    this.folioExecutionContext = folioExecutionContext;
+    this.jacksonObjectMapper = jacksonObjectMapper;
+  }
+
+  /**
+   * Starts auditing the validation of the password if it is sampled; has to be called on the request thread.
+   */
+  public ValidationAudit start(Password passwordContainer) {
+    if (!properties.isEnabled() || !auditLogger.isInfoEnabled() || !sampled()) {
+      return ValidationAudit.OFF;
+    }
+    return ValidationAudit.start(folioExecutionContext.getTenantId(), passwordContainer.getUserId());
+  }
+
+  /**
+   * Writes the audit event of a completed validation, its result or the exception it failed with.
+   */
+  public void write(ValidationAudit audit, ValidationResult result, Throwable exc) {
+    if (audit.isEnabled()) {
+      auditLogger.info(() -> toJson(audit, result, exc));
+    }
+  }
+
+  String toJson(ValidationAudit audit, ValidationResult result, Throwable exc) {
+    var event = jacksonObjectMapper.createObjectNode()
+        .put("timestamp", Instant.now().toString())
+        .put("tenant", audit.getTenant())
+        .put("userId", audit.getUserId())
+        .put("result", exc == null ? result.getResult() : ERROR_RESULT)
+        .put("durationMillis", (System.nanoTime() - audit.getStartedAt()) / 1_000_000);
+    var failedRules = event.putArray("failedRules");
+    audit.getFailedRules().forEach(failedRules::add);
+    if (result != null && result.getSkippedRules() != null) {
+      var skippedRules = event.putArray("skippedRules");
+      result.getSkippedRules().forEach(skippedRules::add);
+    }
+    if (exc != null) {
+      event.put("error", LatencyPolicyExecutor.unwrap(exc).getClass().getSimpleName());
+    }
+
+    try {
+      return jacksonObjectMapper.writeValueAsString(event);
+    } catch (JsonProcessingException e) {
+      log.warn("Failed to write validation audit event: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  private boolean sampled() {
+    var sampleRate = properties.getSampleRate();
+    return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+  }
+
+}
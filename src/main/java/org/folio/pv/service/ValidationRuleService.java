@@ -1,9 +1,12 @@
 package org.folio.pv.service;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.folio.pv.domain.dto.Password;
 import org.folio.pv.domain.dto.ValidationResult;
 import org.folio.pv.domain.dto.ValidationRule;
 import org.folio.pv.domain.dto.ValidationRuleCollection;
+import org.folio.pv.resilience.Deadline;
 
 public interface ValidationRuleService {
 
@@ -16,4 +19,23 @@ public interface ValidationRuleService {
   ValidationRule storeValidationRule(ValidationRule validationRule);
 
   ValidationResult validatePasswordByRules(Password passwordContainer);
+
+  /**
+   * Validates the password without waiting for remote rules: the returned future completes on another thread once
+   * they have answered.
+   */
+  CompletableFuture<ValidationResult> validatePasswordByRulesAsync(Password passwordContainer);
+
+  /**
+   * Validates the password without waiting for remote rules and answers by the deadline: remote rules get the time
+   * left as their timeout, soft rules that haven't completed by then are skipped and listed in the result.
+   */
+  CompletableFuture<ValidationResult> validatePasswordByRulesAsync(Password passwordContainer, Deadline deadline);
+
+  /**
+   * Validates the password by the deadline, recording the time spent on the user lookup, the rule loading and each
+   * rule; the rule timings are returned in the result unless timings are {@link ValidationTimings#OFF}.
+   */
+  CompletableFuture<ValidationResult> validatePasswordByRulesAsync(Password passwordContainer, Deadline deadline,
+      ValidationTimings timings);
 }
@@ -5,26 +5,50 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeoutException;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.json.JSONObject;
 import org.springframework.stereotype.Service;
 
+import org.folio.pv.client.DependencyExecutors;
+import org.folio.pv.client.DependencyLimiters;
 import org.folio.pv.client.UserClient;
+import org.folio.pv.concurrent.ValidationExecutors;
 import org.folio.pv.domain.RuleState;
 import org.folio.pv.domain.ValidationType;
 import org.folio.pv.domain.dto.Password;
+import org.folio.pv.domain.dto.RuleTiming.OutcomeEnum;
+import org.folio.pv.domain.dto.ValidationErrors;
 import org.folio.pv.domain.dto.ValidationResult;
 import org.folio.pv.domain.dto.ValidationRule;
 import org.folio.pv.domain.dto.ValidationRuleCollection;
 import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.jfr.OutboundCallEvent;
+import org.folio.pv.jfr.RuleEvaluationEvent;
 import org.folio.pv.mapper.ValidationRuleMapper;
 import org.folio.pv.repository.ValidationRuleRepository;
+import org.folio.pv.resilience.Deadline;
+import org.folio.pv.resilience.LatencyBreaker.Permission;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
 import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.service.validator.AsyncValidator;
+import org.folio.pv.service.validator.Validator;
 import org.folio.pv.service.validator.ValidatorRegistry;
+import org.folio.pv.tracing.Tracing;
 import org.folio.spring.data.OffsetRequest;
 
 @Service
@@ -38,7 +62,14 @@ public class ValidationRuleServiceImpl implements ValidationRuleService {
   private final ValidationRuleMapper validationRuleMapper;
   private final ValidationRuleRepository validationRuleRepository;
   private final UserClient userClient;
+  private final DependencyLimiters dependencyLimiters;
+  private final DependencyExecutors dependencyExecutors;
   private final ValidatorRegistry validationRegistry;
+  private final DegradedRules degradedRules;
+  private final Tracing tracing;
+  private final ValidationAuditLog validationAuditLog;
+  private final ValidationExecutors validationExecutors;
+  private final ExecutorService validationExecutor;
 
 
   @Override
@@ -64,52 +95,104 @@ public class ValidationRuleServiceImpl implements ValidationRuleService {
     } else {
       rule = validationRuleRepository.getOne(rule.getId()).copyForUpdate(rule);
     }
+    validationRegistry.checkRule(rule);
     return validationRuleMapper.mapEntityToDto(validationRuleRepository.save(rule));
   }
 
   @Override
   public ValidationRule storeValidationRule(ValidationRule validationRule) {
     var rule = validationRuleMapper.mapDtoToEntity(validationRule);
+    validationRegistry.checkRule(rule);
     return validationRuleMapper.mapEntityToDto(validationRuleRepository.save(rule));
   }
 
   @Override
   public ValidationResult validatePasswordByRules(final Password passwordContainer) {
-    var userName = getUserNameByUserId(passwordContainer.getUserId());
-    var userData = new UserData(passwordContainer.getUserId(), userName);
-
-    var password = passwordContainer.getPassword();
+    return join(validatePasswordByRulesAsync(passwordContainer));
+  }
 
-    var enabledRules = validationRuleRepository.findByRuleState(RuleState.ENABLED.getValue());
-    enabledRules.sort(Comparator.comparing(PasswordValidationRule::getOrderNo));
+  @Override
+  public CompletableFuture<ValidationResult> validatePasswordByRulesAsync(final Password passwordContainer) {
+    return validatePasswordByRulesAsync(passwordContainer, Deadline.NONE);
+  }
 
-    List<String> validationMessages = new ArrayList<>();
+  @Override
+  public CompletableFuture<ValidationResult> validatePasswordByRulesAsync(final Password passwordContainer,
+      Deadline deadline) {
+    return validatePasswordByRulesAsync(passwordContainer, deadline, ValidationTimings.OFF);
+  }
 
-    for (PasswordValidationRule rule : enabledRules) {
-      var validator = validationRegistry.validatorByRule(rule);
+  @Override
+  public CompletableFuture<ValidationResult> validatePasswordByRulesAsync(final Password passwordContainer,
+      Deadline deadline, ValidationTimings timings) {
+    var userId = passwordContainer.getUserId();
+    var continuation = validationExecutors.inCurrentContext(validationExecutor);
+    var audit = validationAuditLog.start(passwordContainer);
+    var lookupStart = timings.now();
 
-      log.info("Validating password with rule: {}", ruleBriefDescription(rule));
+    var userLookup = deadline.bound(dependencyExecutors.users().supplyAsync(
+        () -> tracing.inSpan(tracing.startSpan("lookup user"), () -> getUserNameByUserId(userId))));
 
-      var errors = validator.validate(password, userData);
+    CompletableFuture<ValidationResult> validation;
+    try {
+      // the rules are loaded on the calling thread while the user is looked up, so that the continuation pool only
+      // applies rules and never waits for the database or a dependency
+      var rules = loadRules(timings);
+      validation = userLookup.thenComposeAsync(userName -> {
+        timings.phase(ValidationTimings.USER_LOOKUP, lookupStart);
+        return validate(rules, passwordContainer.getPassword(), new UserData(userId, userName), deadline, timings,
+            audit, continuation);
+      }, continuation);
+    } catch (RuntimeException e) {
+      validation = CompletableFuture.failedFuture(e);
+    }
+    return audit.isEnabled()
+        ? validation.whenComplete((validationResult, e) -> validationAuditLog.write(audit, validationResult, e))
+        : validation;
+  }
 
-      log.info("Validation errors: {}", !errors.hasErrors() ? "'None'" : errors.getErrorMessages());
+  private LoadedRules loadRules(ValidationTimings timings) {
+    var loadingStart = timings.now();
+    var enabledRules = tracing.inSpan(tracing.startSpan("load validation rules"), () -> {
+      var rules = validationRuleRepository.findByRuleState(RuleState.ENABLED.getValue());
+      rules.sort(Comparator.comparing(PasswordValidationRule::getOrderNo));
+      return rules;
+    });
+    var validators = validationRegistry.validatorsByRules(enabledRules);
+    timings.phase(ValidationTimings.RULE_LOADING, loadingStart);
+    return new LoadedRules(enabledRules, validators);
+  }
 
-      validationMessages.addAll(errors.getErrorMessages());
+  private CompletableFuture<ValidationResult> validate(LoadedRules rules, String password, UserData userData,
+      Deadline deadline, ValidationTimings timings, ValidationAudit audit, Executor continuation) {
+    var validation = new RuleValidation(rules.getRules(), rules.getValidators(), password, userData, deadline,
+        degradedRules, timings, audit, tracing, continuation);
 
-      if (errors.hasErrors() && ValidationType.STRONG == ValidationType.fromValue(rule.getValidationType())) {
-        break;
+    return validation.start().thenApply(validationMessages -> {
+      var validationResult = new ValidationResult();
+      validationResult.setMessages(validationMessages);
+      if (!validation.skippedRules.isEmpty()) {
+        validationResult.setSkippedRules(validation.skippedRules);
       }
-    }
+      if (timings.isEnabled()) {
+        validationResult.setRuleTimings(timings.getRules());
+      }
+      validationResult.setResult(validationMessages.isEmpty() ? VALIDATION_VALID_RESULT : VALIDATION_INVALID_RESULT);
 
-    var validationResult = new ValidationResult();
-    validationResult.setMessages(validationMessages);
-    validationResult.setResult(validationMessages.isEmpty() ? VALIDATION_VALID_RESULT : VALIDATION_INVALID_RESULT);
-    log.info("Validation result: {}", validationResult);
+      return validationResult;
+    });
+  }
 
-    return validationResult;
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      var cause = e.getCause();
+      throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+    }
   }
 
-  private String ruleBriefDescription(PasswordValidationRule rule) {
+  private static String ruleBriefDescription(PasswordValidationRule rule) {
     return new ToStringBuilder(rule)
         .append("id", rule.getId())
         .append("name", rule.getName())
@@ -119,7 +202,17 @@ public class ValidationRuleServiceImpl implements ValidationRuleService {
   }
 
   private String getUserNameByUserId(String userId) {
-    var userContainerStr = userClient.getUserByQuery("id==" + userId);
+    var permit = dependencyLimiters.users().acquire();
+    String userContainerStr;
+    try {
+      userContainerStr = tracing.inSpan(tracing.startClientSpan(DependencyLimiters.USERS, "GET"),
+          () -> OutboundCallEvent.record(DependencyLimiters.USERS, "GET",
+              () -> userClient.getUserByQuery("id==" + userId)));
+      permit.success();
+    } catch (RuntimeException e) {
+      permit.dropped();
+      throw e;
+    }
     var userContainer = new JSONObject(userContainerStr);
 
     var totalRecords = userContainer.getInt("totalRecords");
@@ -130,4 +223,214 @@ public class ValidationRuleServiceImpl implements ValidationRuleService {
     return user.getString("username");
   }
 
+  @Value
+  private static class LoadedRules {
+
+    List<PasswordValidationRule> rules;
+    List<Validator> validators;
+  }
+
+  /**
+   * Applies the rules in order until a Strong one fails. Remote validations are started at once, so the request
+   * waits for the slowest of them, not for their sum; when the next rule's remote validation hasn't answered yet, the
+   * remaining rules are applied on the continuation executor once it has, instead of blocking the calling thread.
+   * Once the deadline has passed, Soft rules that haven't completed are skipped and Strong remote rules that haven't
+   * answered are handled as timed out. Soft remote rules bypassed as degraded are skipped as well; the latency of the
+   * others is reported to {@link DegradedRules}. In explain mode the outcome and time of each rule are recorded.
+   * Each validated rule gets a span; the failed ones are recorded in the audit of sampled validations.
+   */
+  private static final class RuleValidation {
+
+    private final List<PasswordValidationRule> rules;
+    private final List<Validator> validators;
+    private final String password;
+    private final UserData userData;
+    private final Deadline deadline;
+    private final DegradedRules degradedRules;
+    private final ValidationTimings timings;
+    private final ValidationAudit audit;
+    private final Tracing tracing;
+    private final Executor continuation;
+    private final List<CompletableFuture<ValidationErrors>> pending = new ArrayList<>();
+    private final List<String> validationMessages = new ArrayList<>();
+    private final List<String> skippedRules = new ArrayList<>();
+    private final boolean[] bypassed;
+    private final Permission[] permissions;
+    private final long[] startedAt;
+    private final AtomicLongArray answeredAt;
+    private final Set<Integer> reported = ConcurrentHashMap.newKeySet();
+
+    private RuleValidation(List<PasswordValidationRule> rules, List<Validator> validators, String password,
+        UserData userData, Deadline deadline, DegradedRules degradedRules, ValidationTimings timings,
+        ValidationAudit audit, Tracing tracing, Executor continuation) {
+      this.rules = rules;
+      this.validators = validators;
+      this.password = password;
+      this.userData = userData;
+      this.deadline = deadline;
+      this.degradedRules = degradedRules;
+      this.timings = timings;
+      this.audit = audit;
+      this.tracing = tracing;
+      this.continuation = continuation;
+      this.bypassed = new boolean[rules.size()];
+      this.permissions = new Permission[rules.size()];
+      this.startedAt = new long[rules.size()];
+      this.answeredAt = new AtomicLongArray(rules.size());
+    }
+
+    CompletableFuture<List<String>> start() {
+      for (int i = 0; i < validators.size(); i++) {
+        var rule = rules.get(i);
+        var validator = validators.get(i);
+        var tracked = degradedRules.isTracked(rule);
+        permissions[i] = tracked ? degradedRules.tryAcquire(rule) : null;
+        bypassed[i] = tracked && permissions[i] == null;
+
+        if (bypassed[i] || !(validator instanceof AsyncValidator)) {
+          pending.add(null);
+          continue;
+        }
+
+        var timed = permissions[i] != null || timings.isEnabled();
+        startedAt[i] = timed ? System.nanoTime() : 0;
+        var evaluation = RuleEvaluationEvent.begin(rule);
+        var future = tracing.inSpanAsync(tracing.startRuleSpan(rule),
+            () -> ((AsyncValidator) validator).validateAsync(password, userData, deadline));
+        future.whenComplete(evaluation::complete);
+        if (timed) {
+          var index = i;
+          future.whenComplete((errors, e) -> {
+            var now = System.nanoTime();
+            answeredAt.set(index, now);
+            report(index, e instanceof CancellationException ? -1 : now - startedAt[index]);
+          });
+        }
+        pending.add(future);
+      }
+
+      CompletableFuture<Void> applied;
+      try {
+        applied = applyFrom(0);
+      } catch (RuntimeException e) {
+        applied = CompletableFuture.failedFuture(e);
+      }
+
+      return applied
+          .whenComplete((ignored, e) -> {
+            pending.stream().filter(Objects::nonNull).forEach(f -> f.cancel(false));
+            // tracked rules that weren't applied, e.g. after a Strong rule has failed
+            for (int i = 0; i < permissions.length; i++) {
+              report(i, -1);
+            }
+          })
+          .thenApply(ignored -> validationMessages);
+    }
+
+    /**
+     * Reports the latency of a tracked rule once, a negative one if the rule wasn't validated.
+     */
+    private void report(int index, long nanos) {
+      var permission = permissions[index];
+      if (permission == null || !reported.add(index)) {
+        return;
+      }
+      if (nanos < 0) {
+        permission.onCancelled();
+      } else {
+        permission.onCompleted(nanos);
+      }
+    }
+
+    private CompletableFuture<Void> applyFrom(int first) {
+      for (int i = first; i < rules.size(); i++) {
+        var rule = rules.get(i);
+        var future = pending.get(i);
+        // a remote rule that gave up at the deadline hasn't answered either
+        var answered = future == null || future.isDone() && !timedOut(future);
+        var expired = deadline.isExpired();
+
+        if (bypassed[i]) {
+          log.warn("Rule is degraded, skipping it: {}", () -> ruleBriefDescription(rule));
+          skippedRules.add(rule.getName());
+          timings.rule(rule, OutcomeEnum.BYPASSED, null);
+          continue;
+        }
+        if (expired && (future == null || !answered) && !isStrong(rule)) {
+          log.warn("Time budget exhausted, skipping rule: {}", () -> ruleBriefDescription(rule));
+          skippedRules.add(rule.getName());
+          // a rule that didn't answer in time is at least this slow
+          var elapsed = future != null ? System.nanoTime() - startedAt[i] : -1;
+          report(i, elapsed);
+          timings.rule(rule, OutcomeEnum.SKIPPED, elapsed < 0 ? null : elapsed);
+          continue;
+        }
+        if (!answered && !expired) {
+          var next = i;
+          // a failed answer is handled when the rule is applied
+          return CompletableFuture.anyOf(future, deadline.expiry())
+              .exceptionally(e -> null)
+              .thenComposeAsync(ignored -> applyFrom(next), continuation);
+        }
+
+        ValidationErrors errors;
+        long elapsed;
+        if (!answered) {
+          log.warn("Time budget exhausted, rule timed out: {}", () -> ruleBriefDescription(rule));
+          errors = ((AsyncValidator) validators.get(i)).deadlineExceeded();
+          elapsed = timings.isEnabled() ? System.nanoTime() - startedAt[i] : 0;
+        } else if (future != null) {
+          errors = join(future);
+          elapsed = timings.isEnabled() ? answerTime(i) : 0;
+        } else {
+          var timed = permissions[i] != null || timings.isEnabled();
+          var validationStart = timed ? System.nanoTime() : 0;
+          var validator = validators.get(i);
+          errors = tracing.inSpan(tracing.startRuleSpan(rule),
+              () -> RuleEvaluationEvent.record(rule, () -> validator.validate(password, userData)));
+          elapsed = timed ? System.nanoTime() - validationStart : 0;
+          report(i, elapsed);
+        }
+
+        if (errors.hasErrors()) {
+          audit.ruleFailed(rule);
+        }
+        validationMessages.addAll(errors.getErrorMessages());
+        timings.rule(rule, !answered ? OutcomeEnum.TIMEDOUT
+            : errors.hasErrors() ? OutcomeEnum.INVALID : OutcomeEnum.VALID, elapsed);
+
+        if (errors.hasErrors() && isStrong(rule)) {
+          rules.subList(i + 1, rules.size()).forEach(notApplied -> timings.rule(notApplied, OutcomeEnum.NOTAPPLIED,
+              null));
+          break;
+        }
+      }
+      return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Returns the time a remote rule took to answer; if its answer has only just arrived, the time until now.
+     */
+    private long answerTime(int index) {
+      var answered = answeredAt.get(index);
+      return (answered != 0 ? answered : System.nanoTime()) - startedAt[index];
+    }
+
+    private static boolean timedOut(CompletableFuture<ValidationErrors> future) {
+      if (!future.isCompletedExceptionally()) {
+        return false;
+      }
+      try {
+        future.getNow(null);
+        return false;
+      } catch (CompletionException | CancellationException e) {
+        return LatencyPolicyExecutor.unwrap(e) instanceof TimeoutException;
+      }
+    }
+
+    private static boolean isStrong(PasswordValidationRule rule) {
+      return ValidationType.STRONG == ValidationType.fromValue(rule.getValidationType());
+    }
+  }
+
 }
@@ -0,0 +1,126 @@
+package org.folio.pv.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.folio.pv.domain.dto.RuleTiming;
+import org.folio.pv.domain.dto.RuleTiming.OutcomeEnum;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+
+/**
+ * Time spent on the steps of a validation in explain mode, returned as the rule timings of the result and as a
+ * {@code Server-Timing} header. {@link #OFF} records nothing and doesn't read the clock, so validations that aren't
+ * explained don't pay for it.
+ */
+public final class ValidationTimings {
+
+  public static final ValidationTimings OFF = new ValidationTimings(false);
+
+  public static final String ADMISSION = "admission";
+  public static final String USER_LOOKUP = "user";
+  public static final String RULE_LOADING = "rules";
+  public static final String SERIALIZATION = "serialization";
+
+  private static final long NANOS_PER_MILLI = 1_000_000;
+
+  private final boolean enabled;
+  private final long startedAt;
+  private final Map<String, Long> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+  private final List<RuleTiming> rules = Collections.synchronizedList(new ArrayList<>());
+
+
+  private ValidationTimings(boolean enabled) {
+    this.enabled = enabled;
+    this.startedAt = now();
+  }
+
+  /**
+   * Starts timing a validation now.
+   */
+  public static ValidationTimings start() {
+    return new ValidationTimings(true);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the time a step starts at, zero when off.
+   */
+  public long now() {
+    return enabled ? System.nanoTime() : 0;
+  }
+
+  public long getStartedAt() {
+    return startedAt;
+  }
+
+  /**
+   * Records a step that started at the given time and has just ended.
+   */
+  public void phase(String name, long since) {
+    if (enabled) {
+      phases.merge(name, System.nanoTime() - since, Long::sum);
+    }
+  }
+
+  /**
+   * Records the outcome of a rule and the time it took, null if it wasn't applied.
+   */
+  public void rule(PasswordValidationRule rule, OutcomeEnum outcome, Long nanos) {
+    if (enabled) {
+      rules.add(new RuleTiming()
+          .ruleId(String.valueOf(rule.getId()))
+          .name(rule.getName())
+          .validationType(rule.getValidationType())
+          .outcome(outcome)
+          .durationMillis(nanos == null ? null : millis(nanos)));
+    }
+  }
+
+  public List<RuleTiming> getRules() {
+    synchronized (rules) {
+      return new ArrayList<>(rules);
+    }
+  }
+
+  /**
+   * Returns the {@code Server-Timing} header value: the steps in the order they ended, then the rules that were
+   * applied, numbered in rule order and described by their names, then the total.
+   */
+  public String toServerTiming() {
+    var metrics = new ArrayList<String>();
+    synchronized (phases) {
+      phases.forEach((name, nanos) -> metrics.add(metric(name, null, millis(nanos))));
+    }
+    var ruleTimings = getRules();
+    for (int i = 0; i < ruleTimings.size(); i++) {
+      var ruleTiming = ruleTimings.get(i);
+      if (ruleTiming.getDurationMillis() != null) {
+        metrics.add(metric("rule" + (i + 1), ruleTiming.getName(), ruleTiming.getDurationMillis()));
+      }
+    }
+    metrics.add(metric("total", null, millis(System.nanoTime() - startedAt)));
+    return String.join(", ", metrics);
+  }
+
+  private static String metric(String name, String description, BigDecimal millis) {
+    var metric = new StringBuilder(name);
+    if (description != null) {
+      var quoted = description.replaceAll("\\p{Cntrl}", " ").replace("\\", "\\\\").replace("\"", "\\\"");
+      metric.append(";desc=\"").append(quoted).append('"');
+    }
+    return metric.append(";dur=").append(millis.toPlainString()).toString();
+  }
+
+  private static BigDecimal millis(long nanos) {
+    return BigDecimal.valueOf(nanos).divide(BigDecimal.valueOf(NANOS_PER_MILLI), 3, RoundingMode.HALF_UP);
+  }
+
+}
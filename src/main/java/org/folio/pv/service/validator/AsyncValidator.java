@@ -0,0 +1,42 @@
+package org.folio.pv.service.validator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.resilience.Deadline;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+
+/**
+ * Validator which doesn't block the calling thread while waiting for a remote service.
+ * {@link #validateAsync} has to be called on the request thread, the returned future may complete on any other.
+ */
+public interface AsyncValidator extends Validator {
+
+  CompletableFuture<ValidationErrors> validateAsync(String password, UserData user);
+
+  /**
+   * Validates the password, taking no longer than the deadline allows if the validator supports it.
+   */
+  default CompletableFuture<ValidationErrors> validateAsync(String password, UserData user, Deadline deadline) {
+    return validateAsync(password, user);
+  }
+
+  /**
+   * Returns the result of a validation that hasn't completed by the deadline; fails by default.
+   */
+  default ValidationErrors deadlineExceeded() {
+    throw new IllegalStateException("Validation didn't complete within the time budget");
+  }
+
+  @Override
+  default ValidationErrors validate(String password, UserData user) {
+    try {
+      return validateAsync(password, user).join();
+    } catch (CompletionException e) {
+      var cause = LatencyPolicyExecutor.unwrap(e);
+      throw cause instanceof RuntimeException ? (RuntimeException) cause : new RuntimeException(cause);
+    }
+  }
+}
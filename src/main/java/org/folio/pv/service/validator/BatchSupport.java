@@ -0,0 +1,55 @@
+package org.folio.pv.service.validator;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.config.ProgrammaticRuleProperties;
+
+/**
+ * Remembers endpoints which answered a batched call with "not found" or "not implemented",
+ * so that they are called one rule at a time until the recheck interval passes.
+ */
+@Component
+@Log4j2
+class BatchSupport {
+
+  private final Map<String, Long> unsupportedUntil = new ConcurrentHashMap<>();
+  private final long recheckIntervalNanos;
+  private final LongSupplier nanoClock;
+
+
+  @Autowired
+  BatchSupport(ProgrammaticRuleProperties properties) {
+    this(properties.getBatching().getUnsupportedRecheckInterval(), System::nanoTime);
+  }
+
+  BatchSupport(Duration recheckInterval, LongSupplier nanoClock) {
+    this.recheckIntervalNanos = recheckInterval.toNanos();
+    this.nanoClock = nanoClock;
+  }
+
+  boolean isSupported(String endpoint) {
+    var until = unsupportedUntil.get(endpoint);
+    if (until == null) {
+      return true;
+    }
+
+    if (nanoClock.getAsLong() - until >= 0) {
+      unsupportedUntil.remove(endpoint, until);
+      return true;
+    }
+    return false;
+  }
+
+  void markUnsupported(String endpoint) {
+    log.info("Endpoint [{}] doesn't support batched validation, falling back to single calls", endpoint);
+    unsupportedUntil.put(endpoint, nanoClock.getAsLong() + recheckIntervalNanos);
+  }
+
+}
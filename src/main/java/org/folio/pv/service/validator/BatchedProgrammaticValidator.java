@@ -0,0 +1,64 @@
+package org.folio.pv.service.validator;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.resilience.Deadline;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+
+/**
+ * Validates a Programmatic rule as part of a {@link ProgrammaticBatch}. If the batch has no result for the rule,
+ * the rule is validated with a single call.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Log4j2
+class BatchedProgrammaticValidator implements AsyncValidator {
+
+  private final PasswordValidationRule rule;
+  @Getter(AccessLevel.PACKAGE)
+  private final ProgrammaticBatch batch;
+  private final ProgrammaticValidator singleCallValidator;
+
+
+  @Override
+  public CompletableFuture<ValidationErrors> validateAsync(String password, UserData user) {
+    return validateAsync(password, user, Deadline.NONE);
+  }
+
+  @Override
+  public CompletableFuture<ValidationErrors> validateAsync(String password, UserData user, Deadline deadline) {
+    // prepared upfront as the fallback may run outside of the request thread
+    var singleCall = singleCallValidator.prepare(password, user, deadline);
+
+    return batch.results(password, user, deadline)
+        .handle((results, exc) -> {
+          if (exc == null) {
+            var result = results.get(String.valueOf(rule.getId()));
+            if (result != null) {
+              return CompletableFuture.completedFuture(ValidationErrors.of(result.getMessages()));
+            }
+          } else if (LatencyPolicyExecutor.unwrap(exc) instanceof TimeoutException) {
+            return CompletableFuture.completedFuture(singleCallValidator.handleTimeout(batch.getPolicy()));
+          }
+
+          log.debug("No batched result for rule [{}], sending a single call", rule.getName());
+          return singleCallValidator.execute(singleCall);
+        })
+        .thenCompose(Function.identity());
+  }
+
+  @Override
+  public ValidationErrors deadlineExceeded() {
+    return singleCallValidator.deadlineExceeded();
+  }
+
+}
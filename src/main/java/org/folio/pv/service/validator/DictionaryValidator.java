@@ -0,0 +1,43 @@
+package org.folio.pv.service.validator;
+
+import java.util.Arrays;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+
+import org.folio.pv.dictionary.DictionaryRegistry;
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+
+/**
+ * Rejects passwords containing a word of the dictionaries listed, comma separated, in the rule expression.
+ * Leetspeak substitutions are normalized if the implementation reference of the rule is "leetspeak".
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Log4j2
+class DictionaryValidator implements Validator {
+
+  static final String LEETSPEAK = "leetspeak";
+
+  private final PasswordValidationRule rule;
+  private final DictionaryRegistry dictionaryRegistry;
+
+
+  @Override
+  public ValidationErrors validate(String password, UserData user) {
+    var leetspeak = LEETSPEAK.equalsIgnoreCase(StringUtils.trim(rule.getImplementationReference()));
+    var text = DictionaryRegistry.normalize(password, leetspeak);
+
+    var found = Arrays.stream(StringUtils.split(StringUtils.defaultString(rule.getRuleExpression()), ','))
+        .map(String::trim)
+        .filter(StringUtils::isNotEmpty)
+        .anyMatch(name -> dictionaryRegistry.getDictionary(name, leetspeak).containsAny(text));
+
+    log.debug("Dictionary rule [{}]: password contains a dictionary word: {}", rule.getName(), found);
+    return found ? ValidationErrors.of(rule.getErrMessageId()) : ValidationErrors.none();
+  }
+
+}
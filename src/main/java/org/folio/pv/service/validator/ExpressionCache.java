@@ -0,0 +1,101 @@
+package org.folio.pv.service.validator;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.SimpleEvaluationContext;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.jfr.CacheAccessEvent;
+
+/**
+ * Parses the expressions of Expression rules and compiles them to bytecode, once per rule version.
+ *
+ * <p>Expressions are evaluated against {@link PasswordFeatures} in a read-only data binding context:
+ * only properties of the features can be read, there are no type references, constructors, bean references
+ * or assignments. An expression is compiled after a warm-up evaluation; expressions that can't be compiled
+ * (e.g. using the {@code matches} operator) stay interpreted.
+ */
+@Component
+@Log4j2
+class ExpressionCache {
+
+  static final PasswordFeatures WARM_UP_FEATURES = PasswordFeatures.of("Warm-up 1", new UserData("", "user"));
+
+  private final SpelExpressionParser parser = new SpelExpressionParser(
+      new SpelParserConfiguration(SpelCompilerMode.MIXED, ExpressionCache.class.getClassLoader()));
+  private final Map<UUID, CachedExpression> expressions = new ConcurrentHashMap<>();
+
+
+  Expression expressionOf(PasswordValidationRule rule) {
+    var text = rule.getRuleExpression();
+    if (rule.getId() == null) {
+      return compile(text);
+    }
+
+    var event = CacheAccessEvent.begin("expressions");
+    var hit = new boolean[1];
+    var expression = expressions.compute(rule.getId(), (id, cached) -> {
+      hit[0] = cached != null && Objects.equals(cached.getText(), text);
+      return hit[0] ? cached : new CachedExpression(text, compile(text));
+    }).getExpression();
+    event.complete(hit[0] ? "hit" : "miss");
+    return expression;
+  }
+
+  /**
+   * Parses the expression of a rule being stored.
+   *
+   * @throws InvalidRuleException if it doesn't parse
+   */
+  Expression parse(String text) {
+    if (StringUtils.isBlank(text)) {
+      throw new InvalidRuleException("Expression rule has no expression");
+    }
+    try {
+      return parser.parseExpression(text);
+    } catch (ParseException e) {
+      throw new InvalidRuleException("Invalid rule expression: " + e.getMessage());
+    }
+  }
+
+  static EvaluationContext evaluationContext() {
+    return SimpleEvaluationContext.forReadOnlyDataBinding().build();
+  }
+
+  private Expression compile(String text) {
+    var expression = (SpelExpression) parser.parseExpression(text);
+
+    try {
+      expression.getValue(evaluationContext(), WARM_UP_FEATURES, Boolean.class);
+      if (!expression.compileExpression()) {
+        log.debug("Expression [{}] can't be compiled, it will be interpreted", text);
+      }
+    } catch (RuntimeException e) {
+      log.debug("Warm-up evaluation of expression [{}] failed, it will be interpreted: {}", text, e.getMessage());
+    }
+    return expression;
+  }
+
+  @Value
+  private static class CachedExpression {
+
+    String text;
+    Expression expression;
+  }
+
+}
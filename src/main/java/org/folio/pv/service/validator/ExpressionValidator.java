@@ -0,0 +1,33 @@
+package org.folio.pv.service.validator;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.expression.Expression;
+
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+
+/**
+ * Validates the password with a boolean expression of the rule, {@code true} meaning the password is valid.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Log4j2
+class ExpressionValidator implements Validator {
+
+  private final PasswordValidationRule rule;
+  private final Expression expression;
+
+
+  @Override
+  public ValidationErrors validate(String password, UserData user) {
+    var features = PasswordFeatures.of(password, user);
+
+    var valid = expression.getValue(ExpressionCache.evaluationContext(), features, Boolean.class);
+    log.debug("Expression rule [{}] result: {}", rule.getName(), valid);
+
+    return Boolean.TRUE.equals(valid) ? ValidationErrors.none() : ValidationErrors.of(rule.getErrMessageId());
+  }
+
+}
@@ -0,0 +1,13 @@
+package org.folio.pv.service.validator;
+
+/**
+ * Thrown when a rule can't be used to validate passwords, e.g. because the expression of an Expression rule doesn't
+ * parse.
+ */
+public class InvalidRuleException extends RuntimeException {
+
+  public InvalidRuleException(String message) {
+    super(message);
+  }
+
+}
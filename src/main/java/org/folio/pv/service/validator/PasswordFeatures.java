@@ -0,0 +1,70 @@
+package org.folio.pv.service.validator;
+
+import static org.apache.commons.lang3.StringUtils.containsIgnoreCase;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+import java.util.Arrays;
+
+import lombok.Value;
+
+import org.folio.pv.domain.dto.UserData;
+
+/**
+ * Properties of a password available to Expression rules, e.g. {@code length >= 12 and !containsUsername}.
+ */
+@Value
+public class PasswordFeatures {
+
+  String password;
+  String username;
+  int length;
+  int lowercaseCount;
+  int uppercaseCount;
+  int digitCount;
+  int specialCount;
+  int whitespaceCount;
+  int distinctCount;
+  /**
+   * Length of the longest run of the same character.
+   */
+  int longestRun;
+  boolean containsUsername;
+
+
+  public static PasswordFeatures of(String password, UserData user) {
+    int lower = 0;
+    int upper = 0;
+    int digits = 0;
+    int special = 0;
+    int whitespace = 0;
+    int longestRun = 0;
+    int run = 0;
+    int previous = -1;
+
+    var codePoints = password.codePoints().toArray();
+    for (int cp : codePoints) {
+      if (Character.isLowerCase(cp)) {
+        lower++;
+      } else if (Character.isUpperCase(cp)) {
+        upper++;
+      } else if (Character.isDigit(cp)) {
+        digits++;
+      } else if (Character.isWhitespace(cp)) {
+        whitespace++;
+      } else {
+        special++;
+      }
+
+      run = cp == previous ? run + 1 : 1;
+      longestRun = Math.max(longestRun, run);
+      previous = cp;
+    }
+
+    var username = user.getName();
+    var distinct = (int) Arrays.stream(codePoints).distinct().count();
+
+    return new PasswordFeatures(password, username, codePoints.length, lower, upper, digits, special, whitespace,
+        distinct, longestRun, isNotEmpty(username) && containsIgnoreCase(password, username));
+  }
+
+}
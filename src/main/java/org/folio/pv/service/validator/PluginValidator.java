@@ -0,0 +1,57 @@
+package org.folio.pv.service.validator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import org.folio.pv.domain.ValidationType;
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.plugin.ValidatorPlugin;
+
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Log4j2
+class PluginValidator implements Validator {
+
+  private static final String METRIC_NAME = "pv.plugin.calls";
+
+  private final PasswordValidationRule rule;
+  private final ValidatorPlugin plugin;
+  private final MeterRegistry meterRegistry;
+
+
+  @Override
+  public ValidationErrors validate(String password, UserData user) {
+    if (plugin == null) {
+      return handleMissingPlugin();
+    }
+
+    var sample = Timer.start(meterRegistry);
+    var outcome = "error";
+    try {
+      var errors = plugin.validate(password, user);
+      outcome = errors.hasErrors() ? "invalid" : "valid";
+      return errors;
+    } finally {
+      sample.stop(Timer.builder(METRIC_NAME)
+          .description("Calls to a validator plugin")
+          .tags("plugin", plugin.getId(), "outcome", outcome)
+          .register(meterRegistry));
+    }
+  }
+
+  private ValidationErrors handleMissingPlugin() {
+    var message = "Validator plugin [" + rule.getImplementationReference() + "] of rule [" + rule.getName()
+        + "] is not loaded";
+
+    if (ValidationType.STRONG.getValue().equals(rule.getValidationType())) {
+      throw new IllegalStateException(message);
+    }
+    log.warn("{}, the rule is skipped", message);
+    return ValidationErrors.none();
+  }
+
+}
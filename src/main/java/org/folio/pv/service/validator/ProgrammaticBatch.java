@@ -0,0 +1,126 @@
+package org.folio.pv.service.validator;
+
+import static java.util.Collections.emptyMap;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.util.List;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+
+import org.folio.pv.client.JsonBodySubscriber;
+import org.folio.pv.domain.dto.BatchValidationRequest;
+import org.folio.pv.domain.dto.BatchValidationResponse;
+import org.folio.pv.domain.dto.BatchValidationResponse.RuleResult;
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.jfr.OutboundCallEvent;
+import org.folio.pv.resilience.AdaptiveLimiter;
+import org.folio.pv.resilience.Deadline;
+import org.folio.pv.resilience.LatencyPolicy;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+import org.folio.pv.tracing.Tracing;
+import org.folio.spring.FolioExecutionContext;
+
+/**
+ * One call validating the password against several Programmatic rules with the same implementation reference.
+ * The call is sent by the first of the rules' validators and its results are shared by all of them.
+ * Rules missing from the response, e.g. because the endpoint doesn't support batching, get an empty result.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+@Log4j2
+class ProgrammaticBatch {
+
+  private final List<PasswordValidationRule> rules;
+  private final String supportKey;
+  private final String batchPath;
+  @Getter
+  private final LatencyPolicy policy;
+  private final FolioExecutionContext folioExecutionContext;
+  private final ObjectMapper jacksonObjectMapper;
+  private final HttpClient httpClient;
+  private final LatencyPolicyExecutor policyExecutor;
+  private final AdaptiveLimiter limiter;
+  private final Executor moduleExecutor;
+  private final BatchSupport batchSupport;
+  private final Tracing tracing;
+
+  private CompletableFuture<Map<String, RuleResult>> results;
+
+  /**
+   * Returns results by rule id. The first invocation sends the call, its timeout capped by the time left, so it has
+   * to happen on the request thread.
+   */
+  synchronized CompletableFuture<Map<String, RuleResult>> results(String password, UserData user,
+      Deadline deadline) {
+    if (results == null) {
+      results = send(password, user, deadline);
+    }
+    return results;
+  }
+
+  private CompletableFuture<Map<String, RuleResult>> send(String password, UserData user, Deadline deadline) {
+    var ruleIds = rules.stream().map(rule -> String.valueOf(rule.getId())).collect(Collectors.toList());
+    var body = new BatchValidationRequest(password, user.getId(), ruleIds);
+    var callPolicy = policy.toBuilder().timeout(deadline.cap(policy.getTimeout())).build();
+    var span = tracing.startClientSpan(limiter.getName(), "POST");
+    var builder = ProgrammaticValidator.requestBuilder(folioExecutionContext, batchPath,
+        ProgrammaticValidator.toJson(jacksonObjectMapper, body), callPolicy.getTimeout());
+    tracing.inject(span, builder::header);
+    var request = builder.build();
+
+    log.debug("Sending batched validation request to: {}, rules: {}", request.uri(), ruleIds);
+
+    var event = OutboundCallEvent.begin(limiter.getName(), "POST");
+    return policyExecutor.execute(callPolicy,
+        () -> ProgrammaticValidator.sendLimited(limiter, () -> ProgrammaticValidator.completeOn(moduleExecutor,
+            httpClient.sendAsync(request, responseInfo -> bodySubscriber(responseInfo.statusCode())))),
+        ProgrammaticValidator::isRetryable, LatencyPolicyExecutor.Listener.NONE)
+        .whenComplete((results, exc) -> {
+          event.complete(exc);
+          Tracing.end(span, exc);
+        });
+  }
+
+  /**
+   * Combines the policies of the batched rules, so that the call is no more patient than any of them:
+   * the shortest timeout, the fewest retries, and a hedged attempt only if every rule hedges, after the longest delay.
+   */
+  static LatencyPolicy strictest(List<LatencyPolicy> policies) {
+    var timeout = policies.stream().map(LatencyPolicy::getTimeout).filter(Objects::nonNull)
+        .min(Comparator.naturalOrder()).orElse(null);
+    var maxRetries = policies.stream().mapToInt(LatencyPolicy::getMaxRetries).min().orElse(0);
+    var hedgeDelay = policies.stream().allMatch(policy -> policy.getHedgeDelay() != null)
+        ? policies.stream().map(LatencyPolicy::getHedgeDelay).max(Comparator.naturalOrder()).orElse(null)
+        : null;
+    return LatencyPolicy.builder().timeout(timeout).maxRetries(maxRetries).hedgeDelay(hedgeDelay).build();
+  }
+
+  private BodySubscriber<Map<String, RuleResult>> bodySubscriber(int statusCode) {
+    if (ProgrammaticValidator.isSuccessful(statusCode)) {
+      return BodySubscribers.mapping(new JsonBodySubscriber<>(jacksonObjectMapper, BatchValidationResponse.class),
+          response -> response.getResults().stream()
+              .collect(Collectors.toMap(RuleResult::getRuleId, Function.identity(), (first, second) -> first)));
+    }
+
+    if (statusCode == 404 || statusCode == 405 || statusCode == 501) {
+      batchSupport.markUnsupported(supportKey);
+    } else {
+      log.warn("Batched validation request failed: statusCode = {}", statusCode);
+    }
+    return BodySubscribers.replacing(emptyMap());
+  }
+
+}
@@ -1,82 +1,346 @@
 package org.folio.pv.service.validator;
 
-import java.io.ByteArrayOutputStream;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.net.http.HttpResponse.BodySubscribers;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.trace.Span;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
+import lombok.Value;
 import lombok.extern.log4j.Log4j2;
-import org.apache.http.client.methods.HttpPost;
-import org.apache.http.entity.StringEntity;
-import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 
+import org.folio.pv.client.JsonBodySubscriber;
+import org.folio.pv.domain.TimeoutAction;
 import org.folio.pv.domain.ValidationType;
 import org.folio.pv.domain.dto.Password;
 import org.folio.pv.domain.dto.UserData;
 import org.folio.pv.domain.dto.ValidationErrors;
 import org.folio.pv.domain.dto.ValidationResult;
 import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.jfr.OutboundCallEvent;
+import org.folio.pv.resilience.AdaptiveLimiter;
+import org.folio.pv.resilience.Deadline;
+import org.folio.pv.resilience.LatencyPolicy;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+import org.folio.pv.resilience.LimitExceededException;
+import org.folio.pv.tracing.Tracing;
 import org.folio.spring.FolioExecutionContext;
 
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 @Log4j2
-class ProgrammaticValidator implements Validator {
+class ProgrammaticValidator implements AsyncValidator {
+
+  private static final String METRIC_PREFIX = "pv.programmatic.rule.";
 
   private final PasswordValidationRule rule;
   private final FolioExecutionContext folioExecutionContext;
   private final ObjectMapper jacksonObjectMapper;
+  private final HttpClient httpClient;
+  private final LatencyPolicyExecutor policyExecutor;
+  private final AdaptiveLimiter limiter;
+  private final Executor moduleExecutor;
+  private final int maxRetriesLimit;
+  private final MeterRegistry meterRegistry;
+  private final Tracing tracing;
 
 
   @Override
-  public ValidationErrors validate(String password, UserData user) {
-    try (CloseableHttpClient client = HttpClients.createDefault()) {
-      var httpPost = new HttpPost(folioExecutionContext.getOkapiUrl() + rule.getImplementationReference());
+  public CompletableFuture<ValidationErrors> validateAsync(String password, UserData user) {
+    return validateAsync(password, user, Deadline.NONE);
+  }
 
-      addHeaders(httpPost);
-      addBody(httpPost, password, user);
+  @Override
+  public CompletableFuture<ValidationErrors> validateAsync(String password, UserData user, Deadline deadline) {
+    return execute(prepare(password, user, deadline));
+  }
 
-      log.info("Sending validation request to: {}", httpPost.getURI().toURL());
-      var response = client.execute(httpPost);
+  @Override
+  public ValidationErrors deadlineExceeded() {
+    return handleTimeout(latencyPolicy());
+  }
 
-      var buffer = new ByteArrayOutputStream();
-      response.getEntity().writeTo(buffer);
+  /**
+   * Builds the request of a single call, its timeout capped by the time left, and starts the span of the call. Has
+   * to be called on the request thread, as it reads the execution context.
+   */
+  PreparedCall prepare(String password, UserData user, Deadline deadline) {
+    var policy = latencyPolicy(deadline);
+    var span = tracing.startClientSpan(limiter.getName(), "POST");
+    return new PreparedCall(buildRequest(password, user, policy.getTimeout(), span), policy, span);
+  }
 
-      var statusCode = response.getStatusLine().getStatusCode();
-      var body = buffer.toString();
-      log.info("Validation response: statusCode = {}, body = [{}]", statusCode, body);
+  CompletableFuture<ValidationErrors> execute(PreparedCall call) {
+    var request = call.getRequest();
+    var policy = call.getPolicy();
 
-      if (statusCode < 200 || statusCode > 202) {
-        if (ValidationType.STRONG.getValue().equals(rule.getValidationType())) {
-          throw new RuntimeException(body);
-        } else {
-          return ValidationErrors.none();
-        }
-      }
+    log.debug("Sending validation request to: {}", request.uri());
+    var sample = Timer.start(meterRegistry);
 
-      ValidationResult validationResult = jacksonObjectMapper.readValue(body, ValidationResult.class);
-      return ValidationErrors.of(validationResult.getMessages());
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
+    var event = OutboundCallEvent.begin(limiter.getName(), "POST");
+    return policyExecutor.execute(policy, () -> send(request), ProgrammaticValidator::isRetryable,
+        new MetricsListener())
+        .whenComplete((response, exc) -> {
+          event.complete(exc);
+          Tracing.end(call.getSpan(), exc);
+        })
+        .handle((response, exc) -> {
+          if (exc == null) {
+            stopTimer(sample, "success");
+            return handleResponse(response);
+          }
+
+          var cause = LatencyPolicyExecutor.unwrap(exc);
+          if (cause instanceof TimeoutException) {
+            stopTimer(sample, "timeout");
+            return handleTimeout(policy);
+          }
+          stopTimer(sample, "error");
+          throw new CompletionException(cause);
+        });
   }
 
-  private void addBody(HttpPost httpPost, String password, UserData user) throws UnsupportedEncodingException,
-      JsonProcessingException {
-    httpPost.setEntity(new StringEntity(jacksonObjectMapper.writeValueAsString(
-        new Password().password(password).userId(user.getId())))
-    );
+  private HttpRequest buildRequest(String password, UserData user, Duration timeout, Span span) {
+    var body = new Password().password(password).userId(user.getId());
+    var builder = requestBuilder(folioExecutionContext, rule.getImplementationReference(),
+        toJson(jacksonObjectMapper, body), timeout);
+    tracing.inject(span, builder::header);
+    return builder.build();
   }
 
-  private void addHeaders(HttpPost httpPost) {
+  static HttpRequest.Builder requestBuilder(FolioExecutionContext folioExecutionContext, String path, String body,
+      Duration timeout) {
+    var builder = HttpRequest.newBuilder()
+        .uri(URI.create(folioExecutionContext.getOkapiUrl() + path))
+        .POST(HttpRequest.BodyPublishers.ofString(body));
+
     folioExecutionContext.getOkapiHeaders()
-        .forEach((key, values) -> values.forEach(value -> httpPost.addHeader(key, value)));
+        .forEach((key, values) -> values.forEach(value -> builder.header(key, value)));
     // Some servers choke on the default accept string.
-    httpPost.addHeader("accept", "*/*");
-    httpPost.addHeader("content-type", "application/json");
+    builder.header("accept", "*/*");
+    builder.header("content-type", "application/json");
+
+    if (timeout != null) {
+      builder.timeout(timeout);
+    }
+    return builder;
+  }
+
+  private CompletableFuture<Response> send(HttpRequest request) {
+    return sendLimited(limiter, () -> completeOn(moduleExecutor,
+        httpClient.sendAsync(request, responseInfo -> bodySubscriber(responseInfo.statusCode()))));
+  }
+
+  /**
+   * Sends a call if the limiter allows it. A shed call is reported as a timeout, so that it is retried after a
+   * backoff or handled according to the rule's {@code onTimeout}.
+   */
+  static <T> CompletableFuture<T> sendLimited(AdaptiveLimiter limiter, Supplier<CompletableFuture<T>> send) {
+    var permit = limiter.tryAcquire();
+    if (permit == null) {
+      return CompletableFuture.failedFuture(
+          timeoutCausedBy(new LimitExceededException("Concurrency limit of " + limiter.getName() + " reached")));
+    }
+
+    CompletableFuture<T> future;
+    try {
+      future = send.get();
+    } catch (RuntimeException e) {
+      permit.dropped();
+      throw e;
+    }
+    return future.whenComplete((result, exc) -> {
+      if (exc == null) {
+        permit.success();
+      } else {
+        permit.dropped();
+      }
+    });
+  }
+
+  /**
+   * Completes the call with the response body on the executor of the module, so that the handling of the responses
+   * of one module doesn't hold the threads of the others. A response the saturated executor can't take is reported
+   * as a timeout, like a shed call.
+   */
+  static <T> CompletableFuture<T> completeOn(Executor executor, CompletableFuture<HttpResponse<T>> call) {
+    var result = new CompletableFuture<T>();
+    call.whenComplete((response, exc) -> {
+      try {
+        executor.execute(() -> {
+          if (exc == null) {
+            result.complete(response.body());
+          } else {
+            result.completeExceptionally(sendFailure(exc));
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        result.completeExceptionally(timeoutCausedBy(e));
+      }
+    });
+    return result;
+  }
+
+  static CompletionException sendFailure(Throwable exc) {
+    var cause = LatencyPolicyExecutor.unwrap(exc);
+    if (cause instanceof HttpTimeoutException) {
+      // reported the same way as an expired policy timeout
+      return new CompletionException(timeoutCausedBy(cause));
+    }
+    return new CompletionException(cause);
+  }
+
+  private static TimeoutException timeoutCausedBy(Throwable cause) {
+    var timeout = new TimeoutException(cause.getMessage());
+    timeout.initCause(cause);
+    return timeout;
+  }
+
+  private BodySubscriber<Response> bodySubscriber(int statusCode) {
+    if (isSuccessful(statusCode)) {
+      return BodySubscribers.mapping(new JsonBodySubscriber<>(jacksonObjectMapper, ValidationResult.class),
+          result -> new Response(statusCode, result, null));
+    } else {
+      return BodySubscribers.mapping(BodySubscribers.ofString(UTF_8),
+          body -> new Response(statusCode, null, body));
+    }
+  }
+
+  private ValidationErrors handleResponse(Response response) {
+    log.debug("Validation response: statusCode = {}, result = [{}]", response.getStatusCode(),
+        response.getResult() != null ? response.getResult() : response.getErrorBody());
+
+    if (!isSuccessful(response.getStatusCode())) {
+      if (isStrong()) {
+        throw new RuntimeException(response.getErrorBody());
+      } else {
+        return ValidationErrors.none();
+      }
+    }
+
+    return ValidationErrors.of(response.getResult().getMessages());
+  }
+
+  ValidationErrors handleTimeout(LatencyPolicy policy) {
+    TimeoutAction action;
+    if (rule.getOnTimeout() != null) {
+      action = TimeoutAction.fromValue(rule.getOnTimeout());
+    } else {
+      action = isStrong() ? TimeoutAction.FAIL : TimeoutAction.SKIP;
+    }
+
+    log.warn("Validation rule [{}] timed out after {} retries, on timeout action: {}", rule.getName(),
+        policy.getMaxRetries(), action);
+
+    switch (action) {
+      case SKIP:
+        return ValidationErrors.none();
+      case REJECT:
+        return ValidationErrors.of(rule.getErrMessageId());
+      default:
+        throw new RuntimeException("Validation rule [" + rule.getName() + "] timed out");
+    }
+  }
+
+  LatencyPolicy latencyPolicy() {
+    return latencyPolicy(Deadline.NONE);
+  }
+
+  LatencyPolicy latencyPolicy(Deadline deadline) {
+    return LatencyPolicy.builder()
+        .timeout(deadline.cap(positiveMillis(rule.getTimeout())))
+        .maxRetries(rule.getMaxRetries() == null ? 0 : Math.max(0, Math.min(rule.getMaxRetries(), maxRetriesLimit)))
+        .hedgeDelay(positiveMillis(rule.getHedgeDelay()))
+        .build();
+  }
+
+  private boolean isStrong() {
+    return ValidationType.STRONG.getValue().equals(rule.getValidationType());
+  }
+
+  static String toJson(ObjectMapper objectMapper, Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private void stopTimer(Timer.Sample sample, String outcome) {
+    sample.stop(Timer.builder(METRIC_PREFIX + "calls")
+        .description("Calls to the implementation of a Programmatic rule")
+        .tags("rule", String.valueOf(rule.getId()), "outcome", outcome)
+        .register(meterRegistry));
+  }
+
+  static boolean isSuccessful(int statusCode) {
+    return statusCode >= 200 && statusCode <= 202;
+  }
+
+  private static Duration positiveMillis(Integer millis) {
+    return millis != null && millis > 0 ? Duration.ofMillis(millis) : null;
+  }
+
+  static boolean isRetryable(Throwable cause) {
+    // a malformed response won't get any better when asked again
+    return (cause instanceof IOException && !(cause instanceof JsonProcessingException))
+        || cause instanceof TimeoutException;
+  }
+
+  @Value
+  static class PreparedCall {
+
+    HttpRequest request;
+    LatencyPolicy policy;
+    Span span;
+  }
+
+  @Value
+  private static class Response {
+
+    int statusCode;
+    ValidationResult result;
+    String errorBody;
+  }
+
+  private class MetricsListener implements LatencyPolicyExecutor.Listener {
+
+    @Override
+    public void onRetry() {
+      increment("retries");
+    }
+
+    @Override
+    public void onHedge() {
+      increment("hedges");
+    }
+
+    @Override
+    public void onTimeout() {
+      increment("timeouts");
+    }
+
+    private void increment(String name) {
+      meterRegistry.counter(METRIC_PREFIX + name, "rule", String.valueOf(rule.getId())).increment();
+    }
   }
 
-}
\ No newline at end of file
+}
@@ -1,48 +1,99 @@
 package org.folio.pv.service.validator;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
 
-import org.folio.pv.client.PwnedClient;
-import org.folio.pv.domain.dto.HashedPasswordUsage;
+import org.folio.pv.client.LocalPwnedSet;
+import org.folio.pv.client.PwnedClientProperties.DegradedOutcome;
+import org.folio.pv.client.PwnedRange;
+import org.folio.pv.client.PwnedRangeCache;
+import org.folio.pv.client.PwnedPasswordsUnavailableException;
+import org.folio.pv.domain.ValidationType;
 import org.folio.pv.domain.dto.PasswordHash;
 import org.folio.pv.domain.dto.UserData;
 import org.folio.pv.domain.dto.ValidationErrors;
 import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.resilience.Deadline;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
 
+/**
+ * Looks the password up in the local set, then in its Pwned Passwords range. A range that isn't cached in memory is
+ * loaded on the executor of the dependency, so that no validation thread waits for the API.
+ */
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 @Log4j2
-class PwnedPasswordValidator implements Validator {
+class PwnedPasswordValidator implements AsyncValidator {
 
   private final PasswordValidationRule rule;
-  private final PwnedClient pwnedClient;
+  private final LocalPwnedSet localSet;
+  private final PwnedRangeCache rangeCache;
+  private final DegradedOutcome degradedOutcome;
 
 
   @Override
-  public ValidationErrors validate(String password, UserData user) {
+  public CompletableFuture<ValidationErrors> validateAsync(String password, UserData user) {
+    return validateAsync(password, user, Deadline.NONE);
+  }
+
+  /**
+   * Validates the password; a range lookup that hasn't completed by the deadline fails with a
+   * {@link TimeoutException}, so that the rule is handled as not answered in time.
+   */
+  @Override
+  public CompletableFuture<ValidationErrors> validateAsync(String password, UserData user, Deadline deadline) {
     if (StringUtils.isBlank(password)) {
-      return ValidationErrors.none();
+      return CompletableFuture.completedFuture(ValidationErrors.none());
     }
-    
+
     var hash = new PasswordHash(password);
 
+    if (localSet.contains(hash)) {
+      log.debug("Pwned Passwords validation: found in the local set");
+      return CompletableFuture.completedFuture(ValidationErrors.of(rule.getErrMessageId()));
+    }
+
     log.debug("Checking password with prefix: {}", hash.getPrefix());
 
-    List<HashedPasswordUsage> usages = pwnedClient.getPwdRange(hash.getPrefix());
+    return rangeCache.getRangeAsync(hash.getPrefix(), deadline.cap(null))
+        .handle((range, exc) -> {
+          if (exc != null) {
+            var cause = LatencyPolicyExecutor.unwrap(exc);
+            if (cause instanceof PwnedPasswordsUnavailableException) {
+              return degradedResult((PwnedPasswordsUnavailableException) cause);
+            }
+            throw new CompletionException(cause);
+          }
+          return result(range, hash);
+        });
+  }
+
+  @Override
+  public ValidationErrors deadlineExceeded() {
+    return degradedResult(new PwnedPasswordsUnavailableException(
+        "Pwned Passwords range lookup didn't complete within the time budget"));
+  }
+
+  private ValidationErrors result(PwnedRange range, PasswordHash hash) {
+    var usageCount = range.usageCount(hash.getSuffix());
 
-    Optional<HashedPasswordUsage> knownHash = usages.stream()
-        .filter(usage -> usage.getSuffix().equals(hash.getSuffix()) && usage.getUsageCount() > 0)
-        .findFirst();
+    log.debug("Pwned Passwords validation: usageCount = {}", usageCount);
 
-    log.info("Pwned Passwords validation: usageCount = {}",
-        knownHash.map(HashedPasswordUsage::getUsageCount).orElse(0));
+    return usageCount == 0 ? ValidationErrors.none() : ValidationErrors.of(rule.getErrMessageId());
+  }
+
+  private ValidationErrors degradedResult(PwnedPasswordsUnavailableException e) {
+    if (degradedOutcome == DegradedOutcome.FAIL && ValidationType.STRONG.getValue().equals(rule.getValidationType())) {
+      throw e;
+    }
 
-    return knownHash.isEmpty() ? ValidationErrors.none() : ValidationErrors.of(rule.getErrMessageId());
+    log.warn("Pwned Passwords check skipped: {}", e.getMessage());
+    return ValidationErrors.none();
   }
 
-}
\ No newline at end of file
+}
@@ -28,12 +28,12 @@ public class RegExpValidator implements Validator {
     var failed = false;
     if (isNotBlank(expression)) {
       var exprWithUser = expression.replace(REGEXP_USER_NAME_PLACEHOLDER, user.getName());
-      log.info("Validating password against regexp: {}", exprWithUser);
+      log.debug("Validating password against regexp: {}", exprWithUser);
 
       var pattern = Pattern.compile(exprWithUser);
 
       failed = !pattern.matcher(password).matches();
-      log.info("Password matching failed: {}", failed);
+      log.debug("Password matching failed: {}", failed);
     }
 
     return failed ? ValidationErrors.of(rule.getErrMessageId()) : ValidationErrors.none();
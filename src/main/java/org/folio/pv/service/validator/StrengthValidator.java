@@ -0,0 +1,65 @@
+package org.folio.pv.service.validator;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.strength.StrengthEstimator;
+
+/**
+ * Rejects passwords whose estimated number of guesses is below the number in the rule expression, 1e8 by
+ * default. If the implementation reference of the rule is "entropy" the expression is the minimum entropy in
+ * bits instead.
+ */
+@Log4j2
+class StrengthValidator implements Validator {
+
+  static final String ENTROPY = "entropy";
+  static final double DEFAULT_MIN_GUESSES = 1e8;
+
+  private final PasswordValidationRule rule;
+  private final StrengthEstimator strengthEstimator;
+  private final boolean entropy;
+  private final double threshold;
+
+
+  StrengthValidator(PasswordValidationRule rule, StrengthEstimator strengthEstimator) {
+    this.rule = rule;
+    this.strengthEstimator = strengthEstimator;
+    this.entropy = ENTROPY.equalsIgnoreCase(StringUtils.trim(rule.getImplementationReference()));
+    this.threshold = threshold(rule.getRuleExpression(), entropy);
+  }
+
+  @Override
+  public ValidationErrors validate(String password, UserData user) {
+    var username = user != null ? user.getName() : null;
+    var strength = entropy
+        ? strengthEstimator.entropyBits(password, username)
+        : strengthEstimator.guessesLog10(password, username);
+
+    log.debug("Strength rule [{}]: password strength {} {}, required {}", rule.getName(), strength,
+        entropy ? "bits" : "log10 guesses", threshold);
+    return strength < threshold ? ValidationErrors.of(rule.getErrMessageId()) : ValidationErrors.none();
+  }
+
+  private static double threshold(String expression, boolean entropy) {
+    if (StringUtils.isBlank(expression)) {
+      return entropy ? Math.log10(DEFAULT_MIN_GUESSES) / Math.log10(2) : Math.log10(DEFAULT_MIN_GUESSES);
+    }
+    double threshold;
+    try {
+      var value = Double.parseDouble(expression.trim());
+      threshold = entropy ? value : Math.log10(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid strength rule expression: " + expression);
+    }
+    // e.g. NaN, or a non-positive number of guesses
+    if (!Double.isFinite(threshold)) {
+      throw new IllegalArgumentException("Invalid strength rule expression: " + expression);
+    }
+    return threshold;
+  }
+
+}
@@ -0,0 +1,85 @@
+package org.folio.pv.service.validator;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.lang3.StringUtils;
+
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.similarity.ApproximateMatcher;
+
+/**
+ * Rejects passwords containing something within {@code maxDistance} edits of the username or of the reversed
+ * username, or containing a substring of the username of at least {@code minSubstringLength} characters.
+ * The rule expression is {@code <maxDistance>[,<minSubstringLength>]}, {@code 1,4} by default.
+ */
+@Log4j2
+class UsernameSimilarityValidator implements Validator {
+
+  static final int DEFAULT_MAX_DISTANCE = 1;
+  static final int DEFAULT_MIN_SUBSTRING_LENGTH = 4;
+
+  private final PasswordValidationRule rule;
+  private final int maxDistance;
+  private final int minSubstringLength;
+
+
+  UsernameSimilarityValidator(PasswordValidationRule rule) {
+    this.rule = rule;
+
+    var parameters = StringUtils.split(StringUtils.defaultString(rule.getRuleExpression()), ',');
+    this.maxDistance = parameter(parameters, 0, DEFAULT_MAX_DISTANCE);
+    this.minSubstringLength = parameter(parameters, 1, DEFAULT_MIN_SUBSTRING_LENGTH);
+  }
+
+  @Override
+  public ValidationErrors validate(String password, UserData user) {
+    var username = user.getName();
+    if (isBlank(username) || password == null) {
+      return ValidationErrors.none();
+    }
+
+    var similar = isSimilar(password, username);
+    log.debug("Username similarity rule [{}]: password is similar to the username: {}", rule.getName(), similar);
+
+    return similar ? ValidationErrors.of(rule.getErrMessageId()) : ValidationErrors.none();
+  }
+
+  private boolean isSimilar(String password, String username) {
+    // a username not longer than twice the distance would match most passwords, e.g. any containing one of the
+    // characters of a two-character username with a distance of one
+    if (username.length() > 2 * maxDistance
+        && (ApproximateMatcher.matchesWithin(username, false, password, maxDistance)
+        || ApproximateMatcher.matchesWithin(username, true, password, maxDistance))) {
+      return true;
+    }
+    return minSubstringLength > 0 && containsSubstringOf(password, username);
+  }
+
+  private boolean containsSubstringOf(String password, String username) {
+    var length = minSubstringLength;
+    for (int i = 0; i + length <= username.length(); i++) {
+      for (int j = 0; j + length <= password.length(); j++) {
+        if (password.regionMatches(true, j, username, i, length)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static int parameter(String[] parameters, int index, int defaultValue) {
+    if (parameters.length <= index || isBlank(parameters[index])) {
+      return defaultValue;
+    }
+    try {
+      return Math.max(0, Integer.parseInt(parameters[index].trim()));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid username similarity rule expression: "
+          + String.join(",", parameters));
+    }
+  }
+
+}
@@ -1,5 +1,8 @@
 package org.folio.pv.service.validator;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.springframework.lang.NonNull;
 
 import org.folio.pv.domain.entity.PasswordValidationRule;
@@ -8,4 +11,20 @@ public interface ValidatorRegistry {
 
   Validator validatorByRule(@NonNull PasswordValidationRule rule);
 
+  /**
+   * Checks that the rule can be used to validate passwords before it is stored, e.g. that the expression of an
+   * Expression rule parses.
+   *
+   * @throws InvalidRuleException if it can't
+   */
+  void checkRule(@NonNull PasswordValidationRule rule);
+
+  /**
+   * Returns validators of the rules in the same order. Validators of different rules may share work,
+   * so they are only valid for a single validation.
+   */
+  default List<Validator> validatorsByRules(@NonNull List<PasswordValidationRule> rules) {
+    return rules.stream().map(this::validatorByRule).collect(Collectors.toList());
+  }
+
 }
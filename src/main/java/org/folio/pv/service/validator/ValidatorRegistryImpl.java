@@ -1,16 +1,36 @@
 package org.folio.pv.service.validator;
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+import java.net.http.HttpClient;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.expression.EvaluationException;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
-import org.folio.pv.client.PwnedClient;
+import org.folio.pv.client.DependencyExecutors;
+import org.folio.pv.client.DependencyLimiters;
+import org.folio.pv.client.LocalPwnedSet;
+import org.folio.pv.client.PwnedClientProperties;
+import org.folio.pv.client.PwnedRangeCache;
+import org.folio.pv.config.ProgrammaticRuleProperties;
+import org.folio.pv.dictionary.DictionaryRegistry;
 import org.folio.pv.domain.RuleType;
 import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.plugin.PluginRegistry;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+import org.folio.pv.strength.StrengthEstimator;
+import org.folio.pv.tracing.Tracing;
 import org.folio.spring.FolioExecutionContext;
 
 @Component
@@ -20,7 +40,21 @@ class ValidatorRegistryImpl implements ValidatorRegistry {
 
   private final FolioExecutionContext folioExecutionContext;
   private final ObjectMapper jacksonObjectMapper;
-  private final PwnedClient pwnedClient;
+  private final LocalPwnedSet localPwnedSet;
+  private final PwnedRangeCache pwnedRangeCache;
+  private final PwnedClientProperties pwnedClientProperties;
+  private final HttpClient programmaticRuleHttpClient;
+  private final LatencyPolicyExecutor programmaticRuleExecutor;
+  private final DependencyLimiters dependencyLimiters;
+  private final DependencyExecutors dependencyExecutors;
+  private final ProgrammaticRuleProperties programmaticRuleProperties;
+  private final MeterRegistry meterRegistry;
+  private final BatchSupport batchSupport;
+  private final PluginRegistry pluginRegistry;
+  private final ExpressionCache expressionCache;
+  private final DictionaryRegistry dictionaryRegistry;
+  private final StrengthEstimator strengthEstimator;
+  private final Tracing tracing;
 
 
   @Override
@@ -34,9 +68,21 @@ class ValidatorRegistryImpl implements ValidatorRegistry {
     if (ruleType == RuleType.REGEXP) {
       validator = new RegExpValidator(rule);
     } else if (ruleType == RuleType.PROGRAMMATIC) {
-      validator = new ProgrammaticValidator(rule, folioExecutionContext, jacksonObjectMapper);
+      validator = programmaticValidator(rule);
     } else if (ruleType == RuleType.PWNEDPASSWORD) {
-      validator = new PwnedPasswordValidator(rule, pwnedClient);
+      validator = new PwnedPasswordValidator(rule, localPwnedSet, pwnedRangeCache,
+          pwnedClientProperties.getDegradedOutcome());
+    } else if (ruleType == RuleType.EXPRESSION) {
+      validator = new ExpressionValidator(rule, expressionCache.expressionOf(rule));
+    } else if (ruleType == RuleType.DICTIONARY) {
+      validator = new DictionaryValidator(rule, dictionaryRegistry);
+    } else if (ruleType == RuleType.USERNAMESIMILARITY) {
+      validator = new UsernameSimilarityValidator(rule);
+    } else if (ruleType == RuleType.STRENGTH) {
+      validator = new StrengthValidator(rule, strengthEstimator);
+    } else if (ruleType == RuleType.PLUGIN) {
+      validator = new PluginValidator(rule, pluginRegistry.getPlugin(rule.getImplementationReference()).orElse(null),
+          meterRegistry);
     } else {
       throw new IllegalStateException("Validator is not registered for rule type: " + ruleType);
     }
@@ -44,4 +90,84 @@ class ValidatorRegistryImpl implements ValidatorRegistry {
     return validator;
   }
 
+  @Override
+  public void checkRule(@NonNull PasswordValidationRule rule) {
+    var ruleType = rule.getRuleType();
+    if (RuleType.EXPRESSION.getValue().equals(ruleType)) {
+      checkExpression(rule.getRuleExpression());
+    } else if (RuleType.USERNAMESIMILARITY.getValue().equals(ruleType)
+        || RuleType.STRENGTH.getValue().equals(ruleType)) {
+      // the validators parse the parameters or the threshold of the expression
+      try {
+        validatorByRule(rule);
+      } catch (IllegalArgumentException e) {
+        throw new InvalidRuleException(e.getMessage());
+      }
+    }
+  }
+
+  private void checkExpression(String text) {
+    var expression = expressionCache.parse(text);
+    // an expression can parse and still fail on every password, e.g. reading an unknown property or calling a method
+    Boolean result;
+    try {
+      result = expression.getValue(ExpressionCache.evaluationContext(), ExpressionCache.WARM_UP_FEATURES,
+          Boolean.class);
+    } catch (EvaluationException e) {
+      throw new InvalidRuleException("Invalid rule expression: " + e.getMessage());
+    }
+    if (result == null) {
+      throw new InvalidRuleException("Invalid rule expression: it doesn't evaluate to true or false");
+    }
+  }
+
+  @Override
+  public List<Validator> validatorsByRules(@NonNull List<PasswordValidationRule> rules) {
+    Map<PasswordValidationRule, ProgrammaticBatch> batches = programmaticRuleProperties.getBatching().isEnabled()
+        ? batchesByRule(rules)
+        : Map.of();
+
+    return rules.stream()
+        .map(rule -> {
+          var batch = batches.get(rule);
+          return batch == null
+              ? validatorByRule(rule)
+              : new BatchedProgrammaticValidator(rule, batch, programmaticValidator(rule));
+        })
+        .collect(toList());
+  }
+
+  private Map<PasswordValidationRule, ProgrammaticBatch> batchesByRule(List<PasswordValidationRule> rules) {
+    var rulesByEndpoint = rules.stream()
+        .filter(rule -> RuleType.PROGRAMMATIC.getValue().equals(rule.getRuleType()))
+        .filter(rule -> rule.getImplementationReference() != null)
+        .collect(groupingBy(PasswordValidationRule::getImplementationReference, LinkedHashMap::new, toList()));
+
+    Map<PasswordValidationRule, ProgrammaticBatch> result = new IdentityHashMap<>();
+    rulesByEndpoint.forEach((endpoint, group) -> {
+      var supportKey = folioExecutionContext.getTenantId() + ":" + endpoint;
+      if (group.size() < 2 || !batchSupport.isSupported(supportKey)) {
+        return;
+      }
+
+      var batch = new ProgrammaticBatch(group, supportKey,
+          endpoint + programmaticRuleProperties.getBatching().getPathSuffix(),
+          ProgrammaticBatch.strictest(group.stream()
+              .map(rule -> programmaticValidator(rule).latencyPolicy())
+              .collect(toList())),
+          folioExecutionContext, jacksonObjectMapper,
+          programmaticRuleHttpClient, programmaticRuleExecutor, dependencyLimiters.programmatic(endpoint),
+          dependencyExecutors.programmatic(endpoint), batchSupport, tracing);
+      group.forEach(rule -> result.put(rule, batch));
+    });
+    return result;
+  }
+
+  private ProgrammaticValidator programmaticValidator(PasswordValidationRule rule) {
+    return new ProgrammaticValidator(rule, folioExecutionContext, jacksonObjectMapper, programmaticRuleHttpClient,
+        programmaticRuleExecutor, dependencyLimiters.programmatic(rule.getImplementationReference()),
+        dependencyExecutors.programmatic(rule.getImplementationReference()),
+        programmaticRuleProperties.getMaxRetriesLimit(), meterRegistry, tracing);
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package org.folio.pv.similarity;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Bounded approximate substring search: whether some substring of a text is within a given Levenshtein
+ * distance of a pattern. Characters are compared case-folded.
+ *
+ * <p>Patterns up to 64 characters use Myers' bit-parallel algorithm, one step of a few word operations per
+ * text character. Longer patterns fall back to Sellers' dynamic programming. Both run without allocating
+ * after the first call on a thread.
+ */
+@UtilityClass
+public class ApproximateMatcher {
+
+  private static final int WORD_SIZE = 64;
+  private static final int ASCII_SIZE = 128;
+
+  private static final ThreadLocal<long[]> ASCII_PEQ = ThreadLocal.withInitial(() -> new long[ASCII_SIZE]);
+  private static final ThreadLocal<int[][]> DP_COLUMNS = ThreadLocal.withInitial(() -> new int[1][0]);
+
+
+  /**
+   * Returns {@code true} if the pattern, or its reversal if {@code reversed}, is within {@code maxDistance}
+   * edits of some substring of the text.
+   */
+  public static boolean matchesWithin(CharSequence pattern, boolean reversed, CharSequence text, int maxDistance) {
+    var m = pattern.length();
+    if (m <= maxDistance) {
+      return true;
+    }
+    return m <= WORD_SIZE
+        ? myers(pattern, reversed, text, maxDistance)
+        : sellers(pattern, reversed, text, maxDistance);
+  }
+
+  static char fold(char c) {
+    return Character.toLowerCase(Character.toUpperCase(c));
+  }
+
+  private static boolean myers(CharSequence pattern, boolean reversed, CharSequence text, int maxDistance) {
+    var m = pattern.length();
+    var peq = ASCII_PEQ.get();
+    for (int i = 0; i < m; i++) {
+      var c = fold(charAt(pattern, i, reversed));
+      if (c < ASCII_SIZE) {
+        peq[c] |= 1L << i;
+      }
+    }
+
+    try {
+      var last = 1L << (m - 1);
+      var pv = -1L;
+      var mv = 0L;
+      var score = m;
+
+      for (int j = 0; j < text.length(); j++) {
+        var c = fold(text.charAt(j));
+        var eq = c < ASCII_SIZE ? peq[c] : peqOf(pattern, reversed, c);
+
+        var xv = eq | mv;
+        var xh = (((eq & pv) + pv) ^ pv) | eq;
+        var ph = mv | ~(xh | pv);
+        var mh = pv & xh;
+
+        if ((ph & last) != 0) {
+          score++;
+        } else if ((mh & last) != 0) {
+          score--;
+        }
+
+        // a match may start anywhere in the text, so the top row stays zero: no carry into bit 0
+        ph <<= 1;
+        mh <<= 1;
+        pv = mh | ~(xv | ph);
+        mv = ph & xv;
+
+        if (score <= maxDistance) {
+          return true;
+        }
+      }
+      return false;
+    } finally {
+      for (int i = 0; i < m; i++) {
+        var c = fold(charAt(pattern, i, reversed));
+        if (c < ASCII_SIZE) {
+          peq[c] = 0;
+        }
+      }
+    }
+  }
+
+  private static long peqOf(CharSequence pattern, boolean reversed, char c) {
+    var eq = 0L;
+    for (int i = 0; i < pattern.length(); i++) {
+      if (fold(charAt(pattern, i, reversed)) == c) {
+        eq |= 1L << i;
+      }
+    }
+    return eq;
+  }
+
+  private static boolean sellers(CharSequence pattern, boolean reversed, CharSequence text, int maxDistance) {
+    var m = pattern.length();
+    var columns = DP_COLUMNS.get();
+    if (columns[0].length < m + 1) {
+      columns[0] = new int[m + 1];
+    }
+    var column = columns[0];
+
+    for (int i = 0; i <= m; i++) {
+      column[i] = i;
+    }
+
+    for (int j = 0; j < text.length(); j++) {
+      var c = fold(text.charAt(j));
+      // column[0] stays 0: a match may start anywhere in the text
+      var diagonal = 0;
+      for (int i = 1; i <= m; i++) {
+        var above = column[i];
+        var cost = fold(charAt(pattern, i - 1, reversed)) == c ? 0 : 1;
+        column[i] = Math.min(Math.min(column[i - 1] + 1, above + 1), diagonal + cost);
+        diagonal = above;
+      }
+      if (column[m] <= maxDistance) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static char charAt(CharSequence sequence, int index, boolean reversed) {
+    return reversed ? sequence.charAt(sequence.length() - 1 - index) : sequence.charAt(index);
+  }
+
+}
@@ -0,0 +1,112 @@
+package org.folio.pv.strength;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Locale;
+
+import org.folio.pv.dictionary.Leetspeak;
+
+/**
+ * Frequency ranks of common passwords and words, precomputed into an open addressing table of 64-bit string
+ * hashes so that all substrings starting at a position can be looked up while the hash is extended one
+ * character at a time, without creating substrings. A leetspeak table hashes the words with
+ * {@link Leetspeak#normalize(char)} applied to each character.
+ */
+final class FrequencyTable {
+
+  static final long SEED = 0xcbf29ce484222325L;
+  private static final long PRIME = 0x100000001b3L;
+
+  private final long[] keys;
+  private final int[] ranks;
+  private final int mask;
+  private final int maxLength;
+
+
+  private FrequencyTable(long[] keys, int[] ranks, int maxLength) {
+    this.keys = keys;
+    this.ranks = ranks;
+    this.mask = keys.length - 1;
+    this.maxLength = maxLength;
+  }
+
+  /**
+   * Reads a list of words, one per line and the most frequent first, skipping comments.
+   */
+  static String[] readWords(InputStream words) {
+    var lines = new ArrayList<String>();
+    try (var reader = new BufferedReader(new InputStreamReader(words, UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim().toLowerCase(Locale.ROOT);
+        if (!line.isEmpty() && !line.startsWith("#")) {
+          lines.add(line);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read frequency list", e);
+    }
+    return lines.toArray(new String[0]);
+  }
+
+  static FrequencyTable of(boolean leetspeak, String... words) {
+    var capacity = Integer.highestOneBit(Math.max(words.length, 1) * 4 - 1) << 1;
+    var keys = new long[capacity];
+    var ranks = new int[capacity];
+    var maxLength = 0;
+
+    for (int i = 0; i < words.length; i++) {
+      var word = words[i];
+      var h = SEED;
+      for (int j = 0; j < word.length(); j++) {
+        var c = Character.toLowerCase(word.charAt(j));
+        h = hash(h, leetspeak ? Leetspeak.normalize(c) : c);
+      }
+
+      var slot = slot(h, capacity - 1);
+      while (ranks[slot] != 0 && keys[slot] != h) {
+        slot = (slot + 1) & (capacity - 1);
+      }
+      if (ranks[slot] == 0) {
+        keys[slot] = h;
+        ranks[slot] = i + 1;
+        maxLength = Math.max(maxLength, word.length());
+      }
+    }
+    return new FrequencyTable(keys, ranks, maxLength);
+  }
+
+  static long hash(long h, char c) {
+    return (h ^ c) * PRIME;
+  }
+
+  /**
+   * Returns the rank, starting from 1, of the word with the given hash, or 0 if it is not in the table.
+   */
+  int rank(long hash) {
+    var slot = slot(hash, mask);
+    int rank;
+    while ((rank = ranks[slot]) != 0) {
+      if (keys[slot] == hash) {
+        return rank;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return 0;
+  }
+
+  int maxLength() {
+    return maxLength;
+  }
+
+  private static int slot(long hash, int mask) {
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+
+}
@@ -0,0 +1,110 @@
+package org.folio.pv.strength;
+
+import java.util.Arrays;
+
+/**
+ * Key positions of a slanted keyboard precomputed into per-character arrays. Each row is offset by half a key
+ * from the one above, so every key has up to six neighbours.
+ */
+final class KeyboardLayout {
+
+  private static final int[] ROW_OFFSETS = {0, 1, 1, 1};
+  private static final int[][] NEIGHBOURS = {{-1, 0}, {1, 0}, {0, -1}, {1, -1}, {-1, 1}, {0, 1}};
+  private static final int NONE = -1;
+
+  static final KeyboardLayout QWERTY = new KeyboardLayout(
+      "`~ 1! 2@ 3# 4$ 5% 6^ 7& 8* 9( 0) -_ =+",
+      "qQ wW eE rR tT yY uU iI oO pP [{ ]} \\|",
+      "aA sS dD fF gG hH jJ kK lL ;: '\"",
+      "zZ xX cC vV bB nN mM ,< .> /?");
+
+  private final int[] positions = new int[128];
+  private final boolean[] shifted = new boolean[128];
+  private final int startingPositions;
+  private final double averageDegree;
+
+
+  private KeyboardLayout(String... rows) {
+    Arrays.fill(positions, NONE);
+
+    var keys = 0;
+    for (int row = 0; row < rows.length; row++) {
+      var tokens = rows[row].split(" ");
+      for (int i = 0; i < tokens.length; i++) {
+        var position = position(row, ROW_OFFSETS[row] + i);
+        positions[tokens[i].charAt(0)] = position;
+        positions[tokens[i].charAt(1)] = position;
+        shifted[tokens[i].charAt(1)] = true;
+        keys++;
+      }
+    }
+
+    var degrees = 0;
+    for (var token : String.join(" ", rows).split(" ")) {
+      var position = positions[token.charAt(0)];
+      for (var neighbour : NEIGHBOURS) {
+        if (isKey(column(position) + neighbour[0], row(position) + neighbour[1])) {
+          degrees++;
+        }
+      }
+    }
+    this.startingPositions = keys;
+    this.averageDegree = (double) degrees / keys;
+  }
+
+  /**
+   * Returns the index of the direction from key {@code a} to the adjacent key {@code b}, or -1 if they are not
+   * adjacent keys.
+   */
+  int direction(char a, char b) {
+    if (a >= 128 || b >= 128 || positions[a] == NONE || positions[b] == NONE) {
+      return NONE;
+    }
+    var dx = column(positions[b]) - column(positions[a]);
+    var dy = row(positions[b]) - row(positions[a]);
+    for (int i = 0; i < NEIGHBOURS.length; i++) {
+      if (NEIGHBOURS[i][0] == dx && NEIGHBOURS[i][1] == dy) {
+        return i;
+      }
+    }
+    return NONE;
+  }
+
+  boolean isShifted(char c) {
+    return c < 128 && shifted[c];
+  }
+
+  int startingPositions() {
+    return startingPositions;
+  }
+
+  double averageDegree() {
+    return averageDegree;
+  }
+
+  private boolean isKey(int column, int row) {
+    if (column < 0 || row < 0) {
+      return false;
+    }
+    var position = position(row, column);
+    for (var p : positions) {
+      if (p == position) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static int position(int row, int column) {
+    return row << 8 | column;
+  }
+
+  private static int row(int position) {
+    return position >> 8;
+  }
+
+  private static int column(int position) {
+    return position & 0xff;
+  }
+
+}
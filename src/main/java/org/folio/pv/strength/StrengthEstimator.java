@@ -0,0 +1,569 @@
+package org.folio.pv.strength;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Year;
+import java.util.Arrays;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.dictionary.Leetspeak;
+
+/**
+ * Estimates the number of guesses an attacker needs for a password, after zxcvbn: the password is matched
+ * against common words, also reversed or with leetspeak substitutions, the username, keyboard walks, sequences,
+ * repeats and dates, and the cheapest way to cover it with matches and brute forced segments is found by dynamic
+ * programming over the end positions.
+ *
+ * <p>The bundled frequency list holds only about 200 of the most common passwords and words, far fewer than the
+ * tens of thousands of zxcvbn's lists, so passwords built from less common words are rated stronger than zxcvbn
+ * would rate them.
+ *
+ * <p>Matching only looks at spans bounded by the longest word or a maximum block length and the number of
+ * matches in a guess sequence is capped, so the cost is polynomial in the (truncated) password length instead
+ * of the exponential enumeration of naive ports.
+ */
+@Log4j2
+@Component
+public class StrengthEstimator {
+
+  /** Characters beyond this length are scored as brute force. */
+  static final int MAX_LENGTH = 64;
+
+  static final String FREQUENCY_LIST = "strength/frequency-list.txt";
+
+  private static final int MAX_MATCHES = 8;
+  private static final int MAX_REPEAT_BLOCK = 16;
+  private static final int MAX_SEQUENCE_DELTA = 5;
+  private static final int MIN_YEAR_SPACE = 20;
+  private static final int MIN_YEAR = 1000;
+  private static final int MAX_YEAR = 2050;
+  private static final double LOG10_MIN_GUESSES_BEFORE_GROWING_SEQUENCE = 4;
+  private static final double LOG10_MIN_SUBMATCH_GUESSES_SINGLE_CHAR = 1;
+  private static final double LOG10_MIN_SUBMATCH_GUESSES_MULTI_CHAR = Math.log10(50);
+  private static final double[] LOG10_FACTORIAL = new double[MAX_MATCHES + 1];
+  private static final String SEPARATORS = " /\\_.-";
+
+  static {
+    for (int i = 2; i <= MAX_MATCHES; i++) {
+      LOG10_FACTORIAL[i] = LOG10_FACTORIAL[i - 1] + Math.log10(i);
+    }
+  }
+
+  private final FrequencyTable frequencyTable;
+  private final FrequencyTable leetspeakTable;
+  private final KeyboardLayout keyboard;
+  private final int referenceYear;
+
+
+  @Autowired
+  public StrengthEstimator() {
+    this(loadFrequencyList(), KeyboardLayout.QWERTY, Year.now().getValue());
+  }
+
+  StrengthEstimator(String[] frequencyList, KeyboardLayout keyboard, int referenceYear) {
+    this.frequencyTable = FrequencyTable.of(false, frequencyList);
+    this.leetspeakTable = FrequencyTable.of(true, frequencyList);
+    this.keyboard = keyboard;
+    this.referenceYear = referenceYear;
+  }
+
+  /**
+   * Returns the decimal logarithm of the estimated number of guesses needed for the password.
+   *
+   * @param username the username, matched as the most common word, may be null
+   */
+  public double guessesLog10(String password, String username) {
+    if (password.isEmpty()) {
+      return 0;
+    }
+
+    var length = Math.min(password.length(), MAX_LENGTH);
+    var matches = new Matches(length);
+
+    matchWords(password, length, matches);
+    matchUsername(password, length, username, matches);
+    matchKeyboardWalks(password, length, matches);
+    matchSequences(password, length, matches);
+    matchDates(password, length, matches);
+    matchRepeats(password, length, matches);
+
+    return minimumGuessesLog10(length, matches) + (password.length() - length);
+  }
+
+  /**
+   * Returns the estimated entropy of the password in bits.
+   */
+  public double entropyBits(String password, String username) {
+    return guessesLog10(password, username) / Math.log10(2);
+  }
+
+  private static String[] loadFrequencyList() {
+    try (var input = new ClassPathResource(FREQUENCY_LIST).getInputStream()) {
+      var words = FrequencyTable.readWords(input);
+      log.info("Loaded {} words of the password strength frequency list", words.length);
+      return words;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load " + FREQUENCY_LIST, e);
+    }
+  }
+
+  private double minimumGuessesLog10(int length, Matches matches) {
+    // best[k * (MAX_MATCHES + 1) + l]: least log10 of the guesses product of l matches covering [0, k]
+    var stride = MAX_MATCHES + 1;
+    var best = new double[length * stride];
+    Arrays.fill(best, Double.POSITIVE_INFINITY);
+
+    var heads = matches.byEnd();
+    for (int end = 0; end < length; end++) {
+      for (int m = heads[end]; m >= 0; m = matches.next[m]) {
+        extend(best, stride, matches.start[m], end, matches.guessesLog10[m]);
+      }
+      for (int start = 0; start <= end; start++) {
+        extend(best, stride, start, end, matches.minimumGuesses(start, end, end - start + 1.0));
+      }
+    }
+
+    var result = Double.POSITIVE_INFINITY;
+    var last = (length - 1) * stride;
+    for (int l = 1; l <= MAX_MATCHES; l++) {
+      if (best[last + l] < Double.POSITIVE_INFINITY) {
+        // zxcvbn: l! * product + D^(l - 1)
+        var guesses = log10Sum(LOG10_FACTORIAL[l] + best[last + l],
+            LOG10_MIN_GUESSES_BEFORE_GROWING_SEQUENCE * (l - 1));
+        result = Math.min(result, guesses);
+      }
+    }
+    return result;
+  }
+
+  private static void extend(double[] best, int stride, int start, int end, double guessesLog10) {
+    var to = end * stride;
+    if (start == 0) {
+      best[to + 1] = Math.min(best[to + 1], guessesLog10);
+      return;
+    }
+    var from = (start - 1) * stride;
+    for (int l = 1; l < MAX_MATCHES; l++) {
+      var candidate = best[from + l] + guessesLog10;
+      if (candidate < best[to + l + 1]) {
+        best[to + l + 1] = candidate;
+      }
+    }
+  }
+
+  private void matchWords(String password, int length, Matches matches) {
+    var maxLength = frequencyTable.maxLength();
+
+    for (int i = 0; i < length; i++) {
+      var h = FrequencyTable.SEED;
+      for (int j = i; j < length && j - i < maxLength; j++) {
+        h = FrequencyTable.hash(h, Character.toLowerCase(password.charAt(j)));
+        var rank = frequencyTable.rank(h);
+        if (rank > 0) {
+          matches.add(i, j, Math.log10(rank) + uppercaseVariationsLog10(password, i, j));
+        }
+      }
+    }
+
+    for (int j = 1; j < length; j++) {
+      var h = FrequencyTable.SEED;
+      for (int i = j; i >= 0 && j - i < maxLength; i--) {
+        h = FrequencyTable.hash(h, Character.toLowerCase(password.charAt(i)));
+        var rank = i < j ? frequencyTable.rank(h) : 0;
+        if (rank > 0) {
+          matches.add(i, j, Math.log10(rank * 2.0) + uppercaseVariationsLog10(password, i, j));
+        }
+      }
+    }
+
+    for (int i = 0; i < length; i++) {
+      var h = FrequencyTable.SEED;
+      var substituted = 0;
+      for (int j = i; j < length && j - i < maxLength; j++) {
+        var c = Character.toLowerCase(password.charAt(j));
+        var normalized = Leetspeak.normalize(c);
+        if (normalized != c) {
+          substituted++;
+        }
+        h = FrequencyTable.hash(h, normalized);
+        var rank = substituted > 0 ? leetspeakTable.rank(h) : 0;
+        if (rank > 0) {
+          matches.add(i, j, Math.log10(rank) + uppercaseVariationsLog10(password, i, j)
+              + Math.log10(variations(substituted, j - i + 1 - substituted)));
+        }
+      }
+    }
+  }
+
+  private static void matchUsername(String password, int length, String username, Matches matches) {
+    if (username == null || username.length() < 3) {
+      return;
+    }
+    for (int i = 0; i + username.length() <= length; i++) {
+      if (password.regionMatches(true, i, username, 0, username.length())) {
+        matches.add(i, i + username.length() - 1, uppercaseVariationsLog10(password, i, i + username.length() - 1));
+      }
+    }
+  }
+
+  private void matchKeyboardWalks(String password, int length, Matches matches) {
+    var i = 0;
+    while (i < length - 2) {
+      var j = i;
+      var turns = 0;
+      var lastDirection = -1;
+      var shifted = keyboard.isShifted(password.charAt(i)) ? 1 : 0;
+
+      while (j + 1 < length) {
+        var direction = keyboard.direction(password.charAt(j), password.charAt(j + 1));
+        if (direction < 0) {
+          break;
+        }
+        if (direction != lastDirection) {
+          turns++;
+          lastDirection = direction;
+        }
+        if (keyboard.isShifted(password.charAt(j + 1))) {
+          shifted++;
+        }
+        j++;
+      }
+
+      if (j - i + 1 >= 3) {
+        matches.add(i, j, keyboardWalkGuessesLog10(j - i + 1, turns, shifted));
+      }
+      i = Math.max(j, i + 1);
+    }
+  }
+
+  private double keyboardWalkGuessesLog10(int length, int turns, int shifted) {
+    var startingPositions = keyboard.startingPositions();
+    var degree = keyboard.averageDegree();
+
+    var guesses = 0.0;
+    for (int i = 2; i <= length; i++) {
+      for (int j = 1; j <= Math.min(turns, i - 1); j++) {
+        guesses += binomial(i - 1, j - 1) * startingPositions * Math.pow(degree, j);
+      }
+    }
+    return Math.log10(guesses) + Math.log10(variations(shifted, length - shifted));
+  }
+
+  private static void matchSequences(String password, int length, Matches matches) {
+    var i = 0;
+    while (i < length - 2) {
+      var delta = password.charAt(i + 1) - password.charAt(i);
+      if (delta == 0 || Math.abs(delta) > MAX_SEQUENCE_DELTA) {
+        i++;
+        continue;
+      }
+
+      var j = i + 1;
+      while (j + 1 < length && password.charAt(j + 1) - password.charAt(j) == delta) {
+        j++;
+      }
+
+      var first = password.charAt(i);
+      if (j - i + 1 >= 3 && sequenceClass(first) != 0 && sequenceClass(first) == sequenceClass(password.charAt(j))) {
+        double base;
+        if ("aAzZ019".indexOf(first) >= 0) {
+          base = 4;
+        } else {
+          base = Character.isDigit(first) ? 10 : 26;
+        }
+        matches.add(i, j, Math.log10(base * (j - i + 1) * (delta > 0 ? 1 : 2)));
+      }
+      i = j;
+    }
+  }
+
+  private static int sequenceClass(char c) {
+    if (c >= 'a' && c <= 'z') {
+      return 1;
+    } else if (c >= 'A' && c <= 'Z') {
+      return 2;
+    } else if (c >= '0' && c <= '9') {
+      return 3;
+    }
+    return 0;
+  }
+
+  private void matchDates(String password, int length, Matches matches) {
+    for (int i = 0; i < length; i++) {
+      if (!Character.isDigit(password.charAt(i))) {
+        continue;
+      }
+
+      var digits = 0;
+      while (i + digits < length && digits < 8 && Character.isDigit(password.charAt(i + digits))) {
+        digits++;
+        var end = i + digits - 1;
+        if (digits == 4) {
+          var year = parse(password, i, 4);
+          if (year >= 1900 && year < 2100) {
+            matches.add(i, end, Math.log10(yearSpace(year)));
+          }
+        }
+        if (digits >= 4) {
+          var yearSpace = dateYearSpace(password, i, digits);
+          if (yearSpace > 0) {
+            matches.add(i, end, Math.log10(365.0 * yearSpace));
+          }
+        }
+      }
+
+      matchSeparatedDates(password, length, i, matches);
+    }
+  }
+
+  private void matchSeparatedDates(String password, int length, int start, Matches matches) {
+    var first = digitsAt(password, start, length, 4);
+    var separatorAt = start + first;
+    if (separatorAt >= length || SEPARATORS.indexOf(password.charAt(separatorAt)) < 0) {
+      return;
+    }
+    var separator = password.charAt(separatorAt);
+    var second = digitsAt(password, separatorAt + 1, length, 2);
+    var secondSeparatorAt = separatorAt + 1 + second;
+    if (second == 0 || secondSeparatorAt >= length || password.charAt(secondSeparatorAt) != separator) {
+      return;
+    }
+    var third = digitsAt(password, secondSeparatorAt + 1, length, 4);
+    if (third == 0) {
+      return;
+    }
+
+    var yearSpace = yearSpace(parse(password, start, first), first, parse(password, separatorAt + 1, second),
+        parse(password, secondSeparatorAt + 1, third), third);
+    if (yearSpace > 0) {
+      matches.add(start, secondSeparatorAt + third, Math.log10(365.0 * yearSpace * 4));
+    }
+  }
+
+  /**
+   * Tries the zxcvbn splits of a digit run into day, month and year; returns the least year space of the
+   * valid ones, or 0.
+   */
+  private int dateYearSpace(String password, int start, int digits) {
+    int[][] splits;
+    switch (digits) {
+      case 4:
+        splits = new int[][] {{1, 2}, {2, 3}};
+        break;
+      case 5:
+        splits = new int[][] {{1, 3}, {2, 3}};
+        break;
+      case 6:
+        splits = new int[][] {{1, 2}, {2, 4}, {4, 5}};
+        break;
+      case 7:
+        splits = new int[][] {{1, 3}, {2, 3}, {4, 5}, {4, 6}};
+        break;
+      default:
+        splits = new int[][] {{2, 4}, {4, 6}};
+    }
+
+    var result = 0;
+    for (var split : splits) {
+      var yearSpace = yearSpace(parse(password, start, split[0]), split[0],
+          parse(password, start + split[0], split[1] - split[0]),
+          parse(password, start + split[1], digits - split[1]), digits - split[1]);
+      if (yearSpace > 0 && (result == 0 || yearSpace < result)) {
+        result = yearSpace;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the year space of the date formed by the three parts with the year first or last, or 0 if they
+   * don't form a date.
+   */
+  private int yearSpace(int first, int firstDigits, int middle, int last, int lastDigits) {
+    if (middle < 1 || middle > 31) {
+      return 0;
+    }
+    var result = 0;
+    if (isDayAndMonth(first, middle)) {
+      result = yearSpace(last, lastDigits);
+    }
+    if (isDayAndMonth(middle, last)) {
+      var yearSpace = yearSpace(first, firstDigits);
+      if (yearSpace > 0 && (result == 0 || yearSpace < result)) {
+        result = yearSpace;
+      }
+    }
+    return result;
+  }
+
+  private int yearSpace(int year, int digits) {
+    if (digits > 2) {
+      return digits == 4 && year >= MIN_YEAR && year <= MAX_YEAR ? yearSpace(year) : 0;
+    }
+    return yearSpace(year > 50 ? 1900 + year : 2000 + year);
+  }
+
+  private int yearSpace(int year) {
+    return Math.max(Math.abs(year - referenceYear), MIN_YEAR_SPACE);
+  }
+
+  private static boolean isDayAndMonth(int a, int b) {
+    return (a >= 1 && a <= 31 && b >= 1 && b <= 12) || (b >= 1 && b <= 31 && a >= 1 && a <= 12);
+  }
+
+  private static void matchRepeats(String password, int length, Matches matches) {
+    var count = matches.size;
+    for (int i = 0; i < length - 1; i++) {
+      for (int block = 1; block <= MAX_REPEAT_BLOCK && i + 2 * block <= length; block++) {
+        var repeats = 1;
+        while (i + (repeats + 1) * block <= length
+            && password.regionMatches(i, password, i + repeats * block, block)) {
+          repeats++;
+        }
+        if (repeats >= 2) {
+          var blockGuesses = Math.min(block, matches.leastGuesses(i, i + block - 1, count));
+          matches.add(i, i + repeats * block - 1, blockGuesses + Math.log10(repeats));
+        }
+      }
+    }
+  }
+
+  private static double uppercaseVariationsLog10(String password, int start, int end) {
+    var upper = 0;
+    var lower = 0;
+    for (int i = start; i <= end; i++) {
+      var c = password.charAt(i);
+      if (Character.isUpperCase(c)) {
+        upper++;
+      } else if (Character.isLowerCase(c)) {
+        lower++;
+      }
+    }
+    if (upper == 0) {
+      return 0;
+    }
+    if (lower == 0 || upper == 1 && (Character.isUpperCase(password.charAt(start))
+        || Character.isUpperCase(password.charAt(end)))) {
+      return Math.log10(2);
+    }
+    return Math.log10(variations(upper, lower));
+  }
+
+  /**
+   * Number of ways to pick which characters of a token are the variant ones, e.g. upper-case or shifted.
+   */
+  private static double variations(int variant, int plain) {
+    if (variant == 0) {
+      return 1;
+    }
+    if (plain == 0) {
+      return 2;
+    }
+    var result = 0.0;
+    for (int i = 1; i <= Math.min(variant, plain); i++) {
+      result += binomial(variant + plain, i);
+    }
+    return result;
+  }
+
+  private static double binomial(int n, int k) {
+    var result = 1.0;
+    for (int i = 1; i <= k; i++) {
+      result = result * (n - k + i) / i;
+    }
+    return result;
+  }
+
+  private static int parse(String password, int start, int digits) {
+    var result = 0;
+    for (int i = start; i < start + digits; i++) {
+      result = result * 10 + password.charAt(i) - '0';
+    }
+    return result;
+  }
+
+  private static int digitsAt(String password, int start, int length, int max) {
+    var digits = 0;
+    while (start + digits < length && digits < max && Character.isDigit(password.charAt(start + digits))) {
+      digits++;
+    }
+    return digits;
+  }
+
+  private static double log10Sum(double a, double b) {
+    var max = Math.max(a, b);
+    return max + Math.log10(1 + Math.pow(10, Math.min(a, b) - max));
+  }
+
+  /**
+   * Matches found in the password as parallel primitive arrays: start and end positions and the decimal logarithm
+   * of the guesses.
+   */
+  private static final class Matches {
+
+    private final int length;
+    private int[] start = new int[32];
+    private int[] end = new int[32];
+    private double[] guessesLog10 = new double[32];
+    private int[] next;
+    private int size;
+
+    Matches(int length) {
+      this.length = length;
+    }
+
+    void add(int from, int to, double guesses) {
+      if (size == start.length) {
+        start = Arrays.copyOf(start, size * 2);
+        end = Arrays.copyOf(end, size * 2);
+        guessesLog10 = Arrays.copyOf(guessesLog10, size * 2);
+      }
+      start[size] = from;
+      end[size] = to;
+      guessesLog10[size] = minimumGuesses(from, to, guesses);
+      size++;
+    }
+
+    /**
+     * A match covering only a part of the password needs at least a few guesses, as the attacker doesn't know
+     * where it starts.
+     */
+    double minimumGuesses(int from, int to, double guesses) {
+      if (to - from + 1 == length) {
+        return guesses;
+      }
+      var minimum = from == to ? LOG10_MIN_SUBMATCH_GUESSES_SINGLE_CHAR : LOG10_MIN_SUBMATCH_GUESSES_MULTI_CHAR;
+      return Math.max(guesses, minimum);
+    }
+
+    double leastGuesses(int from, int to, int count) {
+      var result = Double.POSITIVE_INFINITY;
+      for (int m = 0; m < count; m++) {
+        if (start[m] == from && end[m] == to) {
+          result = Math.min(result, guessesLog10[m]);
+        }
+      }
+      return result;
+    }
+
+    /**
+     * Links the matches by end position; returns the first match of each end position, -1 if there is none.
+     */
+    int[] byEnd() {
+      var heads = new int[length];
+      Arrays.fill(heads, -1);
+      next = new int[size];
+      for (int m = 0; m < size; m++) {
+        next[m] = heads[end[m]];
+        heads[end[m]] = m;
+      }
+      return heads;
+    }
+
+  }
+
+}
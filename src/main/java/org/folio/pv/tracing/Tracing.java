@@ -0,0 +1,143 @@
+package org.folio.pv.tracing;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import org.folio.spring.FolioExecutionContext;
+import org.springframework.stereotype.Component;
+
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+
+/**
+ * Creates the spans of the validation pipeline: the user lookup, the rule loading, each rule and each outbound call,
+ * tagged by tenant and children of the span current on the calling thread, so that they join the trace of the
+ * request. Calls to other FOLIO modules carry the trace context in their headers.
+ */
+@Component
+public class Tracing {
+
+  public static final String INSTRUMENTATION_NAME = "org.folio.mod-password-validator";
+
+  public static final AttributeKey<String> TENANT = AttributeKey.stringKey("folio.tenant");
+  public static final AttributeKey<String> RULE_ID = AttributeKey.stringKey("pv.rule.id");
+  public static final AttributeKey<String> RULE_NAME = AttributeKey.stringKey("pv.rule.name");
+  public static final AttributeKey<String> RULE_TYPE = AttributeKey.stringKey("pv.rule.type");
+  public static final AttributeKey<String> VALIDATION_TYPE = AttributeKey.stringKey("pv.rule.validation_type");
+  public static final AttributeKey<String> DEPENDENCY = AttributeKey.stringKey("pv.dependency");
+  public static final AttributeKey<String> HTTP_METHOD = AttributeKey.stringKey("http.request.method");
+
+  private final OpenTelemetry openTelemetry;
+  private final Tracer tracer;
+  private final FolioExecutionContext folioExecutionContext;
+
+
+  public Tracing(OpenTelemetry openTelemetry, FolioExecutionContext folioExecutionContext) {
+    this.openTelemetry = openTelemetry;
+    this.tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    this.folioExecutionContext = folioExecutionContext;
+  }
+
+  public Span startSpan(String name) {
+    return tracer.spanBuilder(name)
+        .setAttribute(TENANT, folioExecutionContext.getTenantId())
+        .startSpan();
+  }
+
+  public Span startRuleSpan(PasswordValidationRule rule) {
+    return tracer.spanBuilder("validate rule")
+        .setAttribute(TENANT, folioExecutionContext.getTenantId())
+        .setAttribute(RULE_ID, String.valueOf(rule.getId()))
+        .setAttribute(RULE_NAME, rule.getName())
+        .setAttribute(RULE_TYPE, rule.getRuleType())
+        .setAttribute(VALIDATION_TYPE, rule.getValidationType())
+        .startSpan();
+  }
+
+  /**
+   * Starts the span of an outbound call, named after the HTTP method, see {@code DependencyLimiters} for the
+   * dependency names.
+   */
+  public Span startClientSpan(String dependency, String method) {
+    return tracer.spanBuilder(method)
+        .setSpanKind(SpanKind.CLIENT)
+        .setAttribute(TENANT, folioExecutionContext.getTenantId())
+        .setAttribute(DEPENDENCY, dependency)
+        .setAttribute(HTTP_METHOD, method)
+        .startSpan();
+  }
+
+  /**
+   * Runs the action with the span as the current one and ends the span.
+   */
+  public <T> T inSpan(Span span, Supplier<T> action) {
+    try (var ignored = span.makeCurrent()) {
+      var result = action.get();
+      span.end();
+      return result;
+    } catch (RuntimeException e) {
+      end(span, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Starts the asynchronous action with the span as the current one and ends the span once it completes.
+   */
+  public <T> CompletableFuture<T> inSpanAsync(Span span, Supplier<CompletableFuture<T>> action) {
+    CompletableFuture<T> future;
+    try (var ignored = span.makeCurrent()) {
+      future = action.get();
+    } catch (RuntimeException e) {
+      end(span, e);
+      throw e;
+    }
+    return endOnCompletion(span, future);
+  }
+
+  /**
+   * Ends the span once the future completes and returns the future itself, so that cancelling it still cancels the
+   * work.
+   */
+  public <T> CompletableFuture<T> endOnCompletion(Span span, CompletableFuture<T> future) {
+    future.whenComplete((result, exc) -> end(span, exc));
+    return future;
+  }
+
+  /**
+   * Adds the trace context of the span to the headers of an outbound call.
+   */
+  public void inject(Span span, BiConsumer<String, String> headers) {
+    openTelemetry.getPropagators().getTextMapPropagator()
+        .inject(Context.current().with(span), headers, (carrier, key, value) -> carrier.accept(key, value));
+  }
+
+  /**
+   * Adds the current trace context to the headers of an outbound call.
+   */
+  public void injectCurrent(BiConsumer<String, String> headers) {
+    inject(Span.current(), headers);
+  }
+
+  /**
+   * Ends the span, failed with the given exception unless it is null or a cancellation.
+   */
+  public static void end(Span span, Throwable exc) {
+    var cause = exc == null ? null : LatencyPolicyExecutor.unwrap(exc);
+    if (cause != null && !(cause instanceof CancellationException)) {
+      span.recordException(cause);
+      span.setStatus(StatusCode.ERROR);
+    }
+    span.end();
+  }
+
+}
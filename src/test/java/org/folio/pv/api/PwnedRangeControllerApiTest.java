@@ -0,0 +1,76 @@
+package org.folio.pv.api;
+
+import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
+import static org.apache.http.HttpStatus.SC_OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.MediaType.TEXT_PLAIN_VALUE;
+
+import static org.folio.pv.testutils.APITestUtils.TENANT_ID;
+import static org.folio.pv.testutils.APITestUtils.mockGet;
+
+import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import org.folio.spring.integration.XOkapiHeaders;
+
+class PwnedRangeControllerApiTest extends BaseApiTest {
+
+  private static final String RANGE = "0018A45C4D1DEF81644B54AB7F969B88D65:3\r\n"
+      + "00D4F6E8FA6EECAD2A3AA3FA0FE2F2AC6DF:0\r\n"
+      + "011053FD0102E94D6AE2F8B83D76FAF94F6:12";
+
+  @LocalServerPort
+  private Integer port;
+
+
+  @Test
+  void shouldServeRangeInApiFormat() {
+    mockGet("/range/A1B2C", RANGE, SC_OK, TEXT_PLAIN_VALUE, wireMockServer);
+
+    var response = getRange("A1B2C", false, false);
+
+    assertThat(response.asString()).isEqualTo("0018A45C4D1DEF81644B54AB7F969B88D65:3\r\n"
+        + "011053FD0102E94D6AE2F8B83D76FAF94F6:12");
+  }
+
+  @Test
+  void shouldServeGzippedPaddedRange() {
+    mockGet("/range/A1B2D", RANGE, SC_OK, TEXT_PLAIN_VALUE, wireMockServer);
+
+    var response = getRange("A1B2D", true, true);
+
+    assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+    assertThat(response.asString().split("\r\n"))
+        .hasSizeBetween(800, 1000)
+        .contains("0018A45C4D1DEF81644B54AB7F969B88D65:3", "011053FD0102E94D6AE2F8B83D76FAF94F6:12");
+  }
+
+  @Test
+  void shouldRejectInvalidPrefix() {
+    RestAssured.with()
+        .header(XOkapiHeaders.TENANT, TENANT_ID)
+        .get("http://localhost:" + port + "/pwned/range/XYZ")
+        .then()
+        .statusCode(SC_BAD_REQUEST);
+  }
+
+  private Response getRange(String prefix, boolean addPadding, boolean gzip) {
+    return RestAssured.with()
+        .config(RestAssuredConfig.config().decoderConfig(gzip
+            ? DecoderConfig.decoderConfig().contentDecoders(DecoderConfig.ContentDecoder.GZIP)
+            : DecoderConfig.decoderConfig().noContentDecoders()))
+        .header(XOkapiHeaders.TENANT, TENANT_ID)
+        .header("Add-Padding", String.valueOf(addPadding))
+        .get("http://localhost:" + port + "/pwned/range/" + prefix)
+        .then()
+        .statusCode(SC_OK)
+        .contentType(TEXT_PLAIN_VALUE)
+        .extract()
+        .response();
+  }
+
+}
@@ -0,0 +1,102 @@
+package org.folio.pv.client;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HttpClientMetricsTest {
+
+  private static WireMockServer service;
+
+  private SimpleMeterRegistry meterRegistry;
+  private HttpClientMetrics metrics;
+
+  @BeforeAll
+  static void beforeAll() {
+    service = new WireMockServer(new WireMockConfiguration().dynamicPort());
+    service.start();
+    service.stubFor(get(urlEqualTo("/range/ABCDE")).willReturn(aResponse().withStatus(200).withBody("0123:1")));
+  }
+
+  @AfterAll
+  static void afterAll() {
+    service.stop();
+  }
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    metrics = new HttpClientMetrics(meterRegistry);
+  }
+
+  @Test
+  void shouldReportPhasesAndConnectionReuseOfOkHttpCalls() throws Exception {
+    var client = new OkHttpClient.Builder()
+        .eventListenerFactory(metrics.okHttpListenerFactory("pwned"))
+        .build();
+
+    for (int i = 0; i < 2; i++) {
+      try (var response = client.newCall(new Request.Builder().url(url()).build()).execute()) {
+        assertEquals("0123:1", response.body().string());
+      }
+    }
+
+    assertEquals(1, phaseCount("pwned", HttpClientMetrics.CONNECT));
+    assertEquals(2, phaseCount("pwned", HttpClientMetrics.REQUEST));
+    assertEquals(2, phaseCount("pwned", HttpClientMetrics.TTFB));
+    assertEquals(2, phaseCount("pwned", HttpClientMetrics.BODY));
+    assertEquals(0, phaseCount("pwned", HttpClientMetrics.TLS));
+    assertEquals(1, connections("pwned", "true"));
+    assertEquals(1, connections("pwned", "false"));
+    assertEquals(0.5, meterRegistry.get("pv.http.client.connection.reuse.ratio")
+        .tags("client", "pwned", "host", "localhost").gauge().value());
+  }
+
+  @Test
+  void shouldReportTimeToFirstByteAndBodyReadOfJdkCalls() throws Exception {
+    var client = new TimedHttpClient(HttpClient.newHttpClient(), "programmatic", metrics);
+
+    var response = client.sendAsync(HttpRequest.newBuilder(URI.create(url())).build(), BodyHandlers.ofString())
+        .get();
+
+    assertEquals("0123:1", response.body());
+    assertEquals(1, phaseCount("programmatic", HttpClientMetrics.TTFB));
+    assertEquals(1, phaseCount("programmatic", HttpClientMetrics.BODY));
+    assertThat(meterRegistry.find("pv.http.client.connections").meters()).isEmpty();
+  }
+
+  private long phaseCount(String client, String phase) {
+    var timer = meterRegistry.find("pv.http.client.phase")
+        .tags("client", client, "host", "localhost", "phase", phase)
+        .timer();
+    return timer == null ? 0 : timer.count();
+  }
+
+  private double connections(String client, String reused) {
+    return meterRegistry.get("pv.http.client.connections")
+        .tags("client", client, "host", "localhost", "reused", reused)
+        .functionCounter().count();
+  }
+
+  private static String url() {
+    return "http://localhost:" + service.port() + "/range/ABCDE";
+  }
+
+}
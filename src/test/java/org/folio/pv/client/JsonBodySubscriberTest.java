@@ -0,0 +1,62 @@
+package org.folio.pv.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import org.folio.pv.domain.dto.ValidationResult;
+
+class JsonBodySubscriberTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void shouldParseBodySplitIntoChunks() throws Exception {
+    var subscriber = subscribe();
+
+    var body = "{ \"result\": \"invalid\", \"messages\": [ \"too short\", \"no digits\" ] }";
+    for (int i = 0; i < body.length(); i += 7) {
+      subscriber.onNext(List.of(ByteBuffer.wrap(body.substring(i, Math.min(body.length(), i + 7)).getBytes(UTF_8))));
+    }
+    subscriber.onComplete();
+
+    var result = subscriber.getBody().toCompletableFuture().get();
+    assertThat(result.getResult()).isEqualTo("invalid");
+    assertThat(result.getMessages()).containsExactly("too short", "no digits");
+  }
+
+  @Test
+  void shouldFailOnMalformedBody() {
+    var subscriber = subscribe();
+
+    subscriber.onNext(List.of(ByteBuffer.wrap("{ \"result\": ]".getBytes(UTF_8))));
+    subscriber.onComplete();
+
+    var exc = assertThrows(ExecutionException.class, () -> subscriber.getBody().toCompletableFuture().get());
+    assertThat(exc).hasCauseInstanceOf(JsonProcessingException.class);
+  }
+
+  private JsonBodySubscriber<ValidationResult> subscribe() {
+    var subscriber = new JsonBodySubscriber<>(objectMapper, ValidationResult.class);
+    subscriber.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+      }
+
+      @Override
+      public void cancel() {
+      }
+    });
+    return subscriber;
+  }
+
+}
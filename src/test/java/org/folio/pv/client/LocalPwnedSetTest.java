@@ -0,0 +1,84 @@
+package org.folio.pv.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.folio.pv.domain.dto.PasswordHash;
+
+class LocalPwnedSetTest {
+
+  @TempDir
+  Path dir;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+
+  @Test
+  void shouldFindHashesOfFile() throws IOException {
+    var set = loadedSet(3, "password", "123456", "qwerty");
+
+    assertTrue(set.contains(new PasswordHash("password")));
+    assertTrue(set.contains(new PasswordHash("qwerty")));
+    assertFalse(set.contains(new PasswordHash("correct horse battery staple")));
+  }
+
+  @Test
+  void shouldKeepOnlyMaxEntriesFromStartOfFile() throws IOException {
+    var set = loadedSet(2, "password", "123456", "qwerty");
+
+    assertTrue(set.contains(new PasswordHash("123456")));
+    assertFalse(set.contains(new PasswordHash("qwerty")));
+  }
+
+  @Test
+  void shouldReportMemoryAndHitRatio() throws IOException {
+    var set = loadedSet(10, "password", "123456");
+
+    set.contains(new PasswordHash("password"));
+    set.contains(new PasswordHash("123456"));
+    set.contains(new PasswordHash("letmein"));
+    set.contains(new PasswordHash("monkey"));
+
+    assertThat(meterRegistry.get("pwned.local.set.memory").gauge().value()).isEqualTo(16);
+    assertThat(meterRegistry.get("pwned.local.set.entries").gauge().value()).isEqualTo(2);
+    assertThat(meterRegistry.get("pwned.local.set.hit.ratio").gauge().value()).isEqualTo(0.5);
+    assertThat(meterRegistry.get("pwned.local.set.lookups").tag("outcome", "miss").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldBeEmptyIfFileIsNotConfigured() {
+    var set = new LocalPwnedSet(new PwnedClientProperties(), meterRegistry);
+    set.load();
+
+    assertTrue(set.isEmpty());
+    assertFalse(set.contains(new PasswordHash("password")));
+  }
+
+  private LocalPwnedSet loadedSet(int maxEntries, String... passwords) throws IOException {
+    var file = dir.resolve("pwned-passwords.txt");
+    var lines = new ArrayList<String>();
+    for (int i = 0; i < passwords.length; i++) {
+      lines.add(new PasswordHash(passwords[i]).getHash() + ":" + (1000 - i));
+    }
+    Files.write(file, lines);
+
+    var properties = new PwnedClientProperties();
+    properties.getLocalSet().setFile(file.toString());
+    properties.getLocalSet().setMaxEntries(maxEntries);
+
+    var set = new LocalPwnedSet(properties, meterRegistry);
+    set.load();
+    return set;
+  }
+
+}
@@ -0,0 +1,258 @@
+package org.folio.pv.client;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.folio.spring.DefaultFolioExecutionContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.folio.pv.concurrent.ValidationExecutors;
+import org.folio.pv.config.DependencyPoolProperties;
+import org.folio.pv.config.VirtualThreadProperties;
+import org.folio.pv.domain.dto.HashedPasswordUsage;
+import org.folio.pv.repository.SharedPwnedRangeRepository;
+import org.folio.pv.repository.SharedPwnedRangeRepository.ClaimedRange;
+import org.folio.pv.repository.SharedPwnedRangeRepository.StoredRange;
+
+@ExtendWith(MockitoExtension.class)
+class PwnedRangeCacheTest {
+
+  private static final String PREFIX = "21BD1";
+  private static final String SUFFIX = "2DC183F740EE76F27B78EB39C8AD972A757";
+  private static final String ETAG = "\"0x8DBC6C7A33E9E7A\"";
+  private static final String NEW_ETAG = "\"0x8DBD0F5B7C2A1B4\"";
+  private static final String LAST_MODIFIED = "Thu, 15 Oct 2026 09:12:44 GMT";
+  private static final Instant NOW = Instant.parse("2026-10-19T10:00:00Z");
+
+  private static final ValidationExecutors EXECUTORS = new ValidationExecutors(new VirtualThreadProperties(),
+      new DefaultFolioExecutionContext(null, Map.of()), null);
+
+  @Mock
+  private ResilientPwnedClient pwnedClient;
+  @Mock
+  private SharedPwnedRangeRepository sharedRepository;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final PwnedClientProperties properties = new PwnedClientProperties();
+  private final DependencyExecutors executors = new DependencyExecutors(new DependencyPoolProperties(), EXECUTORS,
+      meterRegistry);
+
+
+  @BeforeEach
+  void setUp() {
+    properties.getCache().getShared().setEnabled(true);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executors.shutdown();
+  }
+
+  @Test
+  void shouldFetchRangeOnceAndCacheItLocally() {
+    properties.getCache().getShared().setEnabled(false);
+    when(pwnedClient.getPwdRangeAsync(PREFIX, null, null)).thenReturn(completedFuture(response(5)));
+    var cache = cache();
+
+    assertEquals(5, cache.getRange(PREFIX).usageCount(SUFFIX));
+    assertEquals(5, cache.getRange(PREFIX.toLowerCase()).usageCount(SUFFIX));
+
+    verify(pwnedClient, times(1)).getPwdRangeAsync(PREFIX, null, null);
+    verifyNoInteractions(sharedRepository);
+  }
+
+  @Test
+  void shouldShareLoadOfRangeNotCachedInMemory() {
+    properties.getCache().getShared().setEnabled(false);
+    var response = new CompletableFuture<RangeResponse>();
+    when(pwnedClient.getPwdRangeAsync(PREFIX, null, null)).thenReturn(response);
+    var cache = cache();
+
+    var first = cache.getRangeAsync(PREFIX, null);
+    var second = cache.getRangeAsync(PREFIX, null);
+    assertFalse(first.isDone());
+    response.complete(response(6));
+
+    assertEquals(6, first.join().usageCount(SUFFIX));
+    assertEquals(6, second.join().usageCount(SUFFIX));
+    assertEquals(6, cache.getRangeAsync(PREFIX, null).join().usageCount(SUFFIX));
+    verify(pwnedClient, times(1)).getPwdRangeAsync(PREFIX, null, null);
+  }
+
+  @Test
+  void shouldStopWaitingAfterTimeoutAndCacheRangeLoadedLater() {
+    properties.getCache().getShared().setEnabled(false);
+    var response = new CompletableFuture<RangeResponse>();
+    when(pwnedClient.getPwdRangeAsync(PREFIX, null, null)).thenReturn(response);
+    var cache = cache();
+
+    var range = cache.getRangeAsync(PREFIX, Duration.ofMillis(10));
+
+    var exception = assertThrows(CompletionException.class, range::join);
+    assertThat(exception).hasCauseInstanceOf(TimeoutException.class);
+    response.complete(response(6));
+    assertEquals(6, cache.getRangeAsync(PREFIX, null).join().usageCount(SUFFIX));
+    verify(pwnedClient, times(1)).getPwdRangeAsync(PREFIX, null, null);
+  }
+
+  @Test
+  void shouldUseFreshSharedRangeWithoutFetching() {
+    when(sharedRepository.find(PREFIX)).thenReturn(Optional.of(stored(NOW.minus(Duration.ofHours(1)))));
+
+    assertEquals(5, cache().getRange(PREFIX).usageCount(SUFFIX));
+
+    verifyNoInteractions(pwnedClient);
+    assertThat(meterRegistry.get("pwned.range.cache.shared.lookups").tag("outcome", "hit").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldServeStaleSharedRangeWithoutFetching() {
+    when(sharedRepository.find(PREFIX)).thenReturn(Optional.of(stored(NOW.minus(Duration.ofDays(2)))));
+
+    assertEquals(5, cache().getRange(PREFIX).usageCount(SUFFIX));
+
+    verifyNoInteractions(pwnedClient);
+    assertThat(meterRegistry.get("pwned.range.cache.shared.lookups").tag("outcome", "stale").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldServeStaleSharedRangeWithoutFetchingIfNotCachedInMemory() {
+    properties.getCache().setMaximumSize(0);
+    when(sharedRepository.find(PREFIX)).thenReturn(Optional.of(stored(NOW.minus(Duration.ofDays(2)))));
+    var cache = cache();
+
+    assertEquals(5, cache.getRange(PREFIX).usageCount(SUFFIX));
+    assertEquals(5, cache.getRange(PREFIX).usageCount(SUFFIX));
+
+    verifyNoInteractions(pwnedClient);
+  }
+
+  @Test
+  void shouldOnlyTouchClaimedStaleRangeIfNotModified() {
+    when(sharedRepository.claimStale(any(), any(), eq(NOW), any(), anyInt()))
+        .thenReturn(List.of(new ClaimedRange(PREFIX, ETAG, LAST_MODIFIED)));
+    when(pwnedClient.getPwdRange(PREFIX, ETAG, LAST_MODIFIED))
+        .thenReturn(RangeResponse.notModified(ETAG, LAST_MODIFIED));
+    var cache = cache();
+
+    cache.refreshShared();
+
+    verify(sharedRepository).touch(PREFIX, NOW);
+    verify(sharedRepository, never()).save(any(), any(), any(), any(), any());
+    assertThat(meterRegistry.get("pwned.range.cache.revalidations").tag("outcome", "not_modified").counter().count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void shouldFailIfRangeIsNotStoredAndApiIsUnavailable() {
+    when(sharedRepository.find(PREFIX)).thenReturn(Optional.empty());
+    when(pwnedClient.getPwdRangeAsync(PREFIX, null, null))
+        .thenReturn(failedFuture(new PwnedPasswordsUnavailableException("open")));
+    var cache = cache();
+
+    assertThrows(PwnedPasswordsUnavailableException.class, () -> cache.getRange(PREFIX));
+  }
+
+  @Test
+  void shouldFetchIfSharedCacheIsUnavailable() {
+    when(sharedRepository.find(PREFIX)).thenThrow(new IllegalStateException("connection refused"));
+    when(pwnedClient.getPwdRangeAsync(PREFIX, null, null)).thenReturn(completedFuture(response(6)));
+
+    assertEquals(6, cache().getRange(PREFIX).usageCount(SUFFIX));
+  }
+
+  @Test
+  void shouldRefreshClaimedStaleRanges() {
+    when(sharedRepository.claimStale(any(), any(), eq(NOW), any(), anyInt()))
+        .thenReturn(List.of(new ClaimedRange(PREFIX, ETAG, LAST_MODIFIED)));
+    when(pwnedClient.getPwdRange(PREFIX, ETAG, LAST_MODIFIED)).thenReturn(response(6));
+    var cache = cache();
+
+    cache.refreshShared();
+
+    verify(sharedRepository).save(eq(PREFIX), any(byte[].class), eq(NOW), eq(NEW_ETAG), eq(LAST_MODIFIED));
+    verify(sharedRepository).deleteNotReadSince(NOW.minus(properties.getCache().getShared().getRetention()));
+    assertEquals(6, cache.getRange(PREFIX).usageCount(SUFFIX));
+  }
+
+  @Test
+  void shouldMarkSharedRangesReadInBatches() {
+    when(sharedRepository.find(PREFIX)).thenReturn(Optional.of(stored(NOW.minus(Duration.ofHours(1)))));
+    var cache = cache();
+    cache.getRange(PREFIX);
+
+    cache.refreshShared();
+    cache.refreshShared();
+
+    verify(sharedRepository, times(1)).markRead(List.of(PREFIX), NOW);
+  }
+
+  @Test
+  void shouldCacheOnlyInMemoryUntilSharedTableIsCreated() {
+    doThrow(new IllegalStateException("connection refused")).doNothing().when(sharedRepository).createTable();
+    when(pwnedClient.getPwdRangeAsync(PREFIX, null, null)).thenReturn(completedFuture(response(6)));
+    var cache = new PwnedRangeCache(pwnedClient, sharedRepository, properties, EXECUTORS, executors, meterRegistry,
+        Clock.fixed(NOW, ZoneOffset.UTC));
+
+    cache.refreshShared();
+    assertEquals(6, cache.getRange(PREFIX).usageCount(SUFFIX));
+    verify(sharedRepository, never()).find(any());
+    verify(sharedRepository, never()).claimStale(any(), any(), any(), any(), anyInt());
+
+    cache.refreshShared();
+    verify(sharedRepository, times(2)).createTable();
+    verify(sharedRepository).claimStale(any(), any(), eq(NOW), any(), anyInt());
+  }
+
+  private PwnedRangeCache cache() {
+    var cache = new PwnedRangeCache(pwnedClient, sharedRepository, properties, EXECUTORS, executors, meterRegistry,
+        Clock.fixed(NOW, ZoneOffset.UTC));
+    if (properties.getCache().getShared().isEnabled()) {
+      assertTrue(cache.prepareSharedTable());
+    }
+    return cache;
+  }
+
+  private static StoredRange stored(Instant fetchedAt) {
+    var range = PwnedRange.of(List.of(new HashedPasswordUsage(SUFFIX, 5)));
+    return new StoredRange(range.compress(), fetchedAt, ETAG, LAST_MODIFIED);
+  }
+
+  private static RangeResponse response(int count) {
+    return new RangeResponse(List.of(new HashedPasswordUsage(SUFFIX, count)), NEW_ETAG, LAST_MODIFIED);
+  }
+
+}
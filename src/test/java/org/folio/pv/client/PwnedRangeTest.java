@@ -0,0 +1,77 @@
+package org.folio.pv.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import org.folio.pv.domain.dto.HashedPasswordUsage;
+
+class PwnedRangeTest {
+
+  @Test
+  void shouldLookUpUsageCountsOfSuffixes() {
+    var usages = randomUsages(800);
+    var range = PwnedRange.of(usages);
+
+    usages.forEach(usage -> assertEquals(usage.getUsageCount(), range.usageCount(usage.getSuffix())));
+    assertEquals(0, range.usageCount("0".repeat(PwnedRange.SUFFIX_LENGTH)));
+    assertEquals(0, range.usageCount("ABC"));
+  }
+
+  @Test
+  void shouldMatchSuffixesCaseInsensitively() {
+    var suffix = "00d4f6e8fa6eecad2a3aa3fa0fe2f2ac6df";
+    var range = PwnedRange.of(List.of(new HashedPasswordUsage(suffix, 7)));
+
+    assertEquals(7, range.usageCount(suffix.toUpperCase()));
+  }
+
+  @Test
+  void shouldDropPaddingEntries() {
+    var range = PwnedRange.of(List.of(
+        new HashedPasswordUsage("00D4F6E8FA6EECAD2A3AA3FA0FE2F2AC6DF", 0),
+        new HashedPasswordUsage("011053FD0102E94D6AE2F8B83D76FAF94F6", 3)));
+
+    assertEquals(1, range.size());
+    assertThat(range.toUsages()).containsExactly(new HashedPasswordUsage("011053FD0102E94D6AE2F8B83D76FAF94F6", 3));
+  }
+
+  @Test
+  void shouldRoundTripCompressedForm() {
+    var usages = randomUsages(800);
+    var range = PwnedRange.of(usages);
+
+    var compressed = range.compress();
+    var restored = PwnedRange.decompress(compressed);
+
+    assertThat(restored.toUsages()).isEqualTo(range.toUsages());
+    assertThat(compressed.length).isLessThan(usages.size() * 24);
+  }
+
+  @Test
+  void shouldRejectInvalidSuffix() {
+    var usages = List.of(new HashedPasswordUsage("X".repeat(PwnedRange.SUFFIX_LENGTH), 1));
+
+    assertThrows(IllegalArgumentException.class, () -> PwnedRange.of(usages));
+  }
+
+  private static List<HashedPasswordUsage> randomUsages(int size) {
+    var random = new Random(11);
+    var usages = new ArrayList<HashedPasswordUsage>();
+    for (int i = 0; i < size; i++) {
+      var suffix = new StringBuilder();
+      for (int j = 0; j < PwnedRange.SUFFIX_LENGTH; j++) {
+        suffix.append(Character.toUpperCase(Character.forDigit(random.nextInt(16), 16)));
+      }
+      usages.add(new HashedPasswordUsage(suffix.toString(), 1 + random.nextInt(100_000)));
+    }
+    return usages;
+  }
+
+}
@@ -0,0 +1,151 @@
+package org.folio.pv.client;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import org.folio.spring.DefaultFolioExecutionContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import org.folio.pv.concurrent.ValidationExecutors;
+import org.folio.pv.config.DependencyLimitProperties;
+import org.folio.pv.config.DependencyPoolProperties;
+import org.folio.pv.config.VirtualThreadProperties;
+import org.folio.pv.domain.dto.HashedPasswordUsage;
+import org.folio.pv.resilience.CircuitBreaker;
+import org.folio.pv.tracing.Tracing;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientPwnedClientTest {
+
+  private static final String PREFIX = "21BD1";
+  private static final String ETAG = "\"0x8DBC6C7A33E9E7A\"";
+  private static final String LAST_MODIFIED = "Thu, 15 Oct 2026 09:12:44 GMT";
+  private static final List<HashedPasswordUsage> USAGES = singletonList(new HashedPasswordUsage("0018A45C4D1", 3));
+
+  private static final ValidationExecutors EXECUTORS = new ValidationExecutors(new VirtualThreadProperties(),
+      new DefaultFolioExecutionContext(null, Map.of()), null);
+
+  @Mock
+  private PwnedClient pwnedClient;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final DependencyExecutors executors = new DependencyExecutors(new DependencyPoolProperties(), EXECUTORS,
+      meterRegistry);
+  private ResilientPwnedClient client;
+
+
+  private static Tracing tracing() {
+    return new Tracing(OpenTelemetry.noop(), new DefaultFolioExecutionContext(null, Map.of()));
+  }
+
+  private DependencyLimiters limiters() {
+    return new DependencyLimiters(new DependencyLimitProperties(), meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executors.shutdown();
+  }
+
+  @Test
+  void shouldReturnRangeFromClient() {
+    client = new ResilientPwnedClient(pwnedClient, properties(false), executors, limiters(), tracing(), meterRegistry);
+    when(pwnedClient.getPwdRange(PREFIX, null, null))
+        .thenReturn(ResponseEntity.ok().eTag(ETAG).header(HttpHeaders.LAST_MODIFIED, LAST_MODIFIED).body(USAGES));
+
+    var response = client.getPwdRange(PREFIX, null, null);
+
+    assertThat(response.getUsages()).isEqualTo(USAGES);
+    assertThat(response.getEtag()).isEqualTo(ETAG);
+    assertThat(response.getLastModified()).isEqualTo(LAST_MODIFIED);
+  }
+
+  @Test
+  void shouldReturnNotModifiedForConditionalRequest() {
+    client = new ResilientPwnedClient(pwnedClient, properties(false), executors, limiters(), tracing(), meterRegistry);
+    var request = Request.create(Request.HttpMethod.GET, "/range/" + PREFIX, Map.of(), null, UTF_8, null);
+    when(pwnedClient.getPwdRange(PREFIX, ETAG, LAST_MODIFIED)).thenThrow(FeignException.errorStatus("getPwdRange",
+        Response.builder().status(304).reason("Not Modified").request(request).headers(Map.of()).build()));
+
+    var response = client.getPwdRange(PREFIX, ETAG, LAST_MODIFIED);
+
+    assertThat(response.isNotModified()).isTrue();
+    assertThat(response.getEtag()).isEqualTo(ETAG);
+    assertThat(client.getCircuitBreakerState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldOpenCircuitAfterFailuresAndRejectCalls() {
+    client = new ResilientPwnedClient(pwnedClient, properties(false), executors, limiters(), tracing(), meterRegistry);
+    when(pwnedClient.getPwdRange(PREFIX, null, null)).thenThrow(new IllegalStateException("Connection refused"));
+
+    for (int i = 0; i < 2; i++) {
+      assertThrows(PwnedPasswordsUnavailableException.class, () -> client.getPwdRange(PREFIX, null, null));
+    }
+
+    var exception = assertThrows(PwnedPasswordsUnavailableException.class, () -> client.getPwdRange(PREFIX, null, null));
+
+    assertThat(exception).hasMessageContaining("circuit breaker is open");
+    assertThat(client.getCircuitBreakerState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(meterRegistry.get("pwned.client.circuitbreaker.rejected").counter().count()).isEqualTo(1);
+    verify(pwnedClient, times(2)).getPwdRange(PREFIX, null, null);
+  }
+
+  @Test
+  void shouldSendHedgedRequestWhenFirstOneIsSlow() throws Exception {
+    client = new ResilientPwnedClient(pwnedClient, properties(true), executors, limiters(), tracing(), meterRegistry);
+    var release = new CountDownLatch(1);
+    when(pwnedClient.getPwdRange(PREFIX, null, null))
+        .thenAnswer(invocation -> {
+          release.await(5, TimeUnit.SECONDS);
+          return ResponseEntity.ok(USAGES);
+        })
+        .thenReturn(ResponseEntity.ok(USAGES));
+
+    try {
+      assertThat(client.getPwdRange(PREFIX, null, null).getUsages()).isEqualTo(USAGES);
+      assertThat(meterRegistry.get("pwned.client.hedge.requests").counter().count()).isEqualTo(1);
+      verify(pwnedClient, times(2)).getPwdRange(PREFIX, null, null);
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private static PwnedClientProperties properties(boolean hedgingEnabled) {
+    var properties = new PwnedClientProperties();
+
+    var breaker = properties.getCircuitBreaker();
+    breaker.setSlidingWindowSize(2);
+    breaker.setMinimumNumberOfCalls(2);
+    breaker.setWaitDurationInOpenState(Duration.ofMinutes(1));
+
+    var hedging = properties.getHedging();
+    hedging.setEnabled(hedgingEnabled);
+    hedging.setMaxDelay(Duration.ofMillis(100));
+
+    return properties;
+  }
+
+}
@@ -0,0 +1,79 @@
+package org.folio.pv.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class DependencyExecutorTest {
+
+  private final DependencyExecutor executor = new DependencyExecutor("test", Executors.newFixedThreadPool(1), 1, 1,
+      Duration.ofMillis(200));
+
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldQueueAndRejectCallsOverCapacity() throws Exception {
+    var release = new CountDownLatch(1);
+    var running = executor.supplyAsync(() -> await(release));
+    var queued = executor.supplyAsync(() -> "queued");
+    var rejected = executor.supplyAsync(() -> "rejected");
+
+    var exc = assertThrows(ExecutionException.class, rejected::get);
+    assertThat(exc).hasCauseInstanceOf(RejectedExecutionException.class);
+    assertEquals(1, executor.getRejectedCount());
+    assertEquals(1, executor.getQueueDepth());
+
+    release.countDown();
+    assertEquals("released", running.get(1, TimeUnit.SECONDS));
+    assertEquals("queued", queued.get(1, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void shouldTimeOutAndInterruptSlowCall() {
+    var interrupted = new CountDownLatch(1);
+    var call = executor.supplyAsync(() -> {
+      try {
+        Thread.sleep(10_000);
+      } catch (InterruptedException e) {
+        interrupted.countDown();
+      }
+      return "slow";
+    });
+
+    var exc = assertThrows(ExecutionException.class, () -> call.get(1, TimeUnit.SECONDS));
+    assertThat(exc).hasCauseInstanceOf(TimeoutException.class);
+    assertEquals(1, executor.getTimeoutCount());
+    assertTrue(awaitQuietly(interrupted));
+  }
+
+  private static String await(CountDownLatch latch) {
+    awaitQuietly(latch);
+    return "released";
+  }
+
+  private static boolean awaitQuietly(CountDownLatch latch) {
+    try {
+      return latch.await(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+}
@@ -0,0 +1,123 @@
+package org.folio.pv.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.folio.spring.DefaultFolioExecutionContext;
+import org.folio.spring.FolioExecutionContext;
+import org.folio.spring.FolioModuleMetadata;
+import org.folio.spring.scope.FolioExecutionScopeExecutionContextManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.folio.pv.config.VirtualThreadProperties;
+
+@ExtendWith(MockitoExtension.class)
+class ValidationExecutorsTest {
+
+  private static final Map<String, Collection<String>> DIKU_HEADERS = Map.of("x-okapi-tenant", List.of("diku"));
+
+  @Mock
+  private FolioExecutionContext folioExecutionContext;
+  @Mock
+  private FolioModuleMetadata moduleMetadata;
+
+  private final VirtualThreadProperties properties = new VirtualThreadProperties();
+
+
+  @Test
+  void shouldRunTasksOnNamedPlatformThreadsByDefault() throws Exception {
+    when(folioExecutionContext.getInstance()).thenReturn(new DefaultFolioExecutionContext(moduleMetadata,
+        DIKU_HEADERS));
+    var executors = new ValidationExecutors(properties, folioExecutionContext, moduleMetadata);
+    var executor = executors.newExecutor("test-pool", 1, new LinkedBlockingQueue<>());
+
+    try {
+      var thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).get();
+      var tenant = CompletableFuture.supplyAsync(ValidationExecutorsTest::currentTenant, executor).get();
+
+      assertThat(executors.isVirtual()).isFalse();
+      assertThat(thread.getName()).isEqualTo("test-pool-1");
+      assertThat(thread.isDaemon()).isTrue();
+      assertThat(tenant).isEqualTo("diku");
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void shouldClearContextOnceTaskHasRun() {
+    when(folioExecutionContext.getInstance()).thenReturn(new DefaultFolioExecutionContext(moduleMetadata,
+        DIKU_HEADERS));
+    var executors = new ValidationExecutors(properties, folioExecutionContext, moduleMetadata);
+    var tenant = new AtomicReference<String>();
+
+    executors.inCurrentContext(Runnable::run).execute(() -> tenant.set(currentTenant()));
+
+    assertThat(tenant.get()).isEqualTo("diku");
+    assertThat(currentTenant()).isNull();
+  }
+
+  @Test
+  void shouldRunScheduledTasksInSystemContext() throws Exception {
+    var executors = new ValidationExecutors(properties, folioExecutionContext, moduleMetadata);
+    var scheduler = executors.newScheduledExecutor("test-scheduler");
+
+    try {
+      var context = scheduler.schedule(FolioExecutionScopeExecutionContextManager::getFolioExecutionContext, 1,
+          TimeUnit.MILLISECONDS).get();
+      var thread = scheduler.schedule(Thread::currentThread, 1, TimeUnit.MILLISECONDS).get();
+
+      assertThat(context.getTenantId()).isNull();
+      assertThat(context.getFolioModuleMetadata()).isSameAs(moduleMetadata);
+      assertThat(thread.getName()).isEqualTo("test-scheduler-1");
+      assertThat(thread.isDaemon()).isTrue();
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Test
+  void shouldFallBackToPlatformThreadsIfVirtualThreadsAreNotSupported() {
+    assumeTrue(!VirtualThreads.isSupported());
+    properties.setEnabled(true);
+
+    assertThat(new ValidationExecutors(properties, folioExecutionContext, moduleMetadata).isVirtual()).isFalse();
+  }
+
+  @Test
+  void shouldRunTasksOnVirtualThreadsIfEnabled() throws Exception {
+    assumeTrue(VirtualThreads.isSupported());
+    when(folioExecutionContext.getInstance()).thenReturn(folioExecutionContext);
+    properties.setEnabled(true);
+    var executors = new ValidationExecutors(properties, folioExecutionContext, moduleMetadata);
+    var executor = executors.newExecutor("test-vt", 1, new LinkedBlockingQueue<>());
+
+    try {
+      var thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).get();
+
+      assertThat(executors.isVirtual()).isTrue();
+      assertThat(thread.getName()).startsWith("test-vt-");
+      assertThat(Thread.class.getMethod("isVirtual").invoke(thread)).isEqualTo(true);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static String currentTenant() {
+    var context = FolioExecutionScopeExecutionContextManager.getFolioExecutionContext();
+    return context == null ? null : context.getTenantId();
+  }
+
+}
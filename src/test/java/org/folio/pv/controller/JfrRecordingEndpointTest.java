@@ -0,0 +1,41 @@
+package org.folio.pv.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+import org.folio.pv.jfr.JfrRecorder;
+
+@ExtendWith(MockitoExtension.class)
+class JfrRecordingEndpointTest {
+
+  @Mock
+  private JfrRecorder recorder;
+
+  @Test
+  void shouldDeleteDumpOnceItHasBeenRead() throws Exception {
+    var dump = Files.createTempFile("recording-", ".jfr");
+    Files.write(dump, new byte[] {1, 2, 3});
+    when(recorder.dump()).thenReturn(dump);
+
+    var response = new JfrRecordingEndpoint(recorder).recording(JfrRecordingEndpoint.RECORDING_FILE);
+
+    assertEquals(WebEndpointResponse.STATUS_OK, response.getStatus());
+    var resource = response.getBody();
+    assertEquals(3, resource.contentLength());
+    try (var in = resource.getInputStream()) {
+      assertArrayEquals(new byte[] {1, 2, 3}, in.readAllBytes());
+    }
+    assertFalse(Files.exists(dump));
+  }
+
+}
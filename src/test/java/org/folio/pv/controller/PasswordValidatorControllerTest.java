@@ -0,0 +1,77 @@
+package org.folio.pv.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import org.folio.pv.client.PwnedPasswordsUnavailableException;
+import org.folio.pv.config.AdmissionProperties;
+import org.folio.pv.config.ValidationProperties;
+import org.folio.pv.domain.dto.Password;
+import org.folio.pv.service.TenantAdmission;
+import org.folio.pv.service.ValidationRuleService;
+import org.folio.pv.service.ValidationTimings;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordValidatorControllerTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Mock
+  private ValidationRuleService validationRuleService;
+  @Mock
+  private TenantAdmission tenantAdmission;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    var admissionProperties = new AdmissionProperties();
+    admissionProperties.setRetryAfter(Duration.ofSeconds(2));
+    var controller = new PasswordValidatorController(validationRuleService, tenantAdmission, admissionProperties,
+        new ValidationProperties(), objectMapper);
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+    when(tenantAdmission.admit(any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(0)).get());
+  }
+
+  @Test
+  void shouldAnswerServiceUnavailableWhenPwnedPasswordsApiIsUnavailable() throws Exception {
+    when(validationRuleService.validatePasswordByRulesAsync(any(Password.class), any(), eq(ValidationTimings.OFF)))
+        .thenReturn(CompletableFuture.failedFuture(
+            new PwnedPasswordsUnavailableException("Pwned Passwords API is unavailable")));
+    var password = new Password().password("7Xu^&t[:J3Hha(<B").userId(UUID.randomUUID().toString());
+
+    var result = mockMvc.perform(post("/password/validate")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(password)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+  }
+
+}
@@ -0,0 +1,83 @@
+package org.folio.pv.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import org.folio.pv.domain.dto.ValidationRule;
+import org.folio.pv.service.ValidationRuleService;
+import org.folio.pv.service.validator.InvalidRuleException;
+
+@ExtendWith(MockitoExtension.class)
+class ValidationRulesControllerTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Mock
+  private ValidationRuleService validationRuleService;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders.standaloneSetup(new ValidationRulesController(validationRuleService)).build();
+  }
+
+  @Test
+  void shouldRejectRuleWithInvalidExpression() throws Exception {
+    when(validationRuleService.createOrUpdateValidationRule(any(ValidationRule.class)))
+        .thenThrow(new InvalidRuleException("Invalid rule expression: unexpected end of expression"));
+
+    mockMvc.perform(post("/tenant/rules")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(expressionRule("length > "))))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(jsonPath("$.errors[0].message").value("Invalid rule expression: unexpected end of expression"))
+        .andExpect(jsonPath("$.total_records").value(1));
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = {
+      "unknownProperty > 1|EL1008E: Property or field 'unknownProperty' cannot be found",
+      "password.length() > 8|EL1004E: Method call: Method length() cannot be found on type java.lang.String",
+      "length + 1|EL1001E: Type conversion problem, cannot convert from java.lang.Integer to java.lang.Boolean"
+  })
+  void shouldRejectRuleWithExpressionThatDoesNotEvaluateToBoolean(String expression, String error) throws Exception {
+    var message = "Invalid rule expression: " + error;
+    when(validationRuleService.createOrUpdateValidationRule(any(ValidationRule.class)))
+        .thenThrow(new InvalidRuleException(message));
+
+    mockMvc.perform(post("/tenant/rules")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(expressionRule(expression))))
+        .andExpect(status().isUnprocessableEntity())
+        .andExpect(jsonPath("$.errors[0].message").value(message))
+        .andExpect(jsonPath("$.total_records").value(1));
+  }
+
+  private static ValidationRule expressionRule(String expression) {
+    return new ValidationRule()
+        .name("Long enough")
+        .type(ValidationRule.TypeEnum.EXPRESSION)
+        .validationType(ValidationRule.ValidationTypeEnum.STRONG)
+        .state(ValidationRule.StateEnum.ENABLED)
+        .moduleName("mod-password-validator")
+        .orderNo(1)
+        .expression(expression);
+  }
+
+}
@@ -0,0 +1,80 @@
+package org.folio.pv.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class AhoCorasickAutomatonTest {
+
+  private static final AhoCorasickAutomaton AUTOMATON = AhoCorasickAutomaton.build(
+      List.of("he", "she", "his", "hers", "library", "folio"));
+
+  @ParameterizedTest
+  @CsvSource({
+      "ushers, true",
+      "xxfoliox, true",
+      "librar, false",
+      "mylibrary2020, true",
+      "h, false",
+      "ahishe, true",
+      "'', false",
+      "qwerty, false"
+  })
+  void shouldFindEmbeddedWords(String text, boolean expected) {
+    assertEquals(expected, AUTOMATON.containsAny(text));
+  }
+
+  @Test
+  void shouldFindWordsReachableOnlyThroughFailureLinks() {
+    var automaton = AhoCorasickAutomaton.build(List.of("abcd", "bc"));
+
+    assertTrue(automaton.containsAny("xabcx"));
+    assertFalse(automaton.containsAny("xacbx"));
+  }
+
+  @Test
+  void shouldIgnoreEmptyAndDuplicateWords() {
+    var automaton = AhoCorasickAutomaton.build(List.of("", "word", "word"));
+
+    assertEquals(1, automaton.getWordCount());
+    assertFalse(automaton.containsAny("anything"));
+  }
+
+  @Test
+  void shouldMatchLikeNaiveSearch() {
+    var random = new Random(42);
+    var words = IntStream.range(0, 200).mapToObj(i -> randomString(random, 2 + random.nextInt(4)))
+        .collect(Collectors.toList());
+    var automaton = AhoCorasickAutomaton.build(words);
+
+    for (int i = 0; i < 1000; i++) {
+      var text = randomString(random, random.nextInt(12));
+      assertEquals(words.stream().anyMatch(text::contains), automaton.containsAny(text), text);
+    }
+  }
+
+  @Test
+  void shouldReportSize() {
+    assertThat(AUTOMATON.estimatedSizeInBytes()).isPositive();
+    assertThat(AUTOMATON.getStateCount()).isGreaterThan(AUTOMATON.getWordCount());
+  }
+
+  private static String randomString(Random random, int length) {
+    var result = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      result.append((char) ('a' + random.nextInt(4)));
+    }
+    return result.toString();
+  }
+
+}
@@ -0,0 +1,86 @@
+package org.folio.pv.dictionary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.folio.pv.repository.DictionaryWordRepository;
+import org.folio.spring.FolioExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+class DictionaryRegistryTest {
+
+  private static final Duration REFRESH_INTERVAL = Duration.ofMinutes(10);
+
+  @Mock
+  private DictionaryWordRepository wordRepository;
+  @Mock
+  private FolioExecutionContext folioExecutionContext;
+
+  private final AtomicLong clock = new AtomicLong();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private DictionaryRegistry registry;
+
+
+  @BeforeEach
+  void setUp() {
+    when(folioExecutionContext.getTenantId()).thenReturn("diku");
+    var properties = new DictionaryProperties();
+    properties.setRefreshInterval(REFRESH_INTERVAL);
+    // refreshes run on the calling thread, the stale dictionary is still returned by the call that triggers one
+    registry = new DictionaryRegistry(properties, wordRepository, folioExecutionContext, meterRegistry,
+        Runnable::run, clock::get);
+  }
+
+  @Test
+  void shouldServeBuiltDictionaryUntilRefreshInterval() {
+    when(wordRepository.findWordsByDictionary("local")).thenReturn(List.of("library"));
+    var built = registry.getDictionary("local", false);
+
+    clock.addAndGet(REFRESH_INTERVAL.minusSeconds(1).toNanos());
+
+    assertThat(registry.getDictionary("local", false)).isSameAs(built);
+    assertThat(meterRegistry.get("pv.dictionary.memory").gauge().value())
+        .isEqualTo(built.estimatedSizeInBytes());
+  }
+
+  @Test
+  void shouldKeepServingBuiltDictionaryIfRebuildFails() {
+    when(wordRepository.findWordsByDictionary("local"))
+        .thenReturn(List.of("library"))
+        .thenThrow(new IllegalStateException("connection refused"));
+    var built = registry.getDictionary("local", false);
+
+    clock.addAndGet(REFRESH_INTERVAL.plusSeconds(1).toNanos());
+
+    assertThat(registry.getDictionary("local", false)).isSameAs(built);
+    assertThat(registry.getDictionary("local", false)).isSameAs(built);
+    assertThat(built.containsAny("mylibrary")).isTrue();
+  }
+
+  @Test
+  void shouldRebuildDictionaryAfterRefreshInterval() {
+    when(wordRepository.findWordsByDictionary("local"))
+        .thenReturn(List.of("library"))
+        .thenReturn(List.of("catalog"));
+    var built = registry.getDictionary("local", false);
+
+    clock.addAndGet(REFRESH_INTERVAL.plusSeconds(1).toNanos());
+    registry.getDictionary("local", false);
+
+    var rebuilt = registry.getDictionary("local", false);
+    assertThat(rebuilt).isNotSameAs(built);
+    assertThat(rebuilt.containsAny("mycatalog")).isTrue();
+  }
+
+}
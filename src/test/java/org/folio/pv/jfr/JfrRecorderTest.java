@@ -0,0 +1,112 @@
+package org.folio.pv.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.folio.pv.config.JfrRecordingProperties;
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+
+class JfrRecorderTest {
+
+  private final JfrRecorder recorder = new JfrRecorder(new JfrRecordingProperties());
+  private final List<Path> dumps = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() throws IOException {
+    recorder.close();
+    for (var dump : dumps) {
+      Files.deleteIfExists(dump);
+    }
+  }
+
+  @Test
+  void shouldRecordModuleEvents() throws Exception {
+    var rule = new PasswordValidationRule();
+    rule.setId(UUID.randomUUID());
+    rule.setRuleType("Programmatic");
+    rule.setValidationType("Soft");
+
+    recorder.start(null);
+    RuleEvaluationEvent.record(rule, () -> ValidationErrors.of("password.invalid"));
+    OutboundCallEvent.begin("users", "GET").complete(null);
+    CacheAccessEvent.begin("expressions").complete("hit");
+    recorder.stop();
+
+    var events = RecordingFile.readAllEvents(dump());
+    var evaluation = eventOf(events, "org.folio.pv.RuleEvaluation");
+    assertEquals(rule.getId().toString(), evaluation.getString("ruleId"));
+    assertEquals("Programmatic", evaluation.getString("ruleType"));
+    assertEquals("invalid", evaluation.getString("outcome"));
+    assertEquals("success", eventOf(events, "org.folio.pv.OutboundCall").getString("outcome"));
+    assertEquals("hit", eventOf(events, "org.folio.pv.CacheAccess").getString("outcome"));
+  }
+
+  @Test
+  void shouldNotRecordEnvironmentOrSystemProperties() throws Exception {
+    recorder.start(null);
+    recorder.stop();
+
+    var events = RecordingFile.readAllEvents(dump());
+    assertThat(events).extracting(event -> event.getEventType().getName())
+        .isNotEmpty()
+        .doesNotContainAnyElementsOf(JfrRecorder.SECRET_EVENTS);
+  }
+
+  @Test
+  void shouldBoundDurationAndRunOneRecordingAtATime() throws Exception {
+    var status = recorder.start(Duration.ofHours(1));
+
+    assertEquals("RUNNING", status.getState());
+    assertEquals(Duration.ofMinutes(10), status.getDuration());
+    assertThrows(IllegalStateException.class, () -> recorder.start(null));
+    assertEquals("STOPPED", recorder.stop().getState());
+  }
+
+  @Test
+  void shouldDumpToFileOfItsOwnEachTime() throws Exception {
+    recorder.start(null);
+
+    var first = dump();
+    var second = dump();
+    recorder.close();
+
+    assertNotEquals(first, second);
+    assertTrue(Files.exists(first));
+    assertTrue(Files.exists(second));
+  }
+
+  @Test
+  void shouldNotDumpBeforeRecordingStarted() {
+    assertEquals("NEW", recorder.status().getState());
+    assertThrows(IllegalStateException.class, recorder::dump);
+  }
+
+  private Path dump() throws IOException {
+    var dump = recorder.dump();
+    dumps.add(dump);
+    return dump;
+  }
+
+  private static RecordedEvent eventOf(List<RecordedEvent> events, String name) {
+    assertThat(events).extracting(event -> event.getEventType().getName()).contains(name);
+    return events.stream().filter(event -> event.getEventType().getName().equals(name)).findFirst().orElseThrow();
+  }
+
+}
@@ -0,0 +1,102 @@
+package org.folio.pv.plugin;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import javax.tools.ToolProvider;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.folio.pv.domain.dto.UserData;
+
+class PluginRegistryTest {
+
+  private static final String JAR_PLUGIN_SOURCE = "package org.folio.pv.plugin.jar;\n" +
+      "public class JarPlugin implements org.folio.pv.plugin.ValidatorPlugin {\n" +
+      "  public String getId() { return \"jar-plugin\"; }\n" +
+      "  public org.folio.pv.domain.dto.ValidationErrors validate(String password,\n" +
+      "      org.folio.pv.domain.dto.UserData user) {\n" +
+      "    return org.folio.pv.domain.dto.ValidationErrors.of(\"password.jar.invalid\");\n" +
+      "  }\n" +
+      "}\n";
+
+  @TempDir
+  Path pluginDir;
+
+  private final PluginProperties properties = new PluginProperties();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private PluginRegistry registry;
+
+
+  @AfterEach
+  void tearDown() {
+    if (registry != null) {
+      registry.closeClassLoaders();
+    }
+  }
+
+  @Test
+  void shouldLoadPluginsFromClassPath() {
+    registry = new PluginRegistry(properties, meterRegistry);
+    registry.loadPlugins();
+
+    assertThat(registry.getPlugin(TestValidatorPlugin.ID)).get().isInstanceOf(TestValidatorPlugin.class);
+    assertThat(registry.getPlugin("unknown")).isEmpty();
+  }
+
+  @Test
+  void shouldLoadPluginsFromDirectoryWithOwnClassLoader() throws IOException {
+    buildPluginJar(pluginDir.resolve("jar-plugin.jar"));
+    properties.setDirectory(pluginDir.toString());
+
+    registry = new PluginRegistry(properties, meterRegistry);
+    registry.loadPlugins();
+
+    var plugin = registry.getPlugin("jar-plugin").orElseThrow();
+    assertThat(plugin.getClass().getClassLoader()).isNotSameAs(getClass().getClassLoader());
+    assertThat(plugin.validate("secret", new UserData("id", "name")).getErrorMessages())
+        .containsExactly("password.jar.invalid");
+    // plugins of the parent class loader are not registered twice
+    assertThat(registry.getPlugins()).containsOnlyKeys(TestValidatorPlugin.ID, "jar-plugin");
+    assertEquals(2.0, meterRegistry.get("pv.plugins.loaded").gauge().value());
+  }
+
+  @Test
+  void shouldIgnoreMissingDirectory() {
+    properties.setDirectory(pluginDir.resolve("missing").toString());
+
+    registry = new PluginRegistry(properties, meterRegistry);
+    registry.loadPlugins();
+
+    assertThat(registry.getPlugins()).containsOnlyKeys(TestValidatorPlugin.ID);
+  }
+
+  private void buildPluginJar(Path jar) throws IOException {
+    var sources = Files.createTempDirectory(pluginDir, "src");
+    var source = sources.resolve("JarPlugin.java");
+    Files.writeString(source, JAR_PLUGIN_SOURCE);
+
+    var compiled = ToolProvider.getSystemJavaCompiler().run(null, null, null,
+        "-classpath", System.getProperty("java.class.path"), "-d", sources.toString(), source.toString());
+    assertEquals(0, compiled);
+
+    try (var out = new JarOutputStream(Files.newOutputStream(jar))) {
+      out.putNextEntry(new JarEntry("org/folio/pv/plugin/jar/JarPlugin.class"));
+      out.write(Files.readAllBytes(sources.resolve("org/folio/pv/plugin/jar/JarPlugin.class")));
+      out.closeEntry();
+      out.putNextEntry(new JarEntry("META-INF/services/" + ValidatorPlugin.class.getName()));
+      out.write("org.folio.pv.plugin.jar.JarPlugin\n".getBytes(UTF_8));
+      out.closeEntry();
+    }
+  }
+
+}
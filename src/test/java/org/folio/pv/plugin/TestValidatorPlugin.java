@@ -0,0 +1,20 @@
+package org.folio.pv.plugin;
+
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.dto.ValidationErrors;
+
+public class TestValidatorPlugin implements ValidatorPlugin {
+
+  public static final String ID = "test-plugin";
+
+  @Override
+  public String getId() {
+    return ID;
+  }
+
+  @Override
+  public ValidationErrors validate(String password, UserData user) {
+    return password.contains("plugin") ? ValidationErrors.of("password.plugin.invalid") : ValidationErrors.none();
+  }
+
+}
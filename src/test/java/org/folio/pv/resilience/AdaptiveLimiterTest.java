@@ -0,0 +1,117 @@
+package org.folio.pv.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.folio.pv.resilience.AdaptiveLimiter.Outcome;
+import org.folio.pv.resilience.AdaptiveLimiter.Permit;
+
+class AdaptiveLimiterTest {
+
+  private final AtomicLong clock = new AtomicLong();
+  private final AdaptiveLimiter limiter = new AdaptiveLimiter("test", 4, 2, 10, 0.5, 2.0, Duration.ofMillis(10),
+      clock::get);
+
+
+  @Test
+  void shouldIncreaseLimitOnSuccessWhileUtilized() {
+    var first = limiter.tryAcquire();
+    var second = limiter.tryAcquire();
+
+    first.success();
+    assertEquals(5, limiter.getLimit());
+
+    // one of five in flight, not utilized
+    second.success();
+    assertEquals(5, limiter.getLimit());
+    assertEquals(2, limiter.getCount(Outcome.SUCCESS));
+  }
+
+  @Test
+  void shouldDecreaseLimitOnDroppedCall() {
+    limiter.tryAcquire().dropped();
+
+    assertEquals(2, limiter.getLimit());
+    assertEquals(1, limiter.getCount(Outcome.DROPPED));
+  }
+
+  @Test
+  void shouldDecreaseLimitIfRoundTripTimeExceedsBaseline() {
+    for (int i = 0; i < 20; i++) {
+      var permit = limiter.tryAcquire();
+      clock.addAndGet(1_000_000);
+      permit.success();
+    }
+    var limit = limiter.getLimit();
+
+    var permit = limiter.tryAcquire();
+    clock.addAndGet(5_000_000);
+    permit.success();
+
+    assertEquals(Math.max(2, limit / 2), limiter.getLimit());
+  }
+
+  @Test
+  void shouldLeaveLimitAsIsOnIgnoredCall() {
+    limiter.tryAcquire().ignore();
+
+    assertEquals(4, limiter.getLimit());
+    assertEquals(0, limiter.getInFlight());
+  }
+
+  @Test
+  void shouldRejectCallsOverTheLimit() {
+    var permits = new ArrayList<Permit>();
+    for (int i = 0; i < 4; i++) {
+      permits.add(limiter.tryAcquire());
+    }
+
+    assertNull(limiter.tryAcquire());
+    assertThrows(LimitExceededException.class, limiter::acquire);
+    assertEquals(2, limiter.getCount(Outcome.REJECTED));
+
+    permits.get(0).ignore();
+    assertNotNull(limiter.tryAcquire());
+  }
+
+  @Test
+  void shouldGrantWaitingCallerPermitOfCompletedCall() throws Exception {
+    var waitingLimiter = new AdaptiveLimiter("test", 2, 2, 2, 0.5, 2.0, Duration.ofSeconds(5), clock::get);
+    var first = waitingLimiter.acquire();
+    waitingLimiter.acquire();
+
+    var waiting = CompletableFuture.supplyAsync(waitingLimiter::acquire);
+    first.ignore();
+
+    assertNotNull(waiting.get(5, TimeUnit.SECONDS));
+    assertEquals(2, waitingLimiter.getInFlight());
+    assertEquals(0, waitingLimiter.getCount(Outcome.REJECTED));
+  }
+
+  @Test
+  void shouldReleasePermitOnce() {
+    var permit = limiter.tryAcquire();
+    permit.dropped();
+    permit.dropped();
+
+    assertEquals(2, limiter.getLimit());
+    assertEquals(1, limiter.getCount(Outcome.DROPPED));
+  }
+
+  @Test
+  void shouldFailOnInvalidLimits() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new AdaptiveLimiter("test", 1, 2, 10, 0.5, 2.0, Duration.ZERO));
+  }
+
+}
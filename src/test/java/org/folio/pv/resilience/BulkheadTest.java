@@ -0,0 +1,73 @@
+package org.folio.pv.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BulkheadTest {
+
+  private final Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofSeconds(10));
+
+
+  @Test
+  void shouldQueueCallsOverTheLimitAndStartThemWhenARunningCallCompletes() throws Exception {
+    var first = new CompletableFuture<String>();
+    var second = new CompletableFuture<String>();
+
+    var firstResult = bulkhead.submit(() -> first, Runnable::run);
+    var secondResult = bulkhead.submit(() -> second, Runnable::run);
+
+    assertEquals(1, bulkhead.getActiveCalls());
+    assertEquals(1, bulkhead.getQueueDepth());
+
+    first.complete("first");
+    second.complete("second");
+
+    assertEquals("first", firstResult.get(1, TimeUnit.SECONDS));
+    assertEquals("second", secondResult.get(1, TimeUnit.SECONDS));
+    assertEquals(0, bulkhead.getActiveCalls());
+    assertEquals(0, bulkhead.getQueueDepth());
+  }
+
+  @Test
+  void shouldRejectCallsIfQueueIsFull() {
+    bulkhead.submit(CompletableFuture::new, Runnable::run);
+    bulkhead.submit(CompletableFuture::new, Runnable::run);
+
+    var rejected = bulkhead.submit(() -> CompletableFuture.completedFuture("third"), Runnable::run);
+
+    assertThat(rejected).isCompletedExceptionally();
+    assertThat(rejected).hasFailedWithThrowableThat().isInstanceOf(BulkheadFullException.class);
+  }
+
+  @Test
+  void shouldRejectCallsWaitingInQueueForTooLong() {
+    var bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(50));
+    bulkhead.submit(CompletableFuture::new, Runnable::run);
+
+    var queued = bulkhead.submit(() -> CompletableFuture.completedFuture("second"), Runnable::run);
+
+    var exception = assertThrows(ExecutionException.class,
+        () -> queued.get(1, TimeUnit.SECONDS));
+    assertThat(exception).hasCauseInstanceOf(BulkheadFullException.class);
+    assertEquals(0, bulkhead.getQueueDepth());
+  }
+
+  @Test
+  void shouldReleasePermitIfCallFailsToStart() {
+    var failed = bulkhead.submit(() -> {
+      throw new IllegalStateException("not started");
+    }, Runnable::run);
+
+    assertThat(failed).isCompletedExceptionally();
+    assertEquals(0, bulkhead.getActiveCalls());
+  }
+
+}
@@ -0,0 +1,102 @@
+package org.folio.pv.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.folio.pv.resilience.CircuitBreaker.State;
+
+class CircuitBreakerTest {
+
+  private static final Duration WAIT_IN_OPEN_STATE = Duration.ofSeconds(10);
+
+  private final AtomicLong clock = new AtomicLong();
+  private CircuitBreaker breaker;
+
+
+  @BeforeEach
+  void setUp() {
+    breaker = new CircuitBreaker("test", 50, 4, 4, WAIT_IN_OPEN_STATE, 2, clock::get);
+  }
+
+  @Test
+  void shouldStayClosedUntilMinimumNumberOfCallsIsRecorded() {
+    recordFailures(3);
+
+    assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    assertTrue(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void shouldOpenWhenFailureRateReachesThreshold() {
+    recordSuccesses(2);
+    recordFailures(2);
+
+    assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    assertFalse(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void shouldForgetOutcomesOutsideOfSlidingWindow() {
+    recordFailures(1);
+    recordSuccesses(4);
+    recordFailures(1);
+
+    assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void shouldPermitLimitedProbesAfterWaitDuration() {
+    recordFailures(4);
+
+    clock.addAndGet(WAIT_IN_OPEN_STATE.toNanos());
+
+    assertTrue(breaker.tryAcquirePermission());
+    assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+    assertTrue(breaker.tryAcquirePermission());
+    assertFalse(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void shouldCloseWhenAllProbesSucceed() {
+    recordFailures(4);
+    clock.addAndGet(WAIT_IN_OPEN_STATE.toNanos());
+
+    breaker.tryAcquirePermission();
+    breaker.tryAcquirePermission();
+    recordSuccesses(2);
+
+    assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+  }
+
+  @Test
+  void shouldReopenWhenProbeFails() {
+    recordFailures(4);
+    clock.addAndGet(WAIT_IN_OPEN_STATE.toNanos());
+
+    breaker.tryAcquirePermission();
+    recordFailures(1);
+
+    assertThat(breaker.getState()).isEqualTo(State.OPEN);
+    assertFalse(breaker.tryAcquirePermission());
+  }
+
+  private void recordFailures(int count) {
+    for (int i = 0; i < count; i++) {
+      breaker.onError();
+    }
+  }
+
+  private void recordSuccesses(int count) {
+    for (int i = 0; i < count; i++) {
+      breaker.onSuccess();
+    }
+  }
+
+}
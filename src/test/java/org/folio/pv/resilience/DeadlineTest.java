@@ -0,0 +1,57 @@
+package org.folio.pv.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+class DeadlineTest {
+
+  @Test
+  void shouldCapTimeoutByTimeLeft() {
+    var deadline = Deadline.after(Duration.ofSeconds(1));
+
+    assertThat(deadline.cap(Duration.ofSeconds(5))).isLessThanOrEqualTo(Duration.ofSeconds(1));
+    assertEquals(Duration.ofMillis(100), deadline.cap(Duration.ofMillis(100)));
+    assertThat(deadline.cap(null)).isLessThanOrEqualTo(Duration.ofSeconds(1));
+  }
+
+  @Test
+  void shouldCapTimeoutToOneMillisecondOnceExpired() {
+    var deadline = Deadline.after(Duration.ofMillis(-1));
+
+    assertTrue(deadline.isExpired());
+    assertEquals(Duration.ZERO, deadline.remaining());
+    assertEquals(Duration.ofMillis(1), deadline.cap(Duration.ofSeconds(5)));
+  }
+
+  @Test
+  void shouldLeaveTimeoutAsIsWithoutDeadline() {
+    assertFalse(Deadline.NONE.isExpired());
+    assertNull(Deadline.NONE.remaining());
+    assertNull(Deadline.NONE.cap(null));
+    assertEquals(Duration.ofSeconds(5), Deadline.NONE.cap(Duration.ofSeconds(5)));
+    assertFalse(Deadline.NONE.expiry().isDone());
+  }
+
+  @Test
+  void shouldFailFutureNotCompletedByDeadline() throws Exception {
+    var deadline = Deadline.after(Duration.ofMillis(20));
+    var future = deadline.bound(new CompletableFuture<String>());
+
+    var exc = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+    assertThat(exc).hasCauseInstanceOf(TimeoutException.class);
+    assertNull(deadline.expiry().get(1, TimeUnit.SECONDS));
+  }
+
+}
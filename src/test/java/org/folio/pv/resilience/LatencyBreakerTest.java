@@ -0,0 +1,121 @@
+package org.folio.pv.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import org.folio.pv.resilience.CircuitBreaker.State;
+
+class LatencyBreakerTest {
+
+  private static final long FAST = Duration.ofMillis(10).toNanos();
+  private static final long SLOW = Duration.ofSeconds(2).toNanos();
+
+  private final AtomicLong clock = new AtomicLong();
+  private final LatencyBreaker breaker = new LatencyBreaker("rule", 0.9, Duration.ofSeconds(1), 10, 5,
+      Duration.ofSeconds(30), clock::get);
+
+  @Test
+  void shouldStayClosedBelowMinimumNumberOfCalls() {
+    record(SLOW, 4);
+
+    assertEquals(State.CLOSED, breaker.getState());
+    assertNotNull(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void shouldOpenWhenPercentileExceedsThreshold() {
+    record(FAST, 5);
+    assertEquals(State.CLOSED, breaker.getState());
+
+    record(SLOW, 2);
+
+    assertEquals(State.OPEN, breaker.getState());
+    assertNull(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void shouldLetSingleProbeThroughAfterWaitDuration() {
+    open();
+    clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+    assertNotNull(breaker.tryAcquirePermission());
+    assertEquals(State.HALF_OPEN, breaker.getState());
+    assertNull(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void shouldCloseOnFastProbe() {
+    open();
+    clock.addAndGet(Duration.ofSeconds(30).toNanos());
+    var probe = breaker.tryAcquirePermission();
+
+    probe.onCompleted(FAST);
+
+    assertEquals(State.CLOSED, breaker.getState());
+    assertEquals(-1, breaker.getPercentileLatency());
+    assertNotNull(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void shouldReopenOnSlowProbe() {
+    open();
+    clock.addAndGet(Duration.ofSeconds(30).toNanos());
+    var probe = breaker.tryAcquirePermission();
+
+    probe.onCompleted(SLOW);
+
+    assertEquals(State.OPEN, breaker.getState());
+    assertNull(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void shouldLetAnotherProbeThroughWhenProbeIsCancelled() {
+    open();
+    clock.addAndGet(Duration.ofSeconds(30).toNanos());
+    var probe = breaker.tryAcquirePermission();
+
+    probe.onCancelled();
+
+    assertEquals(State.HALF_OPEN, breaker.getState());
+    assertNotNull(breaker.tryAcquirePermission());
+  }
+
+  @Test
+  void shouldIgnoreLateCompletionOfCallStartedBeforeOpening() {
+    var late = breaker.tryAcquirePermission();
+    open();
+    clock.addAndGet(Duration.ofSeconds(30).toNanos());
+    var probe = breaker.tryAcquirePermission();
+
+    late.onCompleted(FAST);
+    late.onCancelled();
+
+    assertEquals(State.HALF_OPEN, breaker.getState());
+    assertNull(breaker.tryAcquirePermission());
+
+    probe.onCompleted(SLOW);
+
+    assertEquals(State.OPEN, breaker.getState());
+  }
+
+  private void open() {
+    record(SLOW, 5);
+    assertEquals(State.OPEN, breaker.getState());
+  }
+
+  private void record(long nanos, int times) {
+    for (int i = 0; i < times; i++) {
+      var permission = breaker.tryAcquirePermission();
+      if (permission != null) {
+        permission.onCompleted(nanos);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,132 @@
+package org.folio.pv.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LatencyPolicyExecutorTest {
+
+  private LatencyPolicyExecutor executor;
+  private final AtomicInteger calls = new AtomicInteger();
+  private final AtomicInteger retries = new AtomicInteger();
+  private final AtomicInteger hedges = new AtomicInteger();
+  private final AtomicInteger timeouts = new AtomicInteger();
+  private final LatencyPolicyExecutor.Listener listener = new LatencyPolicyExecutor.Listener() {
+    @Override
+    public void onRetry() {
+      retries.incrementAndGet();
+    }
+
+    @Override
+    public void onHedge() {
+      hedges.incrementAndGet();
+    }
+
+    @Override
+    public void onTimeout() {
+      timeouts.incrementAndGet();
+    }
+  };
+
+
+  @BeforeEach
+  void setUp() {
+    executor = new LatencyPolicyExecutor(Executors.newCachedThreadPool(), Duration.ofMillis(1),
+        Duration.ofMillis(5));
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void shouldReturnResultOfSuccessfulCall() {
+    var result = executor.executeBlocking(LatencyPolicy.NONE, () -> calls.incrementAndGet(),
+        exc -> true, listener).join();
+
+    assertEquals(1, result);
+    assertEquals(0, retries.get());
+  }
+
+  @Test
+  void shouldRetryRetryableFailures() {
+    var policy = LatencyPolicy.builder().maxRetries(3).build();
+
+    var result = executor.executeBlocking(policy, () -> {
+      if (calls.incrementAndGet() < 3) {
+        throw new IOException("connection reset");
+      }
+      return "ok";
+    }, IOException.class::isInstance, listener).join();
+
+    assertEquals("ok", result);
+    assertEquals(3, calls.get());
+    assertEquals(2, retries.get());
+  }
+
+  @Test
+  void shouldNotRetryNonRetryableFailures() {
+    var policy = LatencyPolicy.builder().maxRetries(3).build();
+
+    var future = executor.executeBlocking(policy, () -> {
+      calls.incrementAndGet();
+      throw new IllegalStateException("bad request");
+    }, IOException.class::isInstance, listener);
+
+    var exc = assertThrows(CompletionException.class, future::join);
+    assertThat(LatencyPolicyExecutor.unwrap(exc)).isInstanceOf(IllegalStateException.class);
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  void shouldFailWithTimeoutAfterAllRetries() {
+    var policy = LatencyPolicy.builder().timeout(Duration.ofMillis(20)).maxRetries(2).build();
+
+    var future = executor.execute(policy, () -> {
+      calls.incrementAndGet();
+      return new CompletableFuture<String>();
+    }, TimeoutException.class::isInstance, listener);
+
+    var exc = assertThrows(CompletionException.class, future::join);
+    assertThat(LatencyPolicyExecutor.unwrap(exc)).isInstanceOf(TimeoutException.class);
+    assertEquals(3, calls.get());
+    assertEquals(3, timeouts.get());
+  }
+
+  @Test
+  void shouldCompleteWithHedgedCallIfPrimaryIsLate() {
+    var policy = LatencyPolicy.builder().hedgeDelay(Duration.ofMillis(10)).build();
+
+    var result = executor.execute(policy, () -> calls.incrementAndGet() == 1
+        ? new CompletableFuture<>()
+        : CompletableFuture.completedFuture("hedge"), exc -> false, listener).join();
+
+    assertEquals("hedge", result);
+    assertEquals(1, hedges.get());
+  }
+
+  @Test
+  void shouldNotHedgeIfPrimaryCompletesInTime() {
+    var policy = LatencyPolicy.builder().hedgeDelay(Duration.ofSeconds(1)).build();
+
+    var result = executor.execute(policy, () -> CompletableFuture.completedFuture("primary"),
+        exc -> false, listener).join();
+
+    assertEquals("primary", result);
+    assertEquals(0, hedges.get());
+  }
+
+}
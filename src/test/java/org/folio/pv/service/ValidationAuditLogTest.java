@@ -0,0 +1,105 @@
+package org.folio.pv.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import org.folio.pv.config.ValidationAuditProperties;
+import org.folio.pv.domain.dto.Password;
+import org.folio.pv.domain.dto.ValidationResult;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.spring.FolioExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+class ValidationAuditLogTest {
+
+  private static final String USER_ID = "d7c3a3b5-8ba7-4c41-b7c8-4f1a0c0b9f35";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Mock
+  private FolioExecutionContext folioExecutionContext;
+
+  private ValidationAuditProperties properties;
+  private ValidationAuditLog auditLog;
+
+  @BeforeEach
+  void setUp() {
+    properties = new ValidationAuditProperties();
+    auditLog = new ValidationAuditLog(properties, folioExecutionContext, objectMapper);
+  }
+
+  @Test
+  void shouldNotAuditValidationsThatAreNotSampled() {
+    properties.setSampleRate(0);
+
+    assertSame(ValidationAudit.OFF, auditLog.start(password()));
+    verifyNoInteractions(folioExecutionContext);
+  }
+
+  @Test
+  void shouldNotAuditWhenDisabled() {
+    properties.setEnabled(false);
+
+    assertSame(ValidationAudit.OFF, auditLog.start(password()));
+    assertFalse(ValidationAudit.OFF.isEnabled());
+  }
+
+  @Test
+  void shouldWriteAuditEventOfValidationAsJson() throws Exception {
+    when(folioExecutionContext.getTenantId()).thenReturn("diku");
+    var audit = auditLog.start(password());
+    audit.ruleFailed(rule("Length"));
+    var result = new ValidationResult().result("invalid").messages(List.of("password.length.invalid"))
+        .skippedRules(List.of("Breached"));
+
+    var event = objectMapper.readTree(auditLog.toJson(audit, result, null));
+
+    assertTrue(audit.isEnabled());
+    assertEquals("diku", event.get("tenant").asText());
+    assertEquals(USER_ID, event.get("userId").asText());
+    assertEquals("invalid", event.get("result").asText());
+    assertEquals("Length", event.get("failedRules").get(0).asText());
+    assertEquals("Breached", event.get("skippedRules").get(0).asText());
+    assertThat(event.get("durationMillis").asLong()).isGreaterThanOrEqualTo(0);
+    assertFalse(event.has("error"));
+  }
+
+  @Test
+  void shouldWriteAuditEventOfFailedValidation() throws Exception {
+    var audit = auditLog.start(password());
+
+    var event = objectMapper.readTree(auditLog.toJson(audit, null,
+        new CompletionException(new TimeoutException("deadline exceeded"))));
+
+    assertEquals("error", event.get("result").asText());
+    assertEquals("TimeoutException", event.get("error").asText());
+    assertEquals(0, event.get("failedRules").size());
+  }
+
+  private static Password password() {
+    return new Password().password("Pa$$w0rd").userId(USER_ID);
+  }
+
+  private static PasswordValidationRule rule(String name) {
+    var rule = new PasswordValidationRule();
+    rule.setName(name);
+    return rule;
+  }
+
+}
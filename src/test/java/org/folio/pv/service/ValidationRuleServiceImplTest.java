@@ -3,19 +3,42 @@ package org.folio.pv.service;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.glytching.junit.extension.random.Random;
 import io.github.glytching.junit.extension.random.RandomBeansExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.folio.spring.DefaultFolioExecutionContext;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -30,20 +53,35 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import org.folio.pv.client.DependencyExecutors;
+import org.folio.pv.client.DependencyLimiters;
 import org.folio.pv.client.UserClient;
+import org.folio.pv.concurrent.ValidationExecutors;
+import org.folio.pv.config.DegradedModeProperties;
+import org.folio.pv.config.DependencyLimitProperties;
+import org.folio.pv.config.DependencyPoolProperties;
+import org.folio.pv.config.ValidationAuditProperties;
+import org.folio.pv.config.VirtualThreadProperties;
 import org.folio.pv.domain.RuleState;
 import org.folio.pv.domain.ValidationType;
 import org.folio.pv.domain.dto.Password;
+import org.folio.pv.domain.dto.RuleTiming;
+import org.folio.pv.domain.dto.RuleTiming.OutcomeEnum;
 import org.folio.pv.domain.dto.ValidationResult;
 import org.folio.pv.domain.dto.ValidationRule;
 import org.folio.pv.domain.dto.ValidationRuleCollection;
 import org.folio.pv.domain.entity.PasswordValidationRule;
 import org.folio.pv.mapper.ValidationRuleMapper;
 import org.folio.pv.repository.ValidationRuleRepository;
+import org.folio.pv.resilience.Deadline;
 import org.folio.pv.domain.dto.UserData;
 import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.service.validator.AsyncValidator;
+import org.folio.pv.service.validator.InvalidRuleException;
 import org.folio.pv.service.validator.Validator;
 import org.folio.pv.service.validator.ValidatorRegistry;
+import org.folio.pv.testutils.TracingTestUtils;
+import org.folio.pv.tracing.Tracing;
 import org.folio.spring.data.OffsetRequest;
 
 @ExtendWith({
@@ -63,14 +101,38 @@ class ValidationRuleServiceImplTest {
 
   @Autowired
   private ValidationRuleService service;
+  @Autowired
+  private OpenTelemetry openTelemetry;
+  @Autowired
+  private InMemorySpanExporter spanExporter;
 
   @TestConfiguration
   static class Config {
 
+    @Bean
+    public InMemorySpanExporter spanExporter() {
+      return InMemorySpanExporter.create();
+    }
+
+    @Bean
+    public OpenTelemetry openTelemetry(InMemorySpanExporter spanExporter) {
+      return TracingTestUtils.inMemoryOpenTelemetry(spanExporter);
+    }
+
     @Bean
     public ValidationRuleService employeeService(ValidationRuleMapper mapper, ValidationRuleRepository repository,
-        UserClient userClient, ValidatorRegistry validationRegistry) {
-      return new ValidationRuleServiceImpl(mapper, repository, userClient, validationRegistry);
+        UserClient userClient, ValidatorRegistry validationRegistry, OpenTelemetry openTelemetry) {
+      var meterRegistry = new SimpleMeterRegistry();
+      var limiters = new DependencyLimiters(new DependencyLimitProperties(), meterRegistry);
+      var folioExecutionContext = new DefaultFolioExecutionContext(null, Map.of());
+      var executors = new ValidationExecutors(new VirtualThreadProperties(), folioExecutionContext, null);
+      var dependencyExecutors = new DependencyExecutors(new DependencyPoolProperties(), executors, meterRegistry);
+      return new ValidationRuleServiceImpl(mapper, repository, userClient, limiters, dependencyExecutors,
+          validationRegistry, new DegradedRules(new DegradedModeProperties(), meterRegistry),
+          new Tracing(openTelemetry, folioExecutionContext),
+          new ValidationAuditLog(new ValidationAuditProperties(), folioExecutionContext, new ObjectMapper()),
+          executors,
+          executors.newExecutor("validation", 1, new LinkedBlockingQueue<>()));
     }
   }
 
@@ -151,6 +213,15 @@ class ValidationRuleServiceImplTest {
     assertSame(ruleDto, result);
   }
 
+  @Test
+  void shouldNotStoreRuleThatCannotBeValidated(@Random ValidationRule ruleDto, @Random PasswordValidationRule rule) {
+    when(mapper.mapDtoToEntity(ruleDto)).thenReturn(rule);
+    doThrow(new InvalidRuleException("Invalid rule expression")).when(validationRegistry).checkRule(rule);
+
+    assertThrows(InvalidRuleException.class, () -> service.storeValidationRule(ruleDto));
+    verify(repository, never()).save(any());
+  }
+
   @Nested
   @ExtendWith(MockitoExtension.class)
   class ValidatePassword {
@@ -166,6 +237,10 @@ class ValidationRuleServiceImplTest {
 
     @Mock
     private Validator validator;
+    @Mock
+    private AsyncValidator firstAsyncValidator;
+    @Mock
+    private AsyncValidator secondAsyncValidator;
 
 
     @Test
@@ -196,6 +271,37 @@ class ValidationRuleServiceImplTest {
       assertEquals(VALID, result);
     }
 
+    @Test
+    void shouldLoadRulesOnCallingThreadWhileUserIsLookedUp(@Random Password password, @Random String userName,
+        @Random PasswordValidationRule enabledRule) throws Exception {
+      var lookupStarted = new CountDownLatch(1);
+      var release = new CountDownLatch(1);
+      var callingThread = Thread.currentThread();
+      var loadingThread = new AtomicReference<Thread>();
+      when(userClient.getUserByQuery(contains(password.getUserId()))).thenAnswer(invocation -> {
+        lookupStarted.countDown();
+        release.await(5, TimeUnit.SECONDS);
+        return "{\"users\": [{\"username\": \"" + userName + "\"}], \"totalRecords\": 1}";
+      });
+      when(repository.findByRuleState(RuleState.ENABLED.getValue())).thenAnswer(invocation -> {
+        loadingThread.set(Thread.currentThread());
+        return singletonList(enabledRule);
+      });
+      when(validationRegistry.validatorsByRules(singletonList(enabledRule))).thenReturn(singletonList(validator));
+      mockValidator(password, userName, ValidationErrors.none());
+
+      try {
+        var result = service.validatePasswordByRulesAsync(password);
+
+        assertSame(callingThread, loadingThread.get());
+        assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals(VALID, result.get(5, TimeUnit.SECONDS));
+      } finally {
+        release.countDown();
+      }
+    }
+
     @Test
     void shouldFailWithValidatorMsg(@Random Password password, @Random String userName,
         @Random PasswordValidationRule enabledRule) {
@@ -213,6 +319,189 @@ class ValidationRuleServiceImplTest {
       assertEquals(INVALID, result);
     }
 
+    @Test
+    void shouldStartAsyncValidatorsUpfrontAndCancelTheRestAfterStrongFailure(@Random Password password,
+        @Random String userName, @Random PasswordValidationRule firstRule, @Random PasswordValidationRule secondRule) {
+      String userId = password.getUserId();
+      mockFindUserById(userId, userName);
+
+      firstRule.setOrderNo(0);
+      firstRule.setValidationType(ValidationType.STRONG.getValue());
+      secondRule.setOrderNo(1);
+      when(repository.findByRuleState(RuleState.ENABLED.getValue()))
+          .thenReturn(new ArrayList<>(List.of(secondRule, firstRule)));
+      when(validationRegistry.validatorsByRules(List.of(firstRule, secondRule)))
+          .thenReturn(List.of(firstAsyncValidator, secondAsyncValidator));
+
+      var userData = new UserData(userId, userName);
+      var secondResult = new CompletableFuture<ValidationErrors>();
+      when(firstAsyncValidator.validateAsync(password.getPassword(), userData, Deadline.NONE))
+          .thenReturn(CompletableFuture.completedFuture(ValidationErrors.of(INVALID_PASSWORD)));
+      when(secondAsyncValidator.validateAsync(password.getPassword(), userData, Deadline.NONE)).thenReturn(secondResult);
+
+      ValidationResult result = service.validatePasswordByRules(password);
+
+      assertEquals(INVALID, result);
+      verify(secondAsyncValidator).validateAsync(password.getPassword(), userData, Deadline.NONE);
+      assertThat(secondResult).isCancelled();
+    }
+
+    @Test
+    void shouldCompleteAfterPendingRemoteValidationAnswers(@Random Password password, @Random String userName,
+        @Random PasswordValidationRule firstRule, @Random PasswordValidationRule secondRule) throws Exception {
+      String userId = password.getUserId();
+      mockFindUserById(userId, userName);
+
+      firstRule.setOrderNo(0);
+      secondRule.setOrderNo(1);
+      secondRule.setValidationType(ValidationType.STRONG.getValue());
+      when(repository.findByRuleState(RuleState.ENABLED.getValue()))
+          .thenReturn(new ArrayList<>(List.of(firstRule, secondRule)));
+      when(validationRegistry.validatorsByRules(List.of(firstRule, secondRule)))
+          .thenReturn(List.of(firstAsyncValidator, validator));
+
+      var userData = new UserData(userId, userName);
+      var firstResult = new CompletableFuture<ValidationErrors>();
+      when(firstAsyncValidator.validateAsync(password.getPassword(), userData, Deadline.NONE)).thenReturn(firstResult);
+      when(validator.validate(password.getPassword(), userData)).thenReturn(ValidationErrors.of(INVALID_PASSWORD));
+
+      var result = service.validatePasswordByRulesAsync(password);
+
+      assertThat(result).isNotDone();
+      verifyNoInteractions(validator);
+
+      firstResult.complete(ValidationErrors.none());
+
+      assertEquals(INVALID, result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldSkipSoftRulesNotCompletedByDeadline(@Random Password password, @Random String userName,
+        @Random PasswordValidationRule firstRule, @Random PasswordValidationRule secondRule) throws Exception {
+      String userId = password.getUserId();
+      mockFindUserById(userId, userName);
+
+      firstRule.setOrderNo(0);
+      firstRule.setValidationType(ValidationType.SOFT.getValue());
+      secondRule.setOrderNo(1);
+      secondRule.setValidationType(ValidationType.STRONG.getValue());
+      when(repository.findByRuleState(RuleState.ENABLED.getValue()))
+          .thenReturn(new ArrayList<>(List.of(firstRule, secondRule)));
+      when(validationRegistry.validatorsByRules(List.of(firstRule, secondRule)))
+          .thenReturn(List.of(firstAsyncValidator, validator));
+
+      var userData = new UserData(userId, userName);
+      var firstResult = new CompletableFuture<ValidationErrors>();
+      when(firstAsyncValidator.validateAsync(eq(password.getPassword()), eq(userData), any(Deadline.class)))
+          .thenReturn(firstResult);
+      when(validator.validate(password.getPassword(), userData)).thenReturn(ValidationErrors.none());
+
+      var result = service.validatePasswordByRulesAsync(password, Deadline.after(Duration.ofMillis(50)))
+          .get(5, TimeUnit.SECONDS);
+
+      assertEquals(ValidationRuleServiceImpl.VALIDATION_VALID_RESULT, result.getResult());
+      assertThat(result.getSkippedRules()).containsExactly(firstRule.getName());
+      assertThat(firstResult).isCancelled();
+    }
+
+    @Test
+    void shouldSkipSoftRulesThatGaveUpAtDeadline(@Random Password password, @Random String userName,
+        @Random PasswordValidationRule firstRule, @Random PasswordValidationRule secondRule) throws Exception {
+      String userId = password.getUserId();
+      mockFindUserById(userId, userName);
+
+      firstRule.setOrderNo(0);
+      firstRule.setValidationType(ValidationType.SOFT.getValue());
+      secondRule.setOrderNo(1);
+      secondRule.setValidationType(ValidationType.STRONG.getValue());
+      when(repository.findByRuleState(RuleState.ENABLED.getValue()))
+          .thenReturn(new ArrayList<>(List.of(firstRule, secondRule)));
+      when(validationRegistry.validatorsByRules(List.of(firstRule, secondRule)))
+          .thenReturn(List.of(firstAsyncValidator, validator));
+
+      var userData = new UserData(userId, userName);
+      // like a PwnedPassword rule whose range lookup is limited to the time left
+      when(firstAsyncValidator.validateAsync(eq(password.getPassword()), eq(userData), any(Deadline.class)))
+          .thenAnswer(invocation -> invocation.<Deadline>getArgument(2).bound(new CompletableFuture<>()));
+      when(validator.validate(password.getPassword(), userData)).thenReturn(ValidationErrors.none());
+
+      var result = service.validatePasswordByRulesAsync(password, Deadline.after(Duration.ofMillis(50)))
+          .get(5, TimeUnit.SECONDS);
+
+      assertEquals(ValidationRuleServiceImpl.VALIDATION_VALID_RESULT, result.getResult());
+      assertThat(result.getSkippedRules()).containsExactly(firstRule.getName());
+    }
+
+    @Test
+    void shouldExplainRuleTimingsAndOutcomes(@Random Password password, @Random String userName,
+        @Random PasswordValidationRule firstRule, @Random PasswordValidationRule secondRule) throws Exception {
+      String userId = password.getUserId();
+      mockFindUserById(userId, userName);
+
+      firstRule.setOrderNo(0);
+      firstRule.setName("Length");
+      firstRule.setValidationType(ValidationType.STRONG.getValue());
+      secondRule.setOrderNo(1);
+      when(repository.findByRuleState(RuleState.ENABLED.getValue()))
+          .thenReturn(new ArrayList<>(List.of(firstRule, secondRule)));
+      when(validationRegistry.validatorsByRules(List.of(firstRule, secondRule)))
+          .thenReturn(List.of(validator, secondAsyncValidator));
+
+      var userData = new UserData(userId, userName);
+      when(validator.validate(password.getPassword(), userData)).thenReturn(ValidationErrors.of(INVALID_PASSWORD));
+      when(secondAsyncValidator.validateAsync(password.getPassword(), userData, Deadline.NONE))
+          .thenReturn(new CompletableFuture<>());
+
+      var timings = ValidationTimings.start();
+      var result = service.validatePasswordByRulesAsync(password, Deadline.NONE, timings).get(5, TimeUnit.SECONDS);
+
+      assertThat(result.getRuleTimings()).extracting(RuleTiming::getName, RuleTiming::getOutcome)
+          .containsExactly(tuple(firstRule.getName(), OutcomeEnum.INVALID),
+              tuple(secondRule.getName(), OutcomeEnum.NOTAPPLIED));
+      assertThat(result.getRuleTimings().get(0).getDurationMillis()).isNotNull();
+      assertNull(result.getRuleTimings().get(1).getDurationMillis());
+      // the rules are loaded while the user is looked up
+      assertThat(timings.toServerTiming())
+          .startsWith("rules;dur=")
+          .contains(", user;dur=", ", rule1;desc=\"Length\";dur=")
+          .doesNotContain("rule2")
+          .contains(", total;dur=");
+    }
+
+    @Test
+    void shouldNotExplainByDefault(@Random Password password, @Random String userName,
+        @Random PasswordValidationRule enabledRule) {
+      mockFindUserById(password.getUserId(), userName);
+      mockValidatorByRule(enabledRule);
+      mockValidator(password, userName, ValidationErrors.none());
+
+      assertNull(service.validatePasswordByRules(password).getRuleTimings());
+    }
+
+    @Test
+    void shouldTraceValidationInRequestTrace(@Random Password password, @Random String userName,
+        @Random PasswordValidationRule enabledRule) {
+      mockFindUserById(password.getUserId(), userName);
+      mockValidatorByRule(enabledRule);
+      mockValidator(password, userName, ValidationErrors.none());
+      spanExporter.reset();
+
+      var request = openTelemetry.getTracer("test").spanBuilder("request").startSpan();
+      try (var ignored = request.makeCurrent()) {
+        service.validatePasswordByRules(password);
+      } finally {
+        request.end();
+      }
+
+      var spans = spanExporter.getFinishedSpanItems();
+      assertThat(spans).extracting(SpanData::getName)
+          .containsExactlyInAnyOrder("GET", "lookup user", "load validation rules", "validate rule", "request");
+      assertThat(spans).extracting(SpanData::getTraceId).containsOnly(request.getSpanContext().getTraceId());
+      assertThat(spans).filteredOn(span -> span.getName().equals("validate rule"))
+          .extracting(span -> span.getAttributes().get(Tracing.RULE_ID))
+          .containsExactly(String.valueOf(enabledRule.getId()));
+    }
+
     private void mockFindUserById(String userId, String userName) {
       when(userClient.getUserByQuery(contains(userId))).thenReturn("{\n" +
           "  \"users\": [\n" +
@@ -231,7 +520,7 @@ class ValidationRuleServiceImplTest {
 
     private void mockValidatorByRule(PasswordValidationRule enabledRule) {
       when(repository.findByRuleState(RuleState.ENABLED.getValue())).thenReturn(singletonList(enabledRule));
-      when(validationRegistry.validatorByRule(enabledRule)).thenReturn(validator);
+      when(validationRegistry.validatorsByRules(singletonList(enabledRule))).thenReturn(singletonList(validator));
     }
   }
 }
\ No newline at end of file
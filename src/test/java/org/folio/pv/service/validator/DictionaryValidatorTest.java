@@ -0,0 +1,114 @@
+package org.folio.pv.service.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import static org.folio.pv.testutils.RandomTestData.nextRandomRuleOfType;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import org.folio.pv.concurrent.ValidationExecutors;
+import org.folio.pv.config.VirtualThreadProperties;
+import org.folio.pv.dictionary.DictionaryProperties;
+import org.folio.pv.dictionary.DictionaryRegistry;
+import org.folio.pv.domain.RuleType;
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.repository.DictionaryWordRepository;
+import org.folio.spring.FolioExecutionContext;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class DictionaryValidatorTest {
+
+  private static final UserData USER = new UserData("id", "jsmith");
+
+  @TempDir
+  Path dictionaryDir;
+  @Mock
+  private DictionaryWordRepository wordRepository;
+  @Mock
+  private FolioExecutionContext folioExecutionContext;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private DictionaryRegistry dictionaryRegistry;
+  private PasswordValidationRule rule;
+
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Files.write(dictionaryDir.resolve("common.txt"), List.of("password", "dragon", "  "));
+    when(wordRepository.findWordsByDictionary(anyString())).thenReturn(List.of());
+    when(wordRepository.findWordsByDictionary("local")).thenReturn(List.of("Library"));
+    when(folioExecutionContext.getTenantId()).thenReturn("diku");
+
+    var properties = new DictionaryProperties();
+    properties.setDirectory(dictionaryDir.toString());
+    var executors = new ValidationExecutors(new VirtualThreadProperties(), folioExecutionContext, null);
+    dictionaryRegistry = new DictionaryRegistry(properties, wordRepository, folioExecutionContext, executors,
+        meterRegistry);
+
+    rule = nextRandomRuleOfType(RuleType.DICTIONARY);
+    rule.setRuleExpression("common, local");
+    rule.setImplementationReference(null);
+  }
+
+  @Test
+  void shouldRejectPasswordContainingFileWord() {
+    var errors = new DictionaryValidator(rule, dictionaryRegistry).validate("MyDragon!2020", USER);
+
+    assertThat(errors.getErrorMessages()).containsExactly(rule.getErrMessageId());
+  }
+
+  @Test
+  void shouldRejectPasswordContainingTableWord() {
+    var errors = new DictionaryValidator(rule, dictionaryRegistry).validate("xxLIBRARYxx", USER);
+
+    assertThat(errors.getErrorMessages()).containsExactly(rule.getErrMessageId());
+  }
+
+  @Test
+  void shouldPassPasswordWithoutDictionaryWords() {
+    assertFalse(new DictionaryValidator(rule, dictionaryRegistry).validate("Tr0ub4dor&3", USER).hasErrors());
+  }
+
+  @Test
+  void shouldNormalizeLeetspeakIfEnabled() {
+    assertFalse(new DictionaryValidator(rule, dictionaryRegistry).validate("p@$$w0rd", USER).hasErrors());
+
+    rule.setImplementationReference(DictionaryValidator.LEETSPEAK);
+    var errors = new DictionaryValidator(rule, dictionaryRegistry).validate("p@$$w0rd", USER);
+
+    assertThat(errors.getErrorMessages()).containsExactly(rule.getErrMessageId());
+  }
+
+  @Test
+  void shouldReportDictionaryMemory() {
+    new DictionaryValidator(rule, dictionaryRegistry).validate("anything", USER);
+
+    var gauge = meterRegistry.get("pv.dictionary.memory").tags("dictionary", "common", "tenant", "diku").gauge();
+    assertThat(gauge.value()).isPositive();
+  }
+
+  @Test
+  void shouldIgnoreDictionaryNamesPointingOutsideOfDirectory() {
+    rule.setRuleExpression("../common");
+
+    assertFalse(new DictionaryValidator(rule, dictionaryRegistry).validate("password", USER).hasErrors());
+  }
+
+}
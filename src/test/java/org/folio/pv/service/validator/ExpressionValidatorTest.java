@@ -0,0 +1,92 @@
+package org.folio.pv.service.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static org.folio.pv.testutils.RandomTestData.nextRandomRuleOfType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.folio.pv.domain.RuleType;
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+
+class ExpressionValidatorTest {
+
+  private static final UserData USER = new UserData("id", "jsmith");
+
+  private final ExpressionCache expressionCache = new ExpressionCache();
+  private PasswordValidationRule rule;
+
+
+  @BeforeEach
+  void setUp() {
+    rule = nextRandomRuleOfType(RuleType.EXPRESSION);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "'length >= 12',                                Secret-Pass-1, true",
+      "'length >= 12',                                short,         false",
+      "'digitCount > 0 and specialCount > 0',          Passw0rd!,     true",
+      "'digitCount > 0 and specialCount > 0',          Password,      false",
+      "'!containsUsername',                            xJSmithx1,     false",
+      "'longestRun < 3 and distinctCount >= 4',        aaab1234,      false",
+      "'lowercaseCount > 0 and uppercaseCount > 0',    Password,      true",
+      "'password matches ''.*[0-9]$''',                password1,     true"
+  })
+  void shouldValidatePasswordByExpression(String expression, String password, boolean valid) {
+    rule.setRuleExpression(expression);
+
+    var errors = validatorOf(rule).validate(password, USER);
+
+    if (valid) {
+      assertFalse(errors.hasErrors());
+    } else {
+      assertThat(errors.getErrorMessages()).containsExactly(rule.getErrMessageId());
+    }
+  }
+
+  @Test
+  void shouldCompileExpressionOncePerRuleVersion() {
+    rule.setRuleExpression("length >= 8 and digitCount > 0");
+
+    var expression = expressionCache.expressionOf(rule);
+
+    assertSame(expression, expressionCache.expressionOf(rule));
+    assertThat(ReflectionTestUtils.getField(expression, "compiledAst")).isNotNull();
+
+    rule.setRuleExpression("length >= 10");
+    assertThat(expressionCache.expressionOf(rule)).isNotSameAs(expression);
+  }
+
+  @Test
+  void shouldNotAllowTypeReferences() {
+    rule.setRuleExpression("T(java.lang.System).exit(1) == null");
+
+    var validator = validatorOf(rule);
+
+    assertThrows(SpelEvaluationException.class, () -> validator.validate("password", USER));
+  }
+
+  @Test
+  void shouldNotAllowMethodCalls() {
+    rule.setRuleExpression("password.isEmpty()");
+
+    var validator = validatorOf(rule);
+
+    assertThrows(SpelEvaluationException.class, () -> validator.validate("password", USER));
+  }
+
+  private ExpressionValidator validatorOf(PasswordValidationRule rule) {
+    return new ExpressionValidator(rule, expressionCache.expressionOf(rule));
+  }
+
+}
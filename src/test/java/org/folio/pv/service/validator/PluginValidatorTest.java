@@ -0,0 +1,69 @@
+package org.folio.pv.service.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static org.folio.pv.testutils.RandomTestData.nextRandomRuleOfType;
+
+import io.github.glytching.junit.extension.random.Random;
+import io.github.glytching.junit.extension.random.RandomBeansExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.folio.pv.domain.RuleType;
+import org.folio.pv.domain.ValidationType;
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.dto.ValidationErrors;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.plugin.TestValidatorPlugin;
+
+@ExtendWith(RandomBeansExtension.class)
+class PluginValidatorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private PasswordValidationRule rule;
+
+  @Random
+  private UserData userData;
+
+
+  @BeforeEach
+  void setUp() {
+    rule = nextRandomRuleOfType(RuleType.PLUGIN);
+    rule.setImplementationReference(TestValidatorPlugin.ID);
+  }
+
+  @Test
+  void shouldReturnErrorsOfPlugin() {
+    var validator = new PluginValidator(rule, new TestValidatorPlugin(), meterRegistry);
+
+    ValidationErrors errors = validator.validate("plugin", userData);
+
+    assertThat(errors.getErrorMessages()).containsExactly("password.plugin.invalid");
+    assertEquals(1, meterRegistry.get("pv.plugin.calls")
+        .tags("plugin", TestValidatorPlugin.ID, "outcome", "invalid").timer().count());
+  }
+
+  @Test
+  void shouldFailIfPluginOfStrongRuleIsNotLoaded() {
+    rule.setValidationType(ValidationType.STRONG.getValue());
+    var validator = new PluginValidator(rule, null, meterRegistry);
+
+    var exc = assertThrows(IllegalStateException.class, () -> validator.validate("password", userData));
+
+    assertThat(exc).hasMessageContaining(TestValidatorPlugin.ID);
+  }
+
+  @Test
+  void shouldSkipIfPluginOfSoftRuleIsNotLoaded() {
+    rule.setValidationType(ValidationType.SOFT.getValue());
+    var validator = new PluginValidator(rule, null, meterRegistry);
+
+    assertFalse(validator.validate("plugin", userData).hasErrors());
+  }
+
+}
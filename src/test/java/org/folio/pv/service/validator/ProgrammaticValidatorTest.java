@@ -3,6 +3,7 @@ package org.folio.pv.service.validator;
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.equalToJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
@@ -17,7 +18,11 @@ import static org.folio.pv.testutils.RandomTestData.nextRandomRuleOfType;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 
@@ -29,11 +34,16 @@ import com.github.tomakehurst.wiremock.common.Slf4jNotifier;
 import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
 import io.github.glytching.junit.extension.random.Random;
 import io.github.glytching.junit.extension.random.RandomBeansExtension;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -51,11 +61,16 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
 
 import org.folio.pv.domain.RuleType;
+import org.folio.pv.domain.TimeoutAction;
 import org.folio.pv.domain.ValidationType;
 import org.folio.pv.domain.dto.Password;
 import org.folio.pv.domain.dto.UserData;
 import org.folio.pv.domain.dto.ValidationErrors;
 import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.resilience.AdaptiveLimiter;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+import org.folio.pv.testutils.TracingTestUtils;
+import org.folio.pv.tracing.Tracing;
 import org.folio.spring.DefaultFolioExecutionContext;
 import org.folio.spring.FolioExecutionContext;
 import org.folio.spring.FolioModuleMetadata;
@@ -72,7 +87,9 @@ class ProgrammaticValidatorTest {
 
   private static final String EXTERNAL_SERVICE_PATH = "/service";
   private static final String TEST_TENANT = "test_tenant";
+  private static final int MAX_RETRIES_LIMIT = 3;
   private static WireMockServer service;
+  private static LatencyPolicyExecutor policyExecutor;
 
   @Autowired
   private ObjectMapper jacksonMapper;
@@ -81,6 +98,9 @@ class ProgrammaticValidatorTest {
 
   private PasswordValidationRule rule;
   private ProgrammaticValidator validator;
+  private MeterRegistry meterRegistry;
+  private InMemorySpanExporter spanExporter;
+  private Tracing tracing;
 
   @Random
   private String password;
@@ -121,11 +141,15 @@ class ProgrammaticValidatorTest {
 
     service = new WireMockServer(options);
     service.start();
+
+    policyExecutor = new LatencyPolicyExecutor(Executors.newCachedThreadPool(), Duration.ofMillis(10),
+        Duration.ofMillis(50));
   }
 
   @AfterAll
   static void afterAll() {
     service.stop();
+    policyExecutor.shutdown();
   }
 
   @BeforeEach
@@ -133,7 +157,10 @@ class ProgrammaticValidatorTest {
     rule = nextRandomRuleOfType(RuleType.PROGRAMMATIC);
     rule.setImplementationReference(EXTERNAL_SERVICE_PATH);
 
-    validator = new ProgrammaticValidator(rule, folioExecutionContext, jacksonMapper);
+    meterRegistry = new SimpleMeterRegistry();
+    spanExporter = InMemorySpanExporter.create();
+    tracing = new Tracing(TracingTestUtils.inMemoryOpenTelemetry(spanExporter), folioExecutionContext);
+    validator = singleCallValidator(rule);
   }
 
   @AfterEach
@@ -166,6 +193,21 @@ class ProgrammaticValidatorTest {
     verifyPostRequest();
   }
 
+  @Test
+  void shouldPropagateTraceContextOfCallSpan() throws JsonProcessingException {
+    stubPostWithResponse(successfulResponse(200));
+
+    validator.validate(password, userData);
+
+    assertThat(spanExporter.getFinishedSpanItems()).hasSize(1);
+    var span = spanExporter.getFinishedSpanItems().get(0);
+    assertEquals(SpanKind.CLIENT, span.getKind());
+    assertEquals(EXTERNAL_SERVICE_PATH, span.getAttributes().get(Tracing.DEPENDENCY));
+    assertEquals(TEST_TENANT, span.getAttributes().get(Tracing.TENANT));
+    service.verify(postRequestedFor(urlEqualTo(EXTERNAL_SERVICE_PATH))
+        .withHeader("traceparent", equalTo("00-" + span.getTraceId() + "-" + span.getSpanId() + "-01")));
+  }
+
   @ParameterizedTest
   @MethodSource("failedStatuses")
   void shouldFailWithRuntimeExcIfValidationIsStrongAndServiceReturnsFailure(int responseStatus)
@@ -195,6 +237,148 @@ class ProgrammaticValidatorTest {
     verifyPostRequest();
   }
 
+  @Test
+  void shouldFailWithRuntimeExcIfStrongRuleTimesOut() {
+    stubPostWithResponse(delayedResponse(500));
+    rule.setValidationType(ValidationType.STRONG.getValue());
+    rule.setTimeout(100);
+
+    Exception exc = Assertions.assertThrows(RuntimeException.class,
+        () -> validator.validate(password, userData));
+
+    assertThat(exc).hasMessageContaining("timed out");
+    assertEquals(1.0, timeoutsCount());
+  }
+
+  @Test
+  void shouldPassIfSoftRuleTimesOut() {
+    stubPostWithResponse(delayedResponse(500));
+    rule.setValidationType(ValidationType.SOFT.getValue());
+    rule.setTimeout(100);
+
+    ValidationErrors errors = validator.validate(password, userData);
+
+    assertFalse(errors.hasErrors());
+  }
+
+  @Test
+  void shouldRejectIfRuleTimesOutAndOnTimeoutIsReject() {
+    stubPostWithResponse(delayedResponse(500));
+    rule.setValidationType(ValidationType.SOFT.getValue());
+    rule.setTimeout(100);
+    rule.setOnTimeout(TimeoutAction.REJECT.getValue());
+
+    ValidationErrors errors = validator.validate(password, userData);
+
+    assertThat(errors.getErrorMessages()).containsExactly(rule.getErrMessageId());
+  }
+
+  @Test
+  void shouldSkipIfStrongRuleTimesOutAndOnTimeoutIsSkip() {
+    stubPostWithResponse(delayedResponse(500));
+    rule.setValidationType(ValidationType.STRONG.getValue());
+    rule.setTimeout(100);
+    rule.setOnTimeout(TimeoutAction.SKIP.getValue());
+
+    ValidationErrors errors = validator.validate(password, userData);
+
+    assertFalse(errors.hasErrors());
+  }
+
+  @Test
+  void shouldRetryTimedOutCallsUpToMaxRetries() {
+    stubPostWithResponse(delayedResponse(500));
+    rule.setValidationType(ValidationType.SOFT.getValue());
+    rule.setTimeout(100);
+    rule.setMaxRetries(2);
+
+    validator.validate(password, userData);
+
+    service.verify(exactly(3), postRequestedFor(urlEqualTo(EXTERNAL_SERVICE_PATH)));
+    assertEquals(2.0, meterRegistry.counter("pv.programmatic.rule.retries", "rule",
+        String.valueOf(rule.getId())).count());
+  }
+
+  @Test
+  void shouldLimitMaxRetries() {
+    stubPostWithResponse(delayedResponse(300));
+    rule.setValidationType(ValidationType.SOFT.getValue());
+    rule.setTimeout(50);
+    rule.setMaxRetries(100);
+
+    validator.validate(password, userData);
+
+    service.verify(exactly(MAX_RETRIES_LIMIT + 1), postRequestedFor(urlEqualTo(EXTERNAL_SERVICE_PATH)));
+  }
+
+  @Test
+  void shouldNotRetryIfServiceReturnsFailure() {
+    stubPostWithResponse(serverErrorResponse(500, "Server error"));
+    rule.setValidationType(ValidationType.SOFT.getValue());
+    rule.setMaxRetries(2);
+
+    validator.validate(password, userData);
+
+    service.verify(exactly(1), postRequestedFor(urlEqualTo(EXTERNAL_SERVICE_PATH)));
+  }
+
+  @Test
+  void shouldSendHedgedRequestIfResponseIsLate() {
+    stubPostWithResponse(delayedResponse(300));
+    rule.setHedgeDelay(50);
+
+    ValidationErrors errors = validator.validate(password, userData);
+
+    assertFalse(errors.hasErrors());
+    service.verify(exactly(2), postRequestedFor(urlEqualTo(EXTERNAL_SERVICE_PATH)));
+    assertEquals(1.0, meterRegistry.counter("pv.programmatic.rule.hedges", "rule",
+        String.valueOf(rule.getId())).count());
+  }
+
+  @Test
+  void shouldMapBatchedResultsToRules() {
+    var otherRule = nextRandomRuleOfType(RuleType.PROGRAMMATIC);
+    otherRule.setImplementationReference(EXTERNAL_SERVICE_PATH);
+    service.stubFor(post(urlEqualTo(EXTERNAL_SERVICE_PATH + "/batch")).willReturn(aResponse()
+        .withStatus(200)
+        .withHeader(CONTENT_TYPE, "application/json")
+        .withBody("{ \"results\": [" +
+            " { \"ruleId\": \"" + rule.getId() + "\", \"result\": \"invalid\", \"messages\": [ \"first\" ] }," +
+            " { \"ruleId\": \"" + otherRule.getId() + "\", \"result\": \"valid\", \"messages\": [] }" +
+            " ] }")));
+
+    var batch = batchOf(List.of(rule, otherRule), new BatchSupport(Duration.ofMinutes(1), System::nanoTime));
+    var first = new BatchedProgrammaticValidator(rule, batch, validator);
+    var second = new BatchedProgrammaticValidator(otherRule, batch, singleCallValidator(otherRule));
+
+    var firstErrors = first.validateAsync(password, userData);
+    var secondErrors = second.validateAsync(password, userData);
+
+    assertThat(firstErrors.join().getErrorMessages()).containsExactly("first");
+    assertFalse(secondErrors.join().hasErrors());
+    service.verify(exactly(1), postRequestedFor(urlEqualTo(EXTERNAL_SERVICE_PATH + "/batch"))
+        .withRequestBody(equalToJson("{ \"password\": \"" + password + "\", \"userId\": \"" + userData.getId()
+            + "\", \"ruleIds\": [ \"" + rule.getId() + "\", \"" + otherRule.getId() + "\" ] }")));
+    service.verify(exactly(0), postRequestedFor(urlEqualTo(EXTERNAL_SERVICE_PATH)));
+  }
+
+  @Test
+  void shouldFallBackToSingleCallsIfBatchIsNotSupported() throws JsonProcessingException {
+    stubPostWithResponse(successfulResponseWithErrors(200, "Invalid password"));
+    service.stubFor(post(urlEqualTo(EXTERNAL_SERVICE_PATH + "/batch")).willReturn(aResponse().withStatus(404)));
+
+    var otherRule = nextRandomRuleOfType(RuleType.PROGRAMMATIC);
+    otherRule.setImplementationReference(EXTERNAL_SERVICE_PATH);
+    var batchSupport = new BatchSupport(Duration.ofMinutes(1), System::nanoTime);
+    var batch = batchOf(List.of(rule, otherRule), batchSupport);
+
+    ValidationErrors errors = new BatchedProgrammaticValidator(rule, batch, validator).validate(password, userData);
+
+    assertThat(errors.getErrorMessages()).containsExactly("Invalid password");
+    assertFalse(batchSupport.isSupported(TEST_TENANT + ":" + EXTERNAL_SERVICE_PATH));
+    verifyPostRequest();
+  }
+
   static IntStream failedStatuses() {
     return IntStream.range(400, 511);
   }
@@ -221,10 +405,41 @@ class ProgrammaticValidatorTest {
     );
   }
 
+  private static Function<MappingBuilder, MappingBuilder> delayedResponse(int delayMillis) {
+    return response -> response.willReturn(
+        aResponse()
+            .withStatus(200)
+            .withFixedDelay(delayMillis)
+            .withHeader(CONTENT_TYPE, "application/json")
+            .withBody("{ \"result\": \"success\" }")
+    );
+  }
+
   private static Function<MappingBuilder, MappingBuilder> serverErrorResponse(int status, String message) {
     return response -> response.willReturn(aResponse().withStatus(status).withBody(message));
   }
 
+  private ProgrammaticValidator singleCallValidator(PasswordValidationRule rule) {
+    return new ProgrammaticValidator(rule, folioExecutionContext, jacksonMapper,
+        HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), policyExecutor,
+        newLimiter(), Runnable::run, MAX_RETRIES_LIMIT, meterRegistry, tracing);
+  }
+
+  private ProgrammaticBatch batchOf(List<PasswordValidationRule> rules, BatchSupport batchSupport) {
+    return new ProgrammaticBatch(rules, TEST_TENANT + ":" + EXTERNAL_SERVICE_PATH, EXTERNAL_SERVICE_PATH + "/batch",
+        validator.latencyPolicy(), folioExecutionContext, jacksonMapper,
+        HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), policyExecutor, newLimiter(),
+        Runnable::run, batchSupport, tracing);
+  }
+
+  private static AdaptiveLimiter newLimiter() {
+    return new AdaptiveLimiter(EXTERNAL_SERVICE_PATH, 20, 2, 200, 0.9, 2.0, Duration.ofMillis(200));
+  }
+
+  private double timeoutsCount() {
+    return meterRegistry.counter("pv.programmatic.rule.timeouts", "rule", String.valueOf(rule.getId())).count();
+  }
+
   private void stubPostWithResponse(Function<MappingBuilder, MappingBuilder> responseBuilder) {
     service.stubFor(responseBuilder.apply(post(urlEqualTo(EXTERNAL_SERVICE_PATH))));
   }
@@ -2,13 +2,23 @@ package org.folio.pv.service.validator;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import static org.folio.pv.testutils.RandomTestData.nextRandomRuleOfType;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
 import io.github.glytching.junit.extension.random.Random;
 import io.github.glytching.junit.extension.random.RandomBeansExtension;
 import org.junit.jupiter.api.Assertions;
@@ -17,16 +27,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import org.folio.pv.client.PwnedClient;
+import org.folio.pv.client.LocalPwnedSet;
+import org.folio.pv.client.PwnedClientProperties.DegradedOutcome;
+import org.folio.pv.client.PwnedRange;
+import org.folio.pv.client.PwnedRangeCache;
+import org.folio.pv.client.PwnedPasswordsUnavailableException;
 import org.folio.pv.domain.RuleType;
+import org.folio.pv.domain.ValidationType;
 import org.folio.pv.domain.dto.HashedPasswordUsage;
 import org.folio.pv.domain.dto.PasswordHash;
 import org.folio.pv.domain.dto.UserData;
 import org.folio.pv.domain.dto.ValidationErrors;
 import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.resilience.Deadline;
 
 @ExtendWith({
     MockitoExtension.class,
@@ -39,7 +56,9 @@ class PwnedPasswordValidatorTest {
 
   private PasswordValidationRule rule;
   @Mock
-  private PwnedClient pwnedClient;
+  private LocalPwnedSet localSet;
+  @Mock
+  private PwnedRangeCache rangeCache;
   private PwnedPasswordValidator validator;
 
 
@@ -47,7 +66,7 @@ class PwnedPasswordValidatorTest {
   void setUp() {
     rule = nextRandomRuleOfType(RuleType.PWNEDPASSWORD);
 
-    validator = new PwnedPasswordValidator(rule, pwnedClient);
+    validator = new PwnedPasswordValidator(rule, localSet, rangeCache, DegradedOutcome.FAIL);
   }
 
   @ParameterizedTest
@@ -62,8 +81,8 @@ class PwnedPasswordValidatorTest {
   void shouldPassIfPasswordUsageIsZero(@Random String password) {
     PasswordHash hash = new PasswordHash(password);
 
-    when(pwnedClient.getPwdRange(hash.getPrefix()))
-        .thenReturn(singletonList(new HashedPasswordUsage(hash.getSuffix(), 0)));
+    when(rangeCache.getRangeAsync(hash.getPrefix(), null)).thenReturn(
+        completedFuture(PwnedRange.of(singletonList(new HashedPasswordUsage(hash.getSuffix(), 0)))));
 
     ValidationErrors errors = validator.validate(password, userData);
 
@@ -74,7 +93,7 @@ class PwnedPasswordValidatorTest {
   void shouldPassIfNoPasswordUsageFound(@Random String password) {
     PasswordHash hash = new PasswordHash(password);
 
-    when(pwnedClient.getPwdRange(hash.getPrefix())).thenReturn(emptyList());
+    when(rangeCache.getRangeAsync(hash.getPrefix(), null)).thenReturn(completedFuture(PwnedRange.of(emptyList())));
 
     ValidationErrors errors = validator.validate(password, userData);
 
@@ -85,8 +104,8 @@ class PwnedPasswordValidatorTest {
   void shouldReturnErrorWithMessageIdIfPasswordUsageFound(@Random String password) {
     PasswordHash hash = new PasswordHash(password);
 
-    when(pwnedClient.getPwdRange(hash.getPrefix()))
-        .thenReturn(singletonList(new HashedPasswordUsage(hash.getSuffix(), 1)));
+    when(rangeCache.getRangeAsync(hash.getPrefix(), null)).thenReturn(
+        completedFuture(PwnedRange.of(singletonList(new HashedPasswordUsage(hash.getSuffix(), 1)))));
 
     ValidationErrors errors = validator.validate(password, userData);
 
@@ -95,5 +114,90 @@ class PwnedPasswordValidatorTest {
         () -> assertThat(errors.getErrorMessages()).containsExactly(rule.getErrMessageId())
     );
   }
-  
+
+  @Test
+  void shouldReturnErrorWithoutCallingServiceIfPasswordIsInLocalSet(@Random String password) {
+    when(localSet.contains(new PasswordHash(password))).thenReturn(true);
+
+    ValidationErrors errors = validator.validate(password, userData);
+
+    assertThat(errors.getErrorMessages()).containsExactly(rule.getErrMessageId());
+    verifyNoInteractions(rangeCache);
+  }
+
+  @Test
+  void shouldCompleteWhenRangeIsLoaded(@Random String password) {
+    PasswordHash hash = new PasswordHash(password);
+    var range = new CompletableFuture<PwnedRange>();
+    when(rangeCache.getRangeAsync(hash.getPrefix(), null)).thenReturn(range);
+
+    var errors = validator.validateAsync(password, userData);
+
+    assertFalse(errors.isDone());
+    range.complete(PwnedRange.of(singletonList(new HashedPasswordUsage(hash.getSuffix(), 1))));
+    assertThat(errors.join().getErrorMessages()).containsExactly(rule.getErrMessageId());
+  }
+
+  @Test
+  void shouldLimitRangeLookupToTimeLeft(@Random String password) {
+    rule.setValidationType(ValidationType.SOFT.getValue());
+    PasswordHash hash = new PasswordHash(password);
+    var timeLeft = ArgumentCaptor.forClass(Duration.class);
+    when(rangeCache.getRangeAsync(eq(hash.getPrefix()), timeLeft.capture()))
+        .thenReturn(failedFuture(new TimeoutException()));
+
+    var errors = validator.validateAsync(password, userData, Deadline.after(Duration.ofMillis(500)));
+
+    assertThat(timeLeft.getValue()).isPositive().isLessThanOrEqualTo(Duration.ofMillis(500));
+    var exception = assertThrows(CompletionException.class, errors::join);
+    assertThat(exception).hasCauseInstanceOf(TimeoutException.class);
+  }
+
+  @Test
+  void shouldHandleDeadlineExceededAsUnavailableService() {
+    rule.setValidationType(ValidationType.SOFT.getValue());
+    assertFalse(validator.deadlineExceeded().hasErrors());
+
+    rule.setValidationType(ValidationType.STRONG.getValue());
+    assertThrows(PwnedPasswordsUnavailableException.class, validator::deadlineExceeded);
+  }
+
+  @Test
+  void shouldFailStrongRuleIfServiceIsUnavailable(@Random String password) {
+    rule.setValidationType(ValidationType.STRONG.getValue());
+    PasswordHash hash = new PasswordHash(password);
+
+    when(rangeCache.getRangeAsync(hash.getPrefix(), null)).thenReturn(
+        failedFuture(new PwnedPasswordsUnavailableException("Pwned Passwords circuit breaker is open")));
+
+    assertThrows(PwnedPasswordsUnavailableException.class, () -> validator.validate(password, userData));
+  }
+
+  @Test
+  void shouldSkipSoftRuleIfServiceIsUnavailable(@Random String password) {
+    rule.setValidationType(ValidationType.SOFT.getValue());
+    PasswordHash hash = new PasswordHash(password);
+
+    when(rangeCache.getRangeAsync(hash.getPrefix(), null)).thenReturn(
+        failedFuture(new PwnedPasswordsUnavailableException("Pwned Passwords circuit breaker is open")));
+
+    ValidationErrors errors = validator.validate(password, userData);
+
+    assertFalse(errors.hasErrors());
+  }
+
+  @Test
+  void shouldSkipStrongRuleIfServiceIsUnavailableAndOutcomeIsSkip(@Random String password) {
+    rule.setValidationType(ValidationType.STRONG.getValue());
+    validator = new PwnedPasswordValidator(rule, localSet, rangeCache, DegradedOutcome.SKIP);
+    PasswordHash hash = new PasswordHash(password);
+
+    when(rangeCache.getRangeAsync(hash.getPrefix(), null)).thenReturn(
+        failedFuture(new PwnedPasswordsUnavailableException("Pwned Passwords circuit breaker is open")));
+
+    ValidationErrors errors = validator.validate(password, userData);
+
+    assertFalse(errors.hasErrors());
+  }
+
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package org.folio.pv.service.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static org.folio.pv.testutils.RandomTestData.nextRandomRuleOfType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.folio.pv.domain.RuleType;
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.strength.StrengthEstimator;
+
+class StrengthValidatorTest {
+
+  private static final UserData USER = new UserData("id", "jsmith");
+  private static final StrengthEstimator ESTIMATOR = new StrengthEstimator();
+
+  private PasswordValidationRule rule;
+
+
+  @BeforeEach
+  void setUp() {
+    rule = nextRandomRuleOfType(RuleType.STRENGTH);
+    rule.setRuleExpression(null);
+    rule.setImplementationReference(null);
+  }
+
+  @Test
+  void shouldRejectWeakPasswordsWithDefaultThreshold() {
+    var validator = new StrengthValidator(rule, ESTIMATOR);
+
+    assertThat(validator.validate("Password1", USER).getErrorMessages()).containsExactly(rule.getErrMessageId());
+    assertThat(validator.validate("jsmith1990", USER).hasErrors()).isTrue();
+    assertFalse(validator.validate("x7#Kq9!mZ2@w", USER).hasErrors());
+  }
+
+  @Test
+  void shouldUseGuessesOfExpression() {
+    rule.setRuleExpression("1e20");
+
+    assertThat(new StrengthValidator(rule, ESTIMATOR).validate("x7#Kq9!mZ2@w", USER).hasErrors()).isTrue();
+  }
+
+  @Test
+  void shouldUseEntropyIfReferenced() {
+    rule.setImplementationReference("entropy");
+    rule.setRuleExpression("30");
+    var validator = new StrengthValidator(rule, ESTIMATOR);
+
+    assertThat(validator.validate("monkey123", USER).hasErrors()).isTrue();
+    assertFalse(validator.validate("x7#Kq9!mZ2@w", USER).hasErrors());
+  }
+
+  @Test
+  void shouldFailOnInvalidExpression() {
+    rule.setRuleExpression("strong");
+
+    assertThrows(IllegalArgumentException.class, () -> new StrengthValidator(rule, ESTIMATOR));
+  }
+
+}
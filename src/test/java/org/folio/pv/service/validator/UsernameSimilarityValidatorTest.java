@@ -0,0 +1,82 @@
+package org.folio.pv.service.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import static org.folio.pv.testutils.RandomTestData.nextRandomRuleOfType;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import org.folio.pv.domain.RuleType;
+import org.folio.pv.domain.dto.UserData;
+import org.folio.pv.domain.entity.PasswordValidationRule;
+
+class UsernameSimilarityValidatorTest {
+
+  private static final UserData USER = new UserData("id", "jsmith");
+
+  private PasswordValidationRule rule;
+
+
+  @BeforeEach
+  void setUp() {
+    rule = nextRandomRuleOfType(RuleType.USERNAMESIMILARITY);
+    rule.setRuleExpression(null);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "Jsmith!2020",
+      "jsmyth!2020",
+      "htimsj!2020",
+      "Smith-2020",
+      "xx-mith-jsm"
+  })
+  void shouldRejectPasswordsSimilarToUsername(String password) {
+    var errors = new UsernameSimilarityValidator(rule).validate(password, USER);
+
+    assertThat(errors.getErrorMessages()).containsExactly(rule.getErrMessageId());
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "Tr0ub4dor&3",
+      "correct-horse-battery",
+      "smi-2020"
+  })
+  void shouldPassPasswordsNotSimilarToUsername(String password) {
+    assertFalse(new UsernameSimilarityValidator(rule).validate(password, USER).hasErrors());
+  }
+
+  @Test
+  void shouldUseDistanceAndSubstringLengthOfExpression() {
+    rule.setRuleExpression("0, 0");
+
+    assertFalse(new UsernameSimilarityValidator(rule).validate("jsmyth!2020", USER).hasErrors());
+    assertThat(new UsernameSimilarityValidator(rule).validate("JSMITH", USER).hasErrors()).isTrue();
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "js, Jo$hua-2020",
+      "js, j5-s",
+      "ab, b"
+  })
+  void shouldNotMatchUsernamesNotLongerThanTwiceTheDistance(String username, String password) {
+    var user = new UserData("id", username);
+
+    assertFalse(new UsernameSimilarityValidator(rule).validate(password, user).hasErrors());
+  }
+
+  @Test
+  void shouldFailOnInvalidExpression() {
+    rule.setRuleExpression("one");
+
+    assertThrows(IllegalArgumentException.class, () -> new UsernameSimilarityValidator(rule));
+  }
+
+}
@@ -3,10 +3,17 @@ package org.folio.pv.service.validator;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.github.glytching.junit.extension.random.Random;
 import io.github.glytching.junit.extension.random.RandomBeansExtension;
 import org.junit.jupiter.api.Test;
@@ -14,13 +21,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import org.folio.pv.client.PwnedClient;
+import org.folio.pv.client.DependencyExecutors;
+import org.folio.pv.client.DependencyLimiters;
+import org.folio.pv.client.LocalPwnedSet;
+import org.folio.pv.client.PwnedClientProperties;
+import org.folio.pv.client.PwnedRangeCache;
+import org.folio.pv.config.ProgrammaticRuleProperties;
+import org.folio.pv.dictionary.DictionaryRegistry;
 import org.folio.pv.domain.RuleType;
 import org.folio.pv.domain.entity.PasswordValidationRule;
+import org.folio.pv.plugin.PluginRegistry;
+import org.folio.pv.resilience.LatencyPolicyExecutor;
+import org.folio.pv.strength.StrengthEstimator;
+import org.folio.pv.tracing.Tracing;
 import org.folio.spring.FolioExecutionContext;
 
 @ExtendWith({
@@ -34,7 +53,35 @@ class ValidatorRegistryImplTest {
   @Mock
   private ObjectMapper jacksonObjectMapper;
   @Mock
-  private PwnedClient pwnedClient;
+  private LocalPwnedSet localPwnedSet;
+  @Mock
+  private PwnedRangeCache pwnedRangeCache;
+  @Spy
+  private PwnedClientProperties pwnedClientProperties = new PwnedClientProperties();
+  @Mock
+  private HttpClient programmaticRuleHttpClient;
+  @Mock
+  private LatencyPolicyExecutor programmaticRuleExecutor;
+  @Spy
+  private ProgrammaticRuleProperties programmaticRuleProperties = new ProgrammaticRuleProperties();
+  @Mock
+  private MeterRegistry meterRegistry;
+  @Mock
+  private DependencyLimiters dependencyLimiters;
+  @Mock
+  private DependencyExecutors dependencyExecutors;
+  @Mock
+  private BatchSupport batchSupport;
+  @Mock
+  private PluginRegistry pluginRegistry;
+  @Spy
+  private ExpressionCache expressionCache = new ExpressionCache();
+  @Mock
+  private DictionaryRegistry dictionaryRegistry;
+  @Mock
+  private StrengthEstimator strengthEstimator;
+  @Mock
+  private Tracing tracing;
 
   @InjectMocks
   private ValidatorRegistryImpl registry;
@@ -54,6 +101,49 @@ class ValidatorRegistryImplTest {
     assertThat(exception).hasMessageContaining("Unexpected value");
   }
 
+  @Test
+  void shouldRejectExpressionRuleThatDoesNotParse() {
+    var exception = assertThrows(InvalidRuleException.class,
+        () -> registry.checkRule(expressionRule("length > ")));
+    assertThat(exception).hasMessageStartingWith("Invalid rule expression");
+
+    assertThrows(InvalidRuleException.class, () -> registry.checkRule(expressionRule(" ")));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"unknownProperty > 1", "password.length() > 8", "length + 1", "username"})
+  void shouldRejectExpressionRuleThatDoesNotEvaluateToBoolean(String expression) {
+    var exception = assertThrows(InvalidRuleException.class, () -> registry.checkRule(expressionRule(expression)));
+    assertThat(exception).hasMessageStartingWith("Invalid rule expression");
+  }
+
+  @Test
+  void shouldRejectUsernameSimilarityRuleWithInvalidParameters() {
+    var rule = mockedRuleWithType(RuleType.USERNAMESIMILARITY.getValue());
+    rule.setRuleExpression("one,4");
+
+    var exception = assertThrows(InvalidRuleException.class, () -> registry.checkRule(rule));
+    assertThat(exception).hasMessageStartingWith("Invalid username similarity rule expression");
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"1e8 guesses", "0", "NaN"})
+  void shouldRejectStrengthRuleWithInvalidThreshold(String expression) {
+    var rule = mockedRuleWithType(RuleType.STRENGTH.getValue());
+    rule.setRuleExpression(expression);
+
+    var exception = assertThrows(InvalidRuleException.class, () -> registry.checkRule(rule));
+    assertThat(exception).hasMessageStartingWith("Invalid strength rule expression");
+  }
+
+  @Test
+  void shouldAcceptRulesThatCanBeValidated() {
+    registry.checkRule(expressionRule("length > 8 and digitCount >= 1"));
+    registry.checkRule(mockedRuleWithType(RuleType.REGEXP.getValue()));
+    registry.checkRule(mockedRuleWithType(RuleType.USERNAMESIMILARITY.getValue()));
+    registry.checkRule(mockedRuleWithType(RuleType.STRENGTH.getValue()));
+  }
+
   @ParameterizedTest
   @MethodSource("validatorPerRuleProvider")
   void shouldReturnTheCorrectValidatorPerRuleType(PasswordValidationRule rule,
@@ -63,14 +153,89 @@ class ValidatorRegistryImplTest {
     assertThat(validator).isInstanceOf(expectedValidatorClass);
   }
 
+  @Test
+  void shouldBatchProgrammaticRulesWithSameImplementationReference() {
+    programmaticRuleProperties.getBatching().setEnabled(true);
+    when(batchSupport.isSupported(anyString())).thenReturn(true);
+
+    var rules = List.of(programmaticRule("/a"), programmaticRule("/b"), programmaticRule("/a"),
+        mockedRuleWithType(RuleType.REGEXP.getValue()));
+
+    List<Validator> validators = registry.validatorsByRules(rules);
+
+    assertThat(validators).hasSize(4);
+    assertThat(validators.get(0)).isInstanceOf(BatchedProgrammaticValidator.class);
+    assertThat(validators.get(1)).isInstanceOf(ProgrammaticValidator.class);
+    assertThat(validators.get(2)).isInstanceOf(BatchedProgrammaticValidator.class);
+    assertThat(validators.get(3)).isInstanceOf(RegExpValidator.class);
+  }
+
+  @Test
+  void shouldGiveBatchTheStrictestPolicyOfItsRules() {
+    programmaticRuleProperties.getBatching().setEnabled(true);
+    when(batchSupport.isSupported(anyString())).thenReturn(true);
+    var patient = programmaticRule("/a");
+    patient.setTimeout(5000);
+    patient.setMaxRetries(1);
+    patient.setHedgeDelay(200);
+    var impatient = programmaticRule("/a");
+    impatient.setTimeout(100);
+    impatient.setMaxRetries(3);
+
+    List<Validator> validators = registry.validatorsByRules(List.of(patient, impatient));
+
+    assertThat(validators).allMatch(BatchedProgrammaticValidator.class::isInstance);
+    var policy = ((BatchedProgrammaticValidator) validators.get(0)).getBatch().getPolicy();
+    assertThat(policy.getTimeout()).isEqualTo(Duration.ofMillis(100));
+    assertThat(policy.getMaxRetries()).isEqualTo(1);
+    assertThat(policy.getHedgeDelay()).isNull();
+  }
+
+  @Test
+  void shouldNotBatchRulesIfEndpointDoesNotSupportIt() {
+    programmaticRuleProperties.getBatching().setEnabled(true);
+    when(batchSupport.isSupported(anyString())).thenReturn(false);
+
+    List<Validator> validators = registry.validatorsByRules(List.of(programmaticRule("/a"), programmaticRule("/a")));
+
+    assertThat(validators).allMatch(ProgrammaticValidator.class::isInstance);
+  }
+
+  @Test
+  void shouldNotBatchRulesIfBatchingIsDisabled() {
+    List<Validator> validators = registry.validatorsByRules(List.of(programmaticRule("/a"), programmaticRule("/a")));
+
+    assertThat(validators).allMatch(ProgrammaticValidator.class::isInstance);
+  }
+
+  private static PasswordValidationRule programmaticRule(String implementationReference) {
+    PasswordValidationRule rule = mockedRuleWithType(RuleType.PROGRAMMATIC.getValue());
+    rule.setId(UUID.randomUUID());
+    rule.setImplementationReference(implementationReference);
+
+    return rule;
+  }
+
   private static Stream<Arguments> validatorPerRuleProvider() {
     return Stream.of(
         arguments(mockedRuleWithType(RuleType.REGEXP.getValue()), RegExpValidator.class),
         arguments(mockedRuleWithType(RuleType.PROGRAMMATIC.getValue()), ProgrammaticValidator.class),
-        arguments(mockedRuleWithType(RuleType.PWNEDPASSWORD.getValue()), PwnedPasswordValidator.class)
+        arguments(mockedRuleWithType(RuleType.PWNEDPASSWORD.getValue()), PwnedPasswordValidator.class),
+        arguments(mockedRuleWithType(RuleType.PLUGIN.getValue()), PluginValidator.class),
+        arguments(expressionRule("length > 8"), ExpressionValidator.class),
+        arguments(mockedRuleWithType(RuleType.DICTIONARY.getValue()), DictionaryValidator.class),
+        arguments(mockedRuleWithType(RuleType.USERNAMESIMILARITY.getValue()), UsernameSimilarityValidator.class),
+        arguments(mockedRuleWithType(RuleType.STRENGTH.getValue()), StrengthValidator.class)
     );
   }
 
+  private static PasswordValidationRule expressionRule(String expression) {
+    PasswordValidationRule rule = mockedRuleWithType(RuleType.EXPRESSION.getValue());
+    rule.setRuleExpression(expression);
+
+    return rule;
+  }
+
   private static PasswordValidationRule mockedRuleWithType(String ruleType) {
     PasswordValidationRule rule = new PasswordValidationRule();
     rule.setRuleType(ruleType);
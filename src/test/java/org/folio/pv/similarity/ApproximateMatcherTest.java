@@ -0,0 +1,73 @@
+package org.folio.pv.similarity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ApproximateMatcherTest {
+
+  @ParameterizedTest
+  @CsvSource({
+      "jsmith, Jsmith2020,    0, true",
+      "jsmith, jsmth2020,     0, false",
+      "jsmith, jsmth2020,     1, true",
+      "jsmith, xxJSMYTHxx,    1, true",
+      "jsmith, smithers,      1, true",
+      "jsmith, Tr0ub4dor&3,   2, false",
+      "jsmith, js,            3, false",
+      "jsmith, jsm,           3, true"
+  })
+  void shouldMatchWithinDistance(String pattern, String text, int maxDistance, boolean expected) {
+    assertEquals(expected, ApproximateMatcher.matchesWithin(pattern, false, text, maxDistance));
+  }
+
+  @Test
+  void shouldMatchReversedPattern() {
+    assertEquals(true, ApproximateMatcher.matchesWithin("jsmith", true, "pass-htimsj", 0));
+    assertEquals(false, ApproximateMatcher.matchesWithin("jsmith", false, "pass-htimsj", 0));
+  }
+
+  @Test
+  void shouldMatchNonAsciiCharacters() {
+    assertEquals(true, ApproximateMatcher.matchesWithin("müller", false, "xxMÜLLERxx", 0));
+    assertEquals(true, ApproximateMatcher.matchesWithin("müller", false, "xxmuellerxx", 2));
+  }
+
+  @Test
+  void shouldAgreeWithNaiveSearchForShortAndLongPatterns() {
+    var random = new Random(7);
+
+    for (int i = 0; i < 2000; i++) {
+      var pattern = randomString(random, 1 + random.nextInt(i % 2 == 0 ? 10 : 80));
+      var text = randomString(random, random.nextInt(100));
+      var maxDistance = random.nextInt(4);
+
+      assertEquals(naiveMinDistance(pattern, text) <= maxDistance,
+          ApproximateMatcher.matchesWithin(pattern, false, text, maxDistance), pattern + " in " + text);
+    }
+  }
+
+  private static int naiveMinDistance(String pattern, String text) {
+    var min = pattern.length();
+    for (int start = 0; start <= text.length(); start++) {
+      for (int end = start; end <= text.length(); end++) {
+        min = Math.min(min, StringUtils.getLevenshteinDistance(pattern, text.substring(start, end)));
+      }
+    }
+    return min;
+  }
+
+  private static String randomString(Random random, int length) {
+    var result = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      result.append((char) ('a' + random.nextInt(3)));
+    }
+    return result.toString();
+  }
+
+}
@@ -0,0 +1,61 @@
+package org.folio.pv.strength;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Measures the latency the estimator adds to a validation. Run with {@code mvn test -Dbenchmark=true
+ * -Dtest=StrengthEstimatorBenchmark}.
+ */
+@Log4j2
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StrengthEstimatorBenchmark {
+
+  private static final int WARM_UP_ITERATIONS = 200_000;
+  private static final int ITERATIONS = 1_000_000;
+  private static final String ALPHABET =
+      "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789!@#$%^&*()-_=+[]{};:'\",.<>/? ";
+
+  @Test
+  void measureGuessesLog10() {
+    var estimator = new StrengthEstimator();
+    var passwords = passwords();
+
+    var sink = 0.0;
+    for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+      sink += estimator.guessesLog10(passwords[i % passwords.length], "jsmith");
+    }
+
+    var start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      sink += estimator.guessesLog10(passwords[i % passwords.length], "jsmith");
+    }
+    var elapsed = System.nanoTime() - start;
+
+    log.info("StrengthEstimator.guessesLog10: {} ns/op, {} ms per million ({})", elapsed / ITERATIONS,
+        TimeUnit.NANOSECONDS.toMillis(elapsed), sink);
+  }
+
+  private static String[] passwords() {
+    var random = new Random(42);
+    var passwords = new String[1024];
+    passwords[0] = "Tr0ub4dor&3";
+    passwords[1] = "correct horse battery staple";
+    passwords[2] = "qwertyuiop17041990";
+    passwords[3] = "a".repeat(64);
+    for (int i = 4; i < passwords.length; i++) {
+      var password = new StringBuilder();
+      var length = 8 + random.nextInt(25);
+      for (int j = 0; j < length; j++) {
+        password.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+      }
+      passwords[i] = password.toString();
+    }
+    return passwords;
+  }
+
+}
@@ -0,0 +1,79 @@
+package org.folio.pv.strength;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class StrengthEstimatorTest {
+
+  private final StrengthEstimator estimator = new StrengthEstimator(
+      new String[] {"password", "monkey", "dragon", "letmein"}, KeyboardLayout.QWERTY, 2020);
+
+
+  @Test
+  void shouldLoadFrequencyListFromClasspath() {
+    var defaultEstimator = new StrengthEstimator();
+
+    assertThat(defaultEstimator.guessesLog10("password", null)).isLessThan(1);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "password,      0.5",
+      "Password,      0.5",
+      "drowssap,      1",
+      "P@55w0rd,      3",
+      "qwertyuiop,    5",
+      "abcdefgh,      2",
+      "86420,         2.5",
+      "aaaaaaaaaaaa,  2.5",
+      "abcabcabc,     3.5",
+      "1990,          2",
+      "17041990,      4.5",
+      "17/04/1990,    5",
+      "monkeydragon,  5"
+  })
+  void shouldScoreWeakPatternsLow(String password, double maxGuessesLog10) {
+    assertThat(estimator.guessesLog10(password, null)).isLessThanOrEqualTo(maxGuessesLog10);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "Tr0ub4dor&3,                   10",
+      "correct horse battery staple,  16",
+      "x7#Kq9!mZ2@w,                  11"
+  })
+  void shouldScoreRandomLookingPasswordsHigh(String password, double minGuessesLog10) {
+    assertThat(estimator.guessesLog10(password, null)).isGreaterThanOrEqualTo(minGuessesLog10);
+  }
+
+  @Test
+  void shouldTreatUsernameAsCommonWord() {
+    assertThat(estimator.guessesLog10("jsmith!2020", "jsmith"))
+        .isLessThan(estimator.guessesLog10("jsmith!2020", "other") - 1.5);
+  }
+
+  @Test
+  void shouldScoreCharactersBeyondMaximumLengthAsBruteForce() {
+    var prefix = "a".repeat(StrengthEstimator.MAX_LENGTH);
+
+    assertThat(estimator.guessesLog10(prefix + "xyz", null))
+        .isEqualTo(estimator.guessesLog10(prefix, null) + 3, offset(1e-9));
+  }
+
+  @Test
+  void shouldConvertGuessesToEntropy() {
+    assertThat(estimator.entropyBits("x7#Kq9!mZ2@w", null))
+        .isCloseTo(estimator.guessesLog10("x7#Kq9!mZ2@w", null) / Math.log10(2),
+            offset(1e-9));
+  }
+
+  @Test
+  void shouldScoreEmptyPasswordAsZero() {
+    assertThat(estimator.guessesLog10("", "jsmith")).isZero();
+  }
+
+}
@@ -34,6 +34,11 @@ public class RandomTestData {
   public static PasswordValidationRule nextRandomRuleOfType(RuleType type) {
     PasswordValidationRule result = ruleRandomizer.nextObject(PasswordValidationRule.class);
     result.setRuleType(type.getValue());
+    // no latency policy by default, random values aren't meaningful there
+    result.setTimeout(null);
+    result.setMaxRetries(null);
+    result.setHedgeDelay(null);
+    result.setOnTimeout(null);
 
     return result;
   }